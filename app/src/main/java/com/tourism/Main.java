@@ -1,12 +1,17 @@
 package com.tourism;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.stage.Stage;
+import com.tourism.services.BookingLifecycle;
+import com.tourism.services.Waitlist;
+import com.tourism.utils.AsyncService;
 import com.tourism.utils.FileHandler;
+import com.tourism.utils.PasswordHasher;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.UsernameFilter;
 
 public class Main extends Application {
     
@@ -19,8 +24,21 @@ public class Main extends Application {
         // Initialize data files
         FileHandler.initializeDataFiles();
         
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
-        Scene scene = new Scene(loader.load(), 1940, 1000);
+        // Build the username index and membership filter once, up front
+        UsernameFilter.rebuild();
+        
+        // Pick the password hashing cost for this machine without delaying startup
+        Thread calibration = new Thread(() -> PasswordHasher.calibrate(150), "hash-calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+        
+        // Expire, complete and close cancellation windows as trek dates pass
+        BookingLifecycle.start();
+        
+        // Book waiting tourists when a cancellation frees a place, on the same worker as the app's saves
+        Waitlist.watchCancellations(AsyncService::run);
+        
+        Scene scene = SceneFactory.take(SceneFactory.LOGIN).getScene(1940, 1000);
         
         primaryStage.setTitle("Journey - Nepal Tourism System");
         primaryStage.setScene(scene);
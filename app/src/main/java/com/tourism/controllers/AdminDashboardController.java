@@ -0,0 +1,997 @@
+package com.tourism.controllers;
+
+import com.tourism.Main;
+import com.tourism.events.DomainEvent;
+import com.tourism.events.EventBus;
+import com.tourism.models.*;
+import com.tourism.services.AnalyticsSketches;
+import com.tourism.services.BookingService;
+import com.tourism.services.GuideAssignmentPlanner;
+import com.tourism.services.GuideLeaderboard;
+import com.tourism.services.TrekDateIndex;
+import com.tourism.utils.AnalyticsAggregator;
+import com.tourism.utils.AsyncService;
+import com.tourism.utils.BookingPager;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.GuideIndex;
+import com.tourism.utils.LanguageManager;
+import com.tourism.utils.RevenueCube;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.SessionContext;
+import com.tourism.utils.DialogUtils;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.Scene;
+import javafx.scene.chart.*;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class AdminDashboardController {
+    @FXML private Label welcomeLabel;
+    @FXML private Label dashboardInfoLabel;
+    @FXML private TabPane mainTabPane;
+    
+    // Guide Management Tab
+    @FXML private TableView<Guide> guidesTable;
+    @FXML private TableColumn<Guide, String> guideUsernameColumn;
+    @FXML private TableColumn<Guide, String> guideNameColumn;
+    @FXML private TableColumn<Guide, String> guideLanguagesColumn;
+    @FXML private TableColumn<Guide, Integer> guideExperienceColumn;
+    @FXML private TextField guideUsernameField;
+    @FXML private TextField guidePasswordField;
+    @FXML private TextField guideNameField;
+    @FXML private TextField guideEmailField;
+    @FXML private TextField guidePhoneField;
+    @FXML private TextField guideLanguagesField;
+    @FXML private TextField guideExperienceField;
+    @FXML private TextField guideSpecializationsField;
+    @FXML private Button addGuideButton;
+    @FXML private Button updateGuideButton;
+    @FXML private Button deleteGuideButton;
+    
+    // Attraction Management Tab
+    @FXML private TableView<Attraction> attractionsTable;
+    @FXML private TableColumn<Attraction, String> attractionNameColumn;
+    @FXML private TableColumn<Attraction, String> attractionLocationColumn;
+    @FXML private TableColumn<Attraction, String> attractionAltitudeColumn;
+    @FXML private TableColumn<Attraction, String> attractionDifficultyColumn;
+    @FXML private TableColumn<Attraction, Double> attractionPriceColumn;
+    @FXML private TextField attractionNameField;
+    @FXML private TextField attractionLocationField;
+    @FXML private ComboBox<String> attractionAltitudeCombo;
+    @FXML private ComboBox<String> attractionDifficultyCombo;
+    @FXML private TextField attractionPriceField;
+    @FXML private Button addAttractionButton;
+    @FXML private Button updateAttractionButton;
+    @FXML private Button deleteAttractionButton;
+    
+    // Booking Management Tab
+    @FXML private TableView<Booking> bookingsTable;
+    @FXML private TableColumn<Booking, Integer> bookingIdColumn;
+    @FXML private TableColumn<Booking, String> bookingTouristColumn;
+    @FXML private TableColumn<Booking, String> bookingGuideColumn;
+    @FXML private TableColumn<Booking, String> bookingAttractionColumn;
+    @FXML private TableColumn<Booking, LocalDate> bookingDateColumn;
+    @FXML private TableColumn<Booking, String> bookingStatusColumn;
+    @FXML private TableColumn<Booking, Double> bookingPriceColumn;
+    @FXML private ComboBox<Guide> assignGuideCombo;
+    @FXML private ComboBox<String> assignLanguageFilter;
+    @FXML private ComboBox<String> assignSpecializationFilter;
+    @FXML private ComboBox<String> bookingStatusCombo;
+    @FXML private Button assignGuideButton;
+    @FXML private Button updateBookingStatusButton;
+    @FXML private Button deleteBookingButton;
+    @FXML private ComboBox<UpcomingView> upcomingViewCombo;
+    @FXML private Label upcomingCountLabel;
+    @FXML private TableView<Booking> upcomingTable;
+    @FXML private TableColumn<Booking, Integer> upcomingIdColumn;
+    @FXML private TableColumn<Booking, String> upcomingTouristColumn;
+    @FXML private TableColumn<Booking, String> upcomingGuideColumn;
+    @FXML private TableColumn<Booking, String> upcomingAttractionColumn;
+    @FXML private TableColumn<Booking, LocalDate> upcomingDateColumn;
+    @FXML private TableColumn<Booking, String> upcomingStatusColumn;
+    
+    // Analytics Tab
+    @FXML private PieChart nationalityChart;
+    @FXML private BarChart<String, Number> popularAttractionsChart;
+    @FXML private Label totalRevenueLabel;
+    @FXML private Label totalBookingsLabel;
+    @FXML private Label totalTouristsLabel;
+    @FXML private Label totalGuidesLabel;
+    @FXML private ComboBox<RevenueCube.Dimension> revenueGroupByCombo;
+    @FXML private Label revenueSliceLabel;
+    @FXML private BarChart<String, Number> revenueChart;
+    @FXML private Label topEarnersLabel;
+    @FXML private Label busiestGuidesLabel;
+    @FXML private Label distinctTouristsLabel;
+    @FXML private Label monthlyTouristsLabel;
+    @FXML private Label topAttractionsLabel;
+    @FXML private Label topNationalitiesLabel;
+    @FXML private Label priceQuantilesLabel;
+    
+    // Common
+    @FXML private Button languageToggleButton;
+    @FXML private Button logoutButton;
+    @FXML private Button refreshDataButton;
+    @FXML private ProgressIndicator loadingIndicator;
+    
+    // Snapshot of the catalog tables, loaded off the FX thread
+    private static class DashboardData {
+        final List<Guide> guides = SessionContext.getGuides();
+        final List<Attraction> attractions = SessionContext.getAttractions();
+
+        DashboardData() {
+            GuideIndex.ensureBuilt();
+        }
+    }
+    
+    private static final String ANY = "Any";
+    
+    // Views of the open bookings, each a range of trek dates looked up in TrekDateIndex
+    private enum UpcomingView {
+        NEXT_WEEK("Next 7 days"),
+        NEXT_MONTH("Next 30 days"),
+        CANCELLABLE("Still cancellable"),
+        FESTIVAL_SEASON("Festival season (Aug-Oct)");
+        
+        private final String label;
+        
+        UpcomingView(String label) {
+            this.label = label;
+        }
+        
+        LocalDate from(LocalDate today) {
+            switch (this) {
+                case CANCELLABLE:
+                    return today.plusDays(Booking.CANCELLATION_NOTICE_DAYS + 1);
+                case FESTIVAL_SEASON:
+                    LocalDate start = LocalDate.of(to(today).getYear(), 8, 1);
+                    return start.isAfter(today) ? start : today;
+                default:
+                    return today.plusDays(1);
+            }
+        }
+        
+        // null for no end
+        LocalDate to(LocalDate today) {
+            switch (this) {
+                case NEXT_WEEK:
+                    return today.plusDays(7);
+                case NEXT_MONTH:
+                    return today.plusDays(30);
+                case FESTIVAL_SEASON:
+                    // This year's season until it is over, then next year's
+                    LocalDate end = LocalDate.of(today.getYear(), 10, 31);
+                    return today.isAfter(end) ? end.plusYears(1) : end;
+                default:
+                    return null;
+            }
+        }
+        
+        boolean includes(Booking booking, LocalDate today) {
+            LocalDate to = to(today);
+            return ("Pending".equals(booking.getStatus()) || "Confirmed".equals(booking.getStatus()))
+                    && !booking.getTrekDate().isBefore(from(today))
+                    && (to == null || !booking.getTrekDate().isAfter(to));
+        }
+        
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+    
+    private static final int BOOKINGS_PAGE_SIZE = 100;
+    private static final int BOOKINGS_MAX_PAGES = 5;
+    private static final int LEADERBOARD_SIZE = 5;
+    private static final int AUTO_ASSIGN_PREVIEW = 10;
+    private static final int UPCOMING_LIMIT = 500;
+    
+    private Admin currentUser;
+    private ObservableList<Guide> guides;
+    private ObservableList<Guide> assignableGuides; // guides matching the assignment filters
+    private ObservableList<Attraction> attractions;
+    private ObservableList<Booking> bookings; // current page window only
+    private BookingPager bookingPager;
+    private final ObservableList<Booking> upcomingBookings = FXCollections.observableArrayList();
+    
+    // Chart points by category, updated in place as the aggregates change
+    private final Map<String, PieChart.Data> nationalitySlices = new HashMap<>();
+    private final Map<String, XYChart.Data<String, Number>> attractionBars = new HashMap<>();
+    private final XYChart.Series<String, Number> attractionSeries = new XYChart.Series<>();
+    private final XYChart.Series<String, Number> revenueSeries = new XYChart.Series<>();
+    // Revenue drill-down path: dimensions fixed so far, in the order they were drilled into
+    private final Map<RevenueCube.Dimension, String> revenueSlice = new LinkedHashMap<>();
+    private final Consumer<AnalyticsAggregator.Snapshot> analyticsListener =
+            snapshot -> AsyncService.runOnFx(() -> applyAnalytics(snapshot));
+    private EventBus.Subscription bookingEvents;
+    
+    public void setCurrentUser(Admin user) {
+        this.currentUser = user;
+        initializeDashboard();
+    }
+    
+    @FXML
+    private void initialize() {
+        guides = FXCollections.observableArrayList();
+        attractions = FXCollections.observableArrayList();
+        assignableGuides = FXCollections.observableArrayList();
+        guidesTable.setItems(guides);
+        assignGuideCombo.setItems(assignableGuides);
+        attractionsTable.setItems(attractions);
+
+        // The bookings table only ever holds a bounded window of pages
+        bookingPager = new BookingPager(bookingsTable, loadingIndicator, BOOKINGS_PAGE_SIZE, BOOKINGS_MAX_PAGES,
+                bookingIdColumn, bookingDateColumn);
+        bookings = bookingPager.getItems();
+        upcomingTable.setItems(upcomingBookings);
+
+        setupTableColumns();
+        setupComboBoxes();
+        setupCharts();
+        updateLanguage();
+    }
+    
+    private void initializeDashboard() {
+        // Display user info using polymorphism
+        welcomeLabel.setText(LanguageManager.getText("Welcome") + ", " + currentUser.getFullName() + "!");
+        dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+        
+        subscribeToBookingEvents();
+        // Registered once per login; after the first snapshot saves push changes through it
+        AnalyticsAggregator.removeListener(analyticsListener);
+        AnalyticsAggregator.addListener(analyticsListener);
+        loadAllData(null);
+    }
+    
+    // Saved booking changes update their rows in place; falling behind re-pages the table
+    private void subscribeToBookingEvents() {
+        unsubscribeFromBookingEvents();
+        bookingEvents = EventBus.subscribe(DomainEvent.BookingEvent.class,
+                event -> {
+                    bookingPager.upsert(event.booking);
+                    applyUpcomingEvent(event.booking);
+                },
+                AsyncService::runOnFx, () -> {
+                    bookingPager.refresh();
+                    loadUpcoming();
+                }, EventBus.DEFAULT_CAPACITY);
+    }
+    
+    private void unsubscribeFromBookingEvents() {
+        if (bookingEvents != null) {
+            bookingEvents.cancel();
+            bookingEvents = null;
+        }
+    }
+    
+    private void setupTableColumns() {
+        // Guide table columns
+        guideUsernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
+        guideNameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
+        guideLanguagesColumn.setCellValueFactory(cellData -> 
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getLanguagesString()));
+        guideExperienceColumn.setCellValueFactory(new PropertyValueFactory<>("experienceYears"));
+        
+        // Attraction table columns
+        attractionNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
+        attractionLocationColumn.setCellValueFactory(new PropertyValueFactory<>("location"));
+        attractionAltitudeColumn.setCellValueFactory(new PropertyValueFactory<>("altitudeLevel"));
+        attractionDifficultyColumn.setCellValueFactory(new PropertyValueFactory<>("difficulty"));
+        attractionPriceColumn.setCellValueFactory(new PropertyValueFactory<>("basePrice"));
+        
+        // Booking table columns
+        bookingIdColumn.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
+        bookingTouristColumn.setCellValueFactory(new PropertyValueFactory<>("touristUsername"));
+        bookingGuideColumn.setCellValueFactory(new PropertyValueFactory<>("guideUsername"));
+        bookingAttractionColumn.setCellValueFactory(cellData -> 
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getAttraction().getName()));
+        bookingDateColumn.setCellValueFactory(new PropertyValueFactory<>("trekDate"));
+        bookingStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        bookingPriceColumn.setCellValueFactory(new PropertyValueFactory<>("totalPrice"));
+        
+        // Upcoming treks table columns
+        upcomingIdColumn.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
+        upcomingTouristColumn.setCellValueFactory(new PropertyValueFactory<>("touristUsername"));
+        upcomingGuideColumn.setCellValueFactory(new PropertyValueFactory<>("guideUsername"));
+        upcomingAttractionColumn.setCellValueFactory(cellData -> 
+            new javafx.beans.property.SimpleStringProperty(cellData.getValue().getAttraction().getName()));
+        upcomingDateColumn.setCellValueFactory(new PropertyValueFactory<>("trekDate"));
+        upcomingStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+    }
+    
+    private void setupComboBoxes() {
+        attractionAltitudeCombo.setItems(FXCollections.observableArrayList("High", "Low"));
+        attractionDifficultyCombo.setItems(FXCollections.observableArrayList("Easy", "Medium", "Hard"));
+        bookingStatusCombo.setItems(FXCollections.observableArrayList(BookingService.STATUSES));
+        upcomingViewCombo.setItems(FXCollections.observableArrayList(UpcomingView.values()));
+        upcomingViewCombo.setValue(UpcomingView.NEXT_WEEK);
+        upcomingViewCombo.setOnAction(e -> loadUpcoming());
+        assignLanguageFilter.setOnAction(e -> applyAssignFilter());
+        assignSpecializationFilter.setOnAction(e -> applyAssignFilter());
+    }
+    
+    // Refreshes the filter choices and the assignable guides from the guide index
+    private void refreshGuideFilters() {
+        assignLanguageFilter.getItems().setAll(withAny(GuideIndex.languageCounts().keySet()));
+        assignSpecializationFilter.getItems().setAll(withAny(GuideIndex.specializationCounts().keySet()));
+        applyAssignFilter();
+    }
+    
+    private void applyAssignFilter() {
+        Map<String, Guide> byUsername = new HashMap<>();
+        for (Guide guide : guides) {
+            byUsername.put(guide.getUsername(), guide);
+        }
+        assignableGuides.setAll(GuideIndex.filter(byUsername,
+                filterValue(assignLanguageFilter), filterValue(assignSpecializationFilter)));
+    }
+    
+    private static List<String> withAny(Collection<String> values) {
+        List<String> items = new ArrayList<>();
+        items.add(ANY);
+        items.addAll(values);
+        return items;
+    }
+    
+    private static String filterValue(ComboBox<String> combo) {
+        String value = combo.getValue();
+        return value == null || ANY.equals(value) ? null : value;
+    }
+    
+    private void setupCharts() {
+        nationalityChart.setTitle("Tourist Nationality Distribution");
+        attractionSeries.setName("Bookings");
+        popularAttractionsChart.getData().add(attractionSeries);
+        popularAttractionsChart.setTitle("Most Popular Attractions");
+        
+        revenueSeries.setName("Revenue ($)");
+        revenueChart.getData().add(revenueSeries);
+        revenueChart.setAnimated(false);
+        revenueGroupByCombo.setItems(FXCollections.observableArrayList(RevenueCube.Dimension.values()));
+        revenueGroupByCombo.setValue(RevenueCube.Dimension.ATTRACTION);
+        revenueGroupByCombo.setOnAction(e -> updateRevenueChart());
+    }
+    
+    // Loads guides and attractions in the background, restarts booking paging, then refreshes analytics
+    private void loadAllData(Runnable onLoaded) {
+        AsyncService.track(loadingIndicator, AsyncService.supply(
+                DashboardData::new,
+                loaded -> {
+                    guides.setAll(loaded.guides);
+                    attractions.setAll(loaded.attractions);
+                    refreshGuideFilters();
+                    bookingPager.refresh();
+                    loadUpcoming();
+                    updateAnalytics();
+                    if (onLoaded != null) onLoaded.run();
+                },
+                error -> DialogUtils.showError("Error", "Failed to load dashboard data!")));
+    }
+    
+    // Reads only the bookings in the chosen date range, up to UPCOMING_LIMIT of them
+    private void loadUpcoming() {
+        UpcomingView view = upcomingViewCombo.getValue();
+        if (view == null) return;
+        LocalDate today = LocalDate.now();
+        AsyncService.supply(() -> {
+                    int[] ids = TrekDateIndex.between(view.from(today), view.to(today));
+                    int[] shown = Arrays.copyOf(ids, Math.min(ids.length, UPCOMING_LIMIT));
+                    return Map.entry(ids.length, SessionContext.getBookings(shown));
+                },
+                result -> {
+                    if (view != upcomingViewCombo.getValue()) return; // superseded
+                    upcomingBookings.setAll(result.getValue());
+                    int total = result.getKey();
+                    upcomingCountLabel.setText(total > upcomingBookings.size()
+                            ? "first " + upcomingBookings.size() + " of " + total + " treks"
+                            : total + (total == 1 ? " trek" : " treks"));
+                },
+                error -> System.err.println("Error loading upcoming treks: " + error.getMessage()));
+    }
+    
+    // Moves a saved booking into or out of the upcoming view without querying again
+    private void applyUpcomingEvent(Booking booking) {
+        UpcomingView view = upcomingViewCombo.getValue();
+        if (view == null) return;
+        upcomingBookings.removeIf(b -> b.getBookingId() == booking.getBookingId());
+        if (view.includes(booking, LocalDate.now()) && upcomingBookings.size() < UPCOMING_LIMIT) {
+            upcomingBookings.add(booking);
+            upcomingBookings.sort(Comparator.comparing(Booking::getTrekDate).thenComparingInt(Booking::getBookingId));
+        }
+    }
+    
+    // Guide Management Methods
+    @FXML
+    private void handleAddGuide() {
+        if (!validateGuideFields()) return;
+
+        try {
+            List<String> languages = Arrays.asList(guideLanguagesField.getText().trim().split(",\\s*"));
+            Guide newGuide = new Guide(
+                    guideUsernameField.getText().trim(),
+                    guidePasswordField.getText().trim(),
+                    guideNameField.getText().trim(),
+                    guideEmailField.getText().trim(),
+                    guidePhoneField.getText().trim(),
+                    languages,
+                    Integer.parseInt(guideExperienceField.getText().trim())
+            );
+            newGuide.setSpecializations(parseList(guideSpecializationsField.getText()));
+
+            AsyncService.save(loadingIndicator, () -> FileHandler.saveGuide(newGuide), () -> {
+                guides.add(newGuide);
+                refreshGuideFilters();
+                clearGuideFields();
+                DialogUtils.showInfo("Success", "Guide added successfully!");
+            }, "Failed to save guide data to file!");
+        } catch (Exception e) {
+            DialogUtils.showError("Error", "Failed to add guide: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    @FXML
+    private void handleUpdateGuide() {
+        Guide selectedGuide = guidesTable.getSelectionModel().getSelectedItem();
+        if (selectedGuide == null) {
+            DialogUtils.showError("Error", "Please select a guide to update!");
+            return;
+        }
+        
+        if (!validateGuideFields()) return;
+        
+        try {
+            String previousName = selectedGuide.getFullName();
+            String previousEmail = selectedGuide.getEmail();
+            String previousPhone = selectedGuide.getPhone();
+            int previousExperience = selectedGuide.getExperienceYears();
+            List<String> previousLanguages = selectedGuide.getLanguages();
+            List<String> previousSpecializations = selectedGuide.getSpecializations();
+
+            selectedGuide.setFullName(guideNameField.getText().trim());
+            selectedGuide.setEmail(guideEmailField.getText().trim());
+            selectedGuide.setPhone(guidePhoneField.getText().trim());
+            selectedGuide.setExperienceYears(Integer.parseInt(guideExperienceField.getText().trim()));
+            selectedGuide.setLanguages(parseList(guideLanguagesField.getText()));
+            selectedGuide.setSpecializations(parseList(guideSpecializationsField.getText()));
+            
+            guidesTable.refresh();
+            AsyncService.save(loadingIndicator, () -> FileHandler.saveGuide(selectedGuide), () -> {
+                refreshGuideFilters();
+                DialogUtils.showInfo("Success", "Guide updated successfully!");
+            }, () -> {
+                selectedGuide.setFullName(previousName);
+                selectedGuide.setEmail(previousEmail);
+                selectedGuide.setPhone(previousPhone);
+                selectedGuide.setExperienceYears(previousExperience);
+                selectedGuide.setLanguages(previousLanguages);
+                selectedGuide.setSpecializations(previousSpecializations);
+                guidesTable.refresh();
+            }, "Failed to save guide data to file!");
+            
+        } catch (Exception e) {
+            DialogUtils.showError("Error", "Failed to update guide!");
+        }
+    }
+    
+    @FXML
+    private void handleDeleteGuide() {
+        Guide selectedGuide = guidesTable.getSelectionModel().getSelectedItem();
+        if (selectedGuide == null) {
+            DialogUtils.showError("Error", "Please select a guide to delete!");
+            return;
+        }
+        
+        if (DialogUtils.showConfirmation("Confirm Deletion", "Are you sure you want to delete this guide?")) {
+            AsyncService.save(loadingIndicator, () -> FileHandler.deleteGuide(selectedGuide.getUsername()), () -> {
+                guides.remove(selectedGuide);
+                refreshGuideFilters();
+                DialogUtils.showInfo("Success", "Guide deleted successfully!");
+            }, "Failed to delete guide");
+        }
+    }
+    
+    // Attraction Management Methods
+    @FXML
+    private void handleAddAttraction() {
+        if (!validateAttractionFields()) return;
+        
+        try {
+            Attraction newAttraction = new Attraction(
+                attractionNameField.getText().trim(),
+                attractionLocationField.getText().trim(),
+                attractionAltitudeCombo.getValue(),
+                attractionDifficultyCombo.getValue(),
+                Double.parseDouble(attractionPriceField.getText().trim())
+            );
+            
+            AsyncService.save(loadingIndicator, () -> FileHandler.saveAttraction(newAttraction), () -> {
+                attractions.add(newAttraction);
+                clearAttractionFields();
+                DialogUtils.showInfo("Success", "Attraction added successfully!");
+            }, "Failed to save attraction!");
+            
+        } catch (Exception e) {
+            DialogUtils.showError("Error", "Failed to add attraction!");
+        }
+    }
+    
+    @FXML
+    private void handleUpdateAttraction() {
+        Attraction selectedAttraction = attractionsTable.getSelectionModel().getSelectedItem();
+        if (selectedAttraction == null) {
+            DialogUtils.showError("Error", "Please select an attraction to update!");
+            return;
+        }
+        
+        if (!validateAttractionFields()) return;
+        
+        try {
+            selectedAttraction.setName(attractionNameField.getText().trim());
+            selectedAttraction.setLocation(attractionLocationField.getText().trim());
+            selectedAttraction.setAltitudeLevel(attractionAltitudeCombo.getValue());
+            selectedAttraction.setDifficulty(attractionDifficultyCombo.getValue());
+            selectedAttraction.setBasePrice(Double.parseDouble(attractionPriceField.getText().trim()));
+            
+            attractionsTable.refresh();
+            DialogUtils.showInfo("Success", "Attraction updated successfully!");
+            
+        } catch (Exception e) {
+            DialogUtils.showError("Error", "Failed to update attraction!");
+        }
+    }
+    
+    @FXML
+    private void handleDeleteAttraction() {
+        Attraction selectedAttraction = attractionsTable.getSelectionModel().getSelectedItem();
+        if (selectedAttraction == null) {
+            DialogUtils.showError("Error", "Please select an attraction to delete!");
+            return;
+        }
+        
+        if (DialogUtils.showConfirmation("Confirm Deletion", "Are you sure you want to delete this attraction?")) {
+            attractions.remove(selectedAttraction);
+            DialogUtils.showInfo("Success", "Attraction deleted successfully!");
+        }
+    }
+    
+    // Booking Management Methods
+    @FXML
+    private void handleAssignGuide() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+        Guide selectedGuide = assignGuideCombo.getValue();
+
+        if (selectedBooking == null || selectedGuide == null) {
+            DialogUtils.showError("Error", "Please select both booking and guide!");
+            return;
+        }
+
+        // The booking keeps the price it was agreed at; only the guide changes
+        Guide previousGuide = selectedBooking.getGuide();
+
+        // Remove from previous guide if assigned
+        if (previousGuide != null) {
+            previousGuide.removeBooking(selectedBooking);
+        }
+
+        // Assign new guide
+        selectedBooking.setGuide(selectedGuide);
+        selectedGuide.assignBooking(selectedBooking);
+
+        // Save just the booking; guide rows don't store assignments and the table only holds a window of bookings
+        AsyncService.save(loadingIndicator,
+                () -> FileHandler.saveBooking(selectedBooking),
+                () -> {
+                    // Refresh UI
+                    bookingsTable.refresh();
+                    guidesTable.refresh();
+
+                    double commission = selectedGuide.calculateCommission(selectedBooking.getTotalPrice());
+                    DialogUtils.showInfo("Success", "Guide assigned successfully!\n" +
+                            "Guide: " + selectedGuide.getFullName() + "\n" +
+                            "Commission: $" + String.format("%.2f", commission) + " (30%)\n" +
+                            "Total Earnings: $" + String.format("%.2f", selectedGuide.getTotalEarnings()));
+                }, () -> {
+                    BookingService.restoreBooking(selectedBooking, selectedBooking.getTrekDate(), previousGuide,
+                            selectedBooking.getTotalPrice(), selectedBooking.isFestivalDiscountApplied());
+                    bookingsTable.refresh();
+                    guidesTable.refresh();
+                }, "Failed to save guide assignment");
+    }
+    
+    // Matches every open booking to a guide in one go; shows the plan before anything is saved
+    @FXML
+    private void handleAutoAssignGuides() {
+        AsyncService.track(loadingIndicator, AsyncService.supply(GuideAssignmentPlanner::plan,
+                plan -> {
+                    if (plan.matches.isEmpty()) {
+                        DialogUtils.showInfo("Auto-Assign Guides", plan.unmatched.isEmpty()
+                                ? "There are no upcoming bookings without a guide."
+                                : "No guide is free for the " + plan.unmatched.size() + " open bookings.");
+                        return;
+                    }
+                    StringBuilder summary = new StringBuilder(String.format(
+                            "%d bookings can be assigned (average score %.1f / 80), %d left without a guide.%n%n",
+                            plan.matches.size(), plan.getAverageScore(), plan.unmatched.size()));
+                    int shown = Math.min(AUTO_ASSIGN_PREVIEW, plan.matches.size());
+                    for (GuideAssignmentPlanner.Match match : plan.matches.subList(0, shown)) {
+                        summary.append(String.format("#%d %s on %s -> %s (%d): %s%n", match.booking.getBookingId(),
+                                match.booking.getAttraction().getName(), match.booking.getTrekDate(),
+                                match.guide.getFullName(), match.score, match.explanation));
+                    }
+                    if (shown < plan.matches.size()) {
+                        summary.append("... and ").append(plan.matches.size() - shown).append(" more\n");
+                    }
+                    summary.append("\nSave these assignments?");
+                    if (!DialogUtils.showConfirmation("Auto-Assign Guides", summary.toString())) return;
+                    
+                    // Saved bookings come back through the booking events, so the table updates itself
+                    AsyncService.track(loadingIndicator, AsyncService.supply(() -> GuideAssignmentPlanner.commit(plan),
+                            commit -> {
+                                if (!commit.saved) {
+                                    DialogUtils.showError("Error", "Failed to save guide assignments");
+                                } else if (commit.skipped.isEmpty()) {
+                                    DialogUtils.showInfo("Success", commit.assigned.size() + " guides assigned!");
+                                } else {
+                                    DialogUtils.showInfo("Success", commit.assigned.size() + " guides assigned. "
+                                            + commit.skipped.size() + " bookings were skipped because they or their "
+                                            + "guide changed since the plan was made; run Auto-Assign again for them.");
+                                }
+                            },
+                            error -> DialogUtils.showError("Error", "Failed to save guide assignments: "
+                                    + error.getMessage())));
+                },
+                error -> DialogUtils.showError("Error", "Failed to plan guide assignments: " + error.getMessage())));
+    }
+    
+    @FXML
+    private void handleUpdateBookingStatus() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+        String newStatus = bookingStatusCombo.getValue();
+        
+        if (selectedBooking == null || newStatus == null) {
+            DialogUtils.showError("Error", "Please select booking and status!");
+            return;
+        }
+        
+        String previousStatus = selectedBooking.getStatus();
+        try {
+            BookingService.updateStatus(selectedBooking, newStatus);
+        } catch (IllegalArgumentException e) {
+            DialogUtils.showError("Error", e.getMessage());
+            return;
+        }
+        
+        // Saving publishes StatusChanged to the other open dashboards
+        AsyncService.save(loadingIndicator, () -> BookingService.save(selectedBooking), () -> {
+            bookingsTable.refresh();
+            DialogUtils.showInfo("Success", "Booking status updated successfully!");
+        }, () -> selectedBooking.setStatus(previousStatus), "Failed to save booking status");
+    }
+    
+    @FXML
+    private void handleDeleteBooking() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+        if (selectedBooking == null) {
+            DialogUtils.showError("Error", "Please select a booking to delete!");
+            return;
+        }
+        
+        if (DialogUtils.showConfirmation("Confirm Deletion", "Are you sure you want to delete this booking?")) {
+            AsyncService.save(loadingIndicator, () -> FileHandler.deleteBooking(selectedBooking.getBookingId()), () -> {
+                // Remove guide earnings if assigned, now that the booking is gone for good
+                if (!selectedBooking.getGuideUsername().isEmpty()) {
+                    Guide assignedGuide = guides.stream()
+                        .filter(g -> g.getUsername().equals(selectedBooking.getGuideUsername()))
+                        .findFirst()
+                        .orElse(null);
+                    if (assignedGuide != null) {
+                        assignedGuide.removeBooking(selectedBooking);
+                    }
+                }
+                bookings.remove(selectedBooking);
+                DialogUtils.showInfo("Success", "Booking deleted successfully!");
+            }, "Failed to delete booking");
+        }
+    }
+    
+    // Analytics Methods
+    private void updateAnalytics() {
+        // The first snapshot scans the files; after that saves push changes through analyticsListener
+        AsyncService.track(loadingIndicator, AsyncService.supply(AnalyticsAggregator::snapshot,
+                this::applyAnalytics,
+                error -> System.err.println("Error updating analytics: " + error.getMessage())));
+    }
+    
+    private void applyAnalytics(AnalyticsAggregator.Snapshot snapshot) {
+        updateNationalityChart(snapshot.nationalityCounts);
+        updatePopularAttractionsChart(snapshot.attractionCounts);
+        updateStatistics(snapshot);
+        updateRevenueChart();
+        updateGuideLeaderboard();
+        // The sketches scan on first use and follow new bookings after that
+        AsyncService.supply(AnalyticsSketches::summary, this::applyTrends,
+                error -> System.err.println("Error updating trends: " + error.getMessage()));
+    }
+    
+    // Only slices whose count changed are touched
+    private void updateNationalityChart(Map<String, Long> nationalityCount) {
+        nationalitySlices.keySet().removeIf(nationality -> {
+            if (nationalityCount.containsKey(nationality)) return false;
+            nationalityChart.getData().remove(nationalitySlices.get(nationality));
+            return true;
+        });
+        
+        nationalityCount.forEach((nationality, count) -> {
+            PieChart.Data slice = nationalitySlices.get(nationality);
+            if (slice == null) {
+                slice = new PieChart.Data(nationality, count);
+                nationalitySlices.put(nationality, slice);
+                nationalityChart.getData().add(slice);
+            } else if (slice.getPieValue() != count) {
+                slice.setPieValue(count);
+            }
+        });
+    }
+    
+    // Only bars whose count changed are touched
+    private void updatePopularAttractionsChart(Map<String, Long> attractionCount) {
+        attractionBars.keySet().removeIf(attraction -> {
+            if (attractionCount.containsKey(attraction)) return false;
+            attractionSeries.getData().remove(attractionBars.get(attraction));
+            return true;
+        });
+        
+        attractionCount.forEach((attraction, count) -> {
+            XYChart.Data<String, Number> bar = attractionBars.get(attraction);
+            if (bar == null) {
+                bar = new XYChart.Data<>(attraction, count);
+                attractionBars.put(attraction, bar);
+                attractionSeries.getData().add(bar);
+            } else if (bar.getYValue().longValue() != count) {
+                bar.setYValue(count);
+            }
+        });
+    }
+    
+    // Queries the revenue cube for the current grouping and drill-down slice
+    private void updateRevenueChart() {
+        RevenueCube.Dimension groupBy = revenueGroupByCombo.getValue();
+        if (groupBy == null) return;
+        Map<RevenueCube.Dimension, String> slice = new LinkedHashMap<>(revenueSlice);
+        revenueSliceLabel.setText(slice.isEmpty() ? "All bookings" : String.join(" › ", slice.values()));
+        
+        AsyncService.supply(() -> AnalyticsAggregator.rollUp(groupBy, slice),
+                totals -> {
+                    if (groupBy != revenueGroupByCombo.getValue() || !slice.equals(revenueSlice)) return;
+                    List<XYChart.Data<String, Number>> bars = new ArrayList<>();
+                    totals.forEach((value, total) -> bars.add(revenueBar(groupBy, value, total)));
+                    revenueSeries.getData().setAll(bars);
+                },
+                error -> System.err.println("Error updating revenue chart: " + error.getMessage()));
+    }
+    
+    private XYChart.Data<String, Number> revenueBar(RevenueCube.Dimension groupBy, String value,
+                                                   RevenueCube.Totals total) {
+        String label = value.isEmpty() && groupBy == RevenueCube.Dimension.GUIDE ? "No guide" : value;
+        XYChart.Data<String, Number> bar = new XYChart.Data<>(label, total.revenue);
+        bar.nodeProperty().addListener((obs, oldNode, node) -> {
+            if (node == null) return;
+            Tooltip.install(node, new Tooltip(label + ": " + total.bookings + " bookings, $"
+                    + String.format("%.2f", total.revenue)));
+            node.setOnMouseClicked(e -> drillInto(groupBy, value));
+        });
+        return bar;
+    }
+    
+    // Fixes the clicked value and regroups by the next dimension not yet fixed
+    private void drillInto(RevenueCube.Dimension groupBy, String value) {
+        revenueSlice.put(groupBy, value);
+        RevenueCube.Dimension[] dimensions = RevenueCube.Dimension.values();
+        for (int i = 1; i < dimensions.length; i++) {
+            RevenueCube.Dimension next = dimensions[(groupBy.ordinal() + i) % dimensions.length];
+            if (!revenueSlice.containsKey(next)) {
+                revenueGroupByCombo.setValue(next); // triggers updateRevenueChart
+                return;
+            }
+        }
+        updateRevenueChart();
+    }
+    
+    @FXML
+    private void handleRevenueReset() {
+        revenueSlice.clear();
+        updateRevenueChart();
+    }
+    
+    private void updateGuideLeaderboard() {
+        AsyncService.supply(() -> Map.entry(GuideLeaderboard.topEarners(LEADERBOARD_SIZE),
+                        GuideLeaderboard.busiest(LEADERBOARD_SIZE)),
+                boards -> {
+                    topEarnersLabel.setText(formatLeaderboard(boards.getKey(), score -> String.format("$%.2f", score)));
+                    busiestGuidesLabel.setText(formatLeaderboard(boards.getValue(), count -> count + " treks"));
+                },
+                error -> System.err.println("Error updating guide leaderboard: " + error.getMessage()));
+    }
+    
+    private static <T> String formatLeaderboard(List<Map.Entry<String, T>> entries,
+                                                Function<T, String> format) {
+        if (entries.isEmpty()) return "-";
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) text.append('\n');
+            text.append(i + 1).append(". ").append(entries.get(i).getKey()).append("  ")
+                    .append(format.apply(entries.get(i).getValue()));
+        }
+        return text.toString();
+    }
+    
+    // Sketch estimates, each shown with its error bound
+    private void applyTrends(AnalyticsSketches.Summary summary) {
+        String distinctError = String.format(" (±%.1f%%)", summary.distinctTouristsError * 100);
+        distinctTouristsLabel.setText("Distinct tourists per attraction" + distinctError + ": "
+                + joinEstimates(summary.distinctTouristsByAttraction.entrySet()));
+        monthlyTouristsLabel.setText("Distinct tourists per trek month" + distinctError + ": "
+                + joinEstimates(summary.distinctTouristsByMonth.entrySet()));
+        String confidence = String.format("%.1f%%", summary.countConfidence * 100);
+        topAttractionsLabel.setText(String.format("Top attractions (bookings, at most %.0f over with %s confidence): ",
+                summary.attractionCountError, confidence) + joinEstimates(summary.topAttractions));
+        topNationalitiesLabel.setText(String.format("Top nationalities (tourists, at most %.0f over with %s confidence): ",
+                summary.nationalityCountError, confidence) + joinEstimates(summary.topNationalities));
+        
+        StringBuilder prices = new StringBuilder("Booking prices (" + summary.priceCount + " bookings):");
+        for (int i = 0; i < summary.priceQuantiles.length; i++) {
+            prices.append(String.format("  p%.0f $%.2f (±%.1f%% of ranks)", summary.priceQuantiles[i] * 100,
+                    summary.prices[i], summary.priceRankErrors[i] * 100));
+        }
+        priceQuantilesLabel.setText(summary.priceCount == 0 ? "Booking prices: -" : prices.toString());
+    }
+    
+    private static String joinEstimates(Collection<Map.Entry<String, Long>> estimates) {
+        if (estimates.isEmpty()) return "-";
+        List<String> parts = new ArrayList<>();
+        estimates.forEach(entry -> parts.add(entry.getKey() + " ~" + entry.getValue()));
+        return String.join(", ", parts);
+    }
+    
+    private void updateStatistics(AnalyticsAggregator.Snapshot snapshot) {
+        totalRevenueLabel.setText("Net Revenue: $" + String.format("%.2f", snapshot.getNetRevenue()) + 
+            " (Total: $" + String.format("%.2f", snapshot.grossRevenue) + 
+            ", Guide Commissions: $" + String.format("%.2f", snapshot.guideCommissions) + ")");
+        totalBookingsLabel.setText("Total Bookings: " + snapshot.bookingCount);
+        totalTouristsLabel.setText("Total Tourists: " + snapshot.touristCount);
+        totalGuidesLabel.setText("Total Guides: " + guides.size());
+    }
+    
+    // Validation Methods
+    private boolean validateGuideFields() {
+        if (guideUsernameField.getText().trim().isEmpty() ||
+            guidePasswordField.getText().trim().isEmpty() ||
+            guideNameField.getText().trim().isEmpty() ||
+            guideEmailField.getText().trim().isEmpty() ||
+            guidePhoneField.getText().trim().isEmpty() ||
+            guideLanguagesField.getText().trim().isEmpty() ||
+            guideExperienceField.getText().trim().isEmpty()) {
+        
+        DialogUtils.showError("Error", "Please fill in all guide fields!");
+        return false;
+    }
+    
+    try {
+        Integer.parseInt(guideExperienceField.getText().trim());
+    } catch (NumberFormatException e) {
+        DialogUtils.showError("Error", "Please enter valid experience years!");
+        return false;
+    }
+    
+    return true;
+}
+
+private boolean validateAttractionFields() {
+    if (attractionNameField.getText().trim().isEmpty() ||
+        attractionLocationField.getText().trim().isEmpty() ||
+        attractionAltitudeCombo.getValue() == null ||
+        attractionDifficultyCombo.getValue() == null ||
+        attractionPriceField.getText().trim().isEmpty()) {
+        
+        DialogUtils.showError("Error", "Please fill in all attraction fields!");
+        return false;
+    }
+    
+    try {
+        Double.parseDouble(attractionPriceField.getText().trim());
+    } catch (NumberFormatException e) {
+        DialogUtils.showError("Error", "Please enter valid price!");
+        return false;
+    }
+    
+    return true;
+}
+    
+    // Utility Methods
+    private void clearGuideFields() {
+        guideUsernameField.clear();
+        guidePasswordField.clear();
+        guideNameField.clear();
+        guideEmailField.clear();
+        guidePhoneField.clear();
+        guideLanguagesField.clear();
+        guideExperienceField.clear();
+        guideSpecializationsField.clear();
+    }
+    
+    private static List<String> parseList(String text) {
+        List<String> values = new ArrayList<>();
+        for (String value : text.trim().split("\\s*,\\s*")) {
+            if (!value.isEmpty()) values.add(value);
+        }
+        return values;
+    }
+    
+    private void clearAttractionFields() {
+        attractionNameField.clear();
+        attractionLocationField.clear();
+        attractionAltitudeCombo.setValue(null);
+        attractionDifficultyCombo.setValue(null);
+        attractionPriceField.clear();
+    }
+    
+    @FXML
+    private void handleRefreshData() {
+        SessionContext.invalidateAll();
+        AnalyticsAggregator.invalidate();
+        AnalyticsSketches.invalidate();
+        GuideLeaderboard.invalidate();
+        TrekDateIndex.invalidate();
+        GuideIndex.invalidate();
+        loadAllData(() -> DialogUtils.showInfo("Success", "Data refreshed successfully!"));
+    }
+    
+    @FXML
+    private void toggleLanguage() {
+        LanguageManager.toggleLanguage();
+        updateLanguage();
+        welcomeLabel.setText(LanguageManager.getText("Welcome") + ", " + currentUser.getFullName() + "!");
+    }
+    
+    @FXML
+    private void handleLogout() {
+        AnalyticsAggregator.removeListener(analyticsListener);
+        unsubscribeFromBookingEvents();
+        SessionContext.end();
+        try {
+            Scene scene = SceneFactory.take(SceneFactory.LOGIN).getScene();
+        
+            // Use the new scene switching method to maintain full screen
+            Main.switchScene(scene, "Journey - Nepal Tourism System");
+        
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private void updateLanguage() {
+        addGuideButton.setText(LanguageManager.getText("Add"));
+        updateGuideButton.setText(LanguageManager.getText("Update"));
+        deleteGuideButton.setText(LanguageManager.getText("Delete"));
+        addAttractionButton.setText(LanguageManager.getText("Add"));
+        updateAttractionButton.setText(LanguageManager.getText("Update"));
+        deleteAttractionButton.setText(LanguageManager.getText("Delete"));
+        assignGuideButton.setText(LanguageManager.getText("Assign Guide"));
+        updateBookingStatusButton.setText(LanguageManager.getText("Update Status"));
+        deleteBookingButton.setText(LanguageManager.getText("Delete"));
+        refreshDataButton.setText(LanguageManager.getText("Refresh"));
+        logoutButton.setText(LanguageManager.getText("Logout"));
+        languageToggleButton.setText(LanguageManager.getCurrentLanguage());
+    }
+    
+    private void showAlert(String title, String message) {
+        DialogUtils.showInfo(title, message);
+    }
+}
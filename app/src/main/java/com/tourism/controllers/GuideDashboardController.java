@@ -0,0 +1,418 @@
+package com.tourism.controllers;
+
+import com.tourism.Main;
+import com.tourism.events.DomainEvent;
+import com.tourism.events.EventBus;
+import com.tourism.models.*;
+import com.tourism.services.GuideLeaderboard;
+import com.tourism.services.TrekDateIndex;
+import com.tourism.utils.AsyncService;
+import com.tourism.utils.DialogUtils;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.ImageService;
+import com.tourism.utils.LanguageManager;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.SessionContext;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.image.ImageView;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+public class GuideDashboardController implements Initializable {
+    // UI Components
+    @FXML private Label welcomeLabel;
+    @FXML private Label dashboardInfoLabel;
+    @FXML private Label earningsLabel;
+    @FXML private Label languagesLabel;
+    @FXML private Label experienceLabel;
+    @FXML private Label rankLabel;
+    @FXML private Label leaderboardLabel;
+    @FXML private TableView<Booking> upcomingTreksTable;
+    @FXML private TableColumn<Booking, Integer> bookingIdColumn;
+    @FXML private TableColumn<Booking, String> touristColumn;
+    @FXML private TableColumn<Booking, String> attractionColumn;
+    @FXML private TableColumn<Booking, LocalDate> dateColumn;
+    @FXML private TableColumn<Booking, String> difficultyColumn;
+    @FXML private TextArea updatesTextArea;
+    @FXML private Button languageToggleButton;
+    @FXML private Button logoutButton;
+    @FXML private Button refreshButton;
+    @FXML private ImageView profileImageView;
+    @FXML private Button changeProfilePictureButton;
+    @FXML private TextArea bioTextArea;
+    @FXML private Button editBioButton;
+    @FXML private Button saveBioButton;
+    @FXML private Button cancelBioButton;
+    @FXML private Button deleteBioButton;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    // Data fields
+    private Guide currentUser;
+    private ObservableList<Booking> assignedBookings;
+    private EventBus.Subscription bookingEvents;
+    private String originalBio;
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        setupTableColumns();
+        loadImportantUpdates();
+        updateLanguage();
+        initializeUIComponents();
+    }
+
+    public void setCurrentUser(Guide user) {
+        this.currentUser = user;
+        initializeDashboard();
+    }
+
+    private void initializeUIComponents() {
+        if (welcomeLabel != null) {
+            welcomeLabel.setText("Welcome Guide!");
+        }
+        if (dashboardInfoLabel != null) {
+            dashboardInfoLabel.setText("Loading guide information...");
+        }
+        if (earningsLabel != null) {
+            earningsLabel.setText("Total Earnings: $0.00");
+        }
+        if (languagesLabel != null) {
+            languagesLabel.setText("Languages: Loading...");
+        }
+        if (experienceLabel != null) {
+            experienceLabel.setText("Experience: Loading...");
+        }
+        if (saveBioButton != null) saveBioButton.setVisible(false);
+        if (cancelBioButton != null) cancelBioButton.setVisible(false);
+    }
+
+    private void initializeDashboard() {
+        if (currentUser == null) return;
+
+        // Load latest guide data from the session cache without blocking the UI
+        String username = currentUser.getUsername();
+        AsyncService.track(loadingIndicator, AsyncService.supply(() -> SessionContext.getGuide(username),
+                latestGuideData -> {
+                    if (latestGuideData != null) {
+                        currentUser = latestGuideData; // Update with latest data
+                    }
+                    showGuideProfile();
+                },
+                error -> DialogUtils.showError("Error", "Failed to load guide dashboard")));
+
+        subscribeToBookingEvents();
+        loadAssignedBookings();
+    }
+
+    // New assignments and status changes for this guide's treks arrive without a refresh
+    private void subscribeToBookingEvents() {
+        unsubscribeFromBookingEvents();
+        bookingEvents = EventBus.subscribe(DomainEvent.BookingEvent.class, this::applyBookingEvent,
+                AsyncService::runOnFx, this::loadAssignedBookings, EventBus.DEFAULT_CAPACITY);
+    }
+
+    private void unsubscribeFromBookingEvents() {
+        if (bookingEvents != null) {
+            bookingEvents.cancel();
+            bookingEvents = null;
+        }
+    }
+
+    private void applyBookingEvent(DomainEvent.BookingEvent event) {
+        if (currentUser == null || assignedBookings == null) return;
+
+        int index = -1;
+        for (int i = 0; i < assignedBookings.size(); i++) {
+            if (assignedBookings.get(i).getBookingId() == event.bookingId) {
+                index = i;
+                break;
+            }
+        }
+        if (currentUser.getUsername().equals(event.guideUsername) && isUpcomingTrek(event.booking)) {
+            if (index >= 0) {
+                assignedBookings.set(index, event.booking);
+            } else {
+                assignedBookings.add(event.booking);
+            }
+            assignedBookings.sort(Comparator.comparing(Booking::getTrekDate).thenComparingInt(Booking::getBookingId));
+        } else if (index >= 0) {
+            // Reassigned to another guide, cancelled or completed
+            assignedBookings.remove(index);
+        }
+        // Any guide's booking can move this one up or down
+        updateLeaderboard();
+    }
+
+    private void showGuideProfile() {
+        try {
+            updateUserLabels();
+
+            // Load profile picture if exists; the thumbnail arrives once it is ready
+            ImageService.loadThumbnail(currentUser.getProfileImagePath(), profileImageView::setImage);
+
+            loadBio();
+
+        } catch (Exception e) {
+            System.err.println("Error initializing guide dashboard: " + e.getMessage());
+            DialogUtils.showError("Error", "Failed to load guide dashboard");
+        }
+    }
+
+    // Text-only refresh of the user summary; safe to call on language changes
+    private void updateUserLabels() {
+        if (currentUser == null) return;
+
+        if (welcomeLabel != null) {
+            welcomeLabel.setText(LanguageManager.getText("Welcome") + ", " + currentUser.getFullName() + "!");
+        }
+
+        if (dashboardInfoLabel != null) {
+            dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+        }
+
+        if (earningsLabel != null) {
+            earningsLabel.setText("Total Earnings: $" + String.format("%.2f", currentUser.getTotalEarnings()));
+        }
+
+        if (languagesLabel != null) {
+            languagesLabel.setText("Languages: " + currentUser.getLanguagesString());
+        }
+
+        if (experienceLabel != null) {
+            experienceLabel.setText("Experience: " + currentUser.getExperienceYears() + " years");
+        }
+    }
+
+    private void setupTableColumns() {
+        try {
+            bookingIdColumn.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
+            touristColumn.setCellValueFactory(new PropertyValueFactory<>("touristUsername"));
+            attractionColumn.setCellValueFactory(cellData -> {
+                Attraction attraction = cellData.getValue().getAttraction();
+                return new javafx.beans.property.SimpleStringProperty(
+                        attraction != null ? attraction.getName() : "N/A");
+            });
+            dateColumn.setCellValueFactory(new PropertyValueFactory<>("trekDate"));
+            difficultyColumn.setCellValueFactory(cellData -> {
+                Attraction attraction = cellData.getValue().getAttraction();
+                return new javafx.beans.property.SimpleStringProperty(
+                        attraction != null ? attraction.getDifficulty() : "N/A");
+            });
+        } catch (Exception e) {
+            System.err.println("Error setting up table columns: " + e.getMessage());
+        }
+    }
+
+    private void loadAssignedBookings() {
+        if (currentUser == null) return;
+
+        // Today's and later open treks straight from the trek-date index, in date order
+        String username = currentUser.getUsername();
+        AsyncService.track(loadingIndicator, AsyncService.supply(
+                () -> SessionContext.getBookings(TrekDateIndex.forGuide(username, LocalDate.now(), null)),
+                bookingList -> {
+                    assignedBookings = FXCollections.observableArrayList(bookingList);
+                    upcomingTreksTable.setItems(assignedBookings);
+
+                    // Update UI
+                    if (earningsLabel != null) {
+                        earningsLabel.setText("Total Earnings: $" +
+                                String.format("%.2f", currentUser.getTotalEarnings()));
+                    }
+                },
+                error -> System.err.println("Error loading assigned bookings: " + error.getMessage())));
+        updateLeaderboard();
+    }
+
+    private static boolean isUpcomingTrek(Booking booking) {
+        return ("Pending".equals(booking.getStatus()) || "Confirmed".equals(booking.getStatus()))
+                && !booking.getTrekDate().isBefore(LocalDate.now());
+    }
+
+    // The first call scans the bookings in the background; later ones are O(log n) lookups
+    private void updateLeaderboard() {
+        if (currentUser == null) return;
+
+        String username = currentUser.getUsername();
+        AsyncService.supply(() -> Map.entry(GuideLeaderboard.standing(username), GuideLeaderboard.topEarners(5)),
+                result -> {
+                    GuideLeaderboard.Standing standing = result.getKey();
+                    if (rankLabel != null) {
+                        rankLabel.setText(standing.earningsRank == 0 ? "Rank: -" : String.format(
+                                "Rank: #%d of %d by earnings%n#%d by active treks (%d)",
+                                standing.earningsRank, standing.guideCount, standing.treksRank, standing.treks));
+                    }
+                    if (leaderboardLabel != null) {
+                        StringBuilder text = new StringBuilder();
+                        int rank = 1;
+                        for (Map.Entry<String, Double> entry : result.getValue()) {
+                            text.append(String.format("%d. %s  $%.2f%s%n", rank++, entry.getKey(), entry.getValue(),
+                                    entry.getKey().equals(username) ? "  (you)" : ""));
+                        }
+                        leaderboardLabel.setText(text.length() == 0 ? "-" : text.toString().trim());
+                    }
+                },
+                error -> System.err.println("Error loading guide leaderboard: " + error.getMessage()));
+    }
+
+    // Writes the current guide back in the background, replacing the stored record
+    private void saveCurrentGuide(Runnable onSaved, String failureMessage) {
+        Guide guide = currentUser;
+        AsyncService.save(loadingIndicator, () -> FileHandler.saveGuide(guide), onSaved, failureMessage);
+    }
+
+    private void loadBio() {
+        if (currentUser == null || bioTextArea == null) return;
+
+        String bio = currentUser.getBio();
+        if (bio == null || bio.isBlank()) {
+            bio = "Tell us something about yourself!";
+        }
+        bioTextArea.setText(bio);
+        bioTextArea.setEditable(false);
+        originalBio = bio;
+
+        if (saveBioButton != null) saveBioButton.setVisible(false);
+        if (cancelBioButton != null) cancelBioButton.setVisible(false);
+    }
+
+    private void loadImportantUpdates() {
+        try {
+            StringBuilder updates = new StringBuilder();
+            updates.append("🌤️ WEATHER :\n");
+            updates.append("• Clear skies expected across trekking regions\n");
+            updates.append("• Mild snowfall forecast above 4,500m\n\n");
+
+            updates.append("⚠️ SAFETY GUIDELINES:\n");
+            updates.append("• Carry altitude sickness medication\n");
+            updates.append("• Check-in twice daily\n\n");
+
+            updates.append("📢 GUIDE ANNOUNCEMENTS:\n");
+            updates.append("• Certification renewal deadline approaching\n");
+
+            updatesTextArea.setText(updates.toString());
+            updatesTextArea.setEditable(false);
+        } catch (Exception e) {
+            System.err.println("Error loading updates: " + e.getMessage());
+        }
+    }
+
+    // ===== Event Handlers =====
+    @FXML
+    private void handleEditBio() {
+        bioTextArea.setEditable(true);
+        saveBioButton.setVisible(true);
+        cancelBioButton.setVisible(true);
+    }
+
+    @FXML
+    private void handleSaveBio() {
+        currentUser.setBio(bioTextArea.getText());
+        bioTextArea.setEditable(false);
+        saveBioButton.setVisible(false);
+        cancelBioButton.setVisible(false);
+
+        // Save the updated guide
+        saveCurrentGuide(() -> DialogUtils.showInfo("Success", "Bio updated successfully!"),
+                "Failed to save bio");
+    }
+
+    @FXML
+    private void handleCancelBio() {
+        bioTextArea.setText(originalBio);
+        bioTextArea.setEditable(false);
+        saveBioButton.setVisible(false);
+        cancelBioButton.setVisible(false);
+    }
+
+    @FXML
+    private void handleDeleteBio() {
+        bioTextArea.setText("Tell us something about yourself!");
+        currentUser.setBio("");
+
+        // Save the updated guide
+        saveCurrentGuide(null, "Failed to delete bio");
+    }
+
+    @FXML
+    private void handleChangeProfilePicture() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Choose Profile Picture");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Image Files", "*.png", "*.jpg", "*.jpeg")
+        );
+
+        File file = fileChooser.showOpenDialog(profileImageView.getScene().getWindow());
+        if (file != null) {
+            // Copy into the image store off the FX thread, then show the thumbnail and save the guide
+            String username = currentUser.getUsername();
+            AsyncService.track(loadingIndicator, AsyncService.supply(() -> {
+                        try {
+                            return ImageService.importImage(username, file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    },
+                    storedPath -> {
+                        currentUser.setProfileImagePath(storedPath);
+                        ImageService.loadThumbnail(storedPath, profileImageView::setImage);
+
+                        // Save the updated guide
+                        saveCurrentGuide(() -> DialogUtils.showInfo("Success", "Profile picture updated!"),
+                                "Failed to update profile picture");
+                    },
+                    error -> DialogUtils.showError("Error", "Failed to update profile picture")));
+        }
+    }
+
+    @FXML
+    private void handleRefresh() {
+        // Changes saved in this process arrive as events; this re-reads what other processes wrote
+        SessionContext.invalidateAll();
+        GuideLeaderboard.invalidate();
+        TrekDateIndex.invalidate();
+        initializeDashboard();
+        DialogUtils.showInfo("Refreshed", "Dashboard data updated");
+    }
+
+    @FXML
+    private void toggleLanguage() {
+        LanguageManager.toggleLanguage();
+        updateLanguage();
+        updateUserLabels();
+    }
+
+    @FXML
+    private void handleLogout() {
+        unsubscribeFromBookingEvents();
+        SessionContext.end();
+        try {
+            Scene scene = SceneFactory.take(SceneFactory.LOGIN).getScene();
+            Main.switchScene(scene, "Journey - Nepal Tourism System");
+        } catch (Exception e) {
+            DialogUtils.showError("Error", "Failed to logout");
+        }
+    }
+
+    private void updateLanguage() {
+        if (refreshButton != null) refreshButton.setText(LanguageManager.getText("Refresh"));
+        if (logoutButton != null) logoutButton.setText(LanguageManager.getText("Logout"));
+        if (languageToggleButton != null) {
+            languageToggleButton.setText(LanguageManager.getCurrentLanguage());
+        }
+    }
+}
\ No newline at end of file
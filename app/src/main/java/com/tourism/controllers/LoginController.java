@@ -2,12 +2,14 @@ package com.tourism.controllers;
 
 import com.tourism.Main;
 import com.tourism.models.*;
-import com.tourism.utils.FileHandler;
+import com.tourism.utils.AsyncService;
+import com.tourism.utils.CredentialStore;
 import com.tourism.utils.LanguageManager;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.SessionContext;
 import com.tourism.utils.DialogUtils;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.image.ImageView;
@@ -15,9 +17,8 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
-import java.util.List;
 
-public class LoginController {
+public class LoginController implements SceneFactory.Resettable {
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private Button loginButton;
@@ -27,12 +28,25 @@ public class LoginController {
     @FXML private Label titleLabel;
     @FXML private Label usernameLabel;
     @FXML private Label passwordLabel;
+    @FXML private ProgressIndicator loginProgress;
 
     
     @FXML
     private void initialize() {
-
-    updateLanguage();
+        updateLanguage();
+        
+        // Build the dashboards in the background while the user is typing
+        SceneFactory.preloadAll();
+    }
+    
+    // Called when the cached login view is shown again after a logout
+    @Override
+    public void reset() {
+        usernameField.clear();
+        passwordField.clear();
+        loginButton.setDisable(false);
+        updateLanguage();
+        SceneFactory.preloadAll();
     }
     
     @FXML
@@ -52,25 +66,22 @@ public class LoginController {
             return;
         }
         
-        // Check tourist login
-        List<Tourist> tourists = FileHandler.loadTourists();
-        for (Tourist tourist : tourists) {
-            if (tourist.getUsername().equals(username) && tourist.getPassword().equals(password)) {
-                openDashboard(tourist);
-                return;
-            }
-        }
-        
-        // Check guide login
-        List<Guide> guides = FileHandler.loadGuides();
-        for (Guide guide : guides) {
-            if (guide.getUsername().equals(username) && guide.getPassword().equals(password)) {
-                openDashboard(guide);
-                return;
-            }
-        }
-        
-        DialogUtils.showError("Error", "Invalid username or password!");
+        // Check tourist and guide login through the credential index, off the FX thread
+        loginButton.setDisable(true);
+        AsyncService.track(loginProgress, AsyncService.supply(
+                () -> CredentialStore.authenticate(username, password),
+                user -> {
+                    loginButton.setDisable(false);
+                    if (user != null) {
+                        openDashboard(user);
+                    } else {
+                        DialogUtils.showError("Error", "Invalid username or password!");
+                    }
+                },
+                error -> {
+                    loginButton.setDisable(false);
+                    DialogUtils.showError("Error", "Login failed: " + error.getMessage());
+                }));
     }
     
     private void openDashboard(Person user) {
@@ -83,15 +94,15 @@ public class LoginController {
             // Polymorphism in action - using the same method for different user types
             switch (user.getRole()) {
                 case "Tourist":
-                    fxmlFile = "/fxml/touristDashboard.fxml";
+                    fxmlFile = SceneFactory.TOURIST_DASHBOARD;
                     title = "Journey - Tourist Dashboard";
                     break;
                 case "Guide":
-                    fxmlFile = "/fxml/guideDashboard.fxml";
+                    fxmlFile = SceneFactory.GUIDE_DASHBOARD;
                     title = "Journey - Guide Dashboard";
                     break;
                 case "Admin":
-                    fxmlFile = "/fxml/adminDashboard.fxml";
+                    fxmlFile = SceneFactory.ADMIN_DASHBOARD;
                     title = "Journey - Admin Dashboard";
                     break;
                 default:
@@ -101,6 +112,9 @@ public class LoginController {
         
             System.out.println("Loading FXML file: " + fxmlFile);
         
+            // Every dashboard scene shares this login's cached data
+            SessionContext.start(user);
+        
             // Check if resource exists
             if (getClass().getResource(fxmlFile) == null) {
                 System.err.println("FXML file not found: " + fxmlFile);
@@ -108,11 +122,12 @@ public class LoginController {
                 return;
             }
         
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlFile));
-            Scene scene = new Scene(loader.load());
+            // Usually already parsed in the background while the login screen was idle
+            SceneFactory.View view = SceneFactory.take(fxmlFile);
+            Scene scene = view.getScene();
         
             // Get the controller and set user data
-            Object controller = loader.getController();
+            Object controller = view.getController();
             System.out.println("Controller loaded: " + (controller != null ? controller.getClass().getSimpleName() : "null"));
         
             if (controller != null) {
@@ -150,8 +165,7 @@ public class LoginController {
     @FXML
     private void handleRegister() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/register.fxml"));
-            Scene scene = new Scene(loader.load());
+            Scene scene = SceneFactory.take(SceneFactory.REGISTER).getScene();
             
             // Use the new scene switching method to maintain full screen
             Main.switchScene(scene, "Himalayan Legacy - Create Account");
@@ -2,16 +2,20 @@ package com.tourism.controllers;
 
 import com.tourism.Main;
 import com.tourism.models.*;
+import com.tourism.utils.AsyncService;
+import com.tourism.utils.CredentialStore;
 import com.tourism.utils.DialogUtils;
 import com.tourism.utils.FileHandler;
 import com.tourism.utils.LanguageManager;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.UsernameFilter;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -57,6 +61,11 @@ public class RegisterController {
     @FXML private Label languagesError;
     @FXML private Label experienceError;
 
+    // Availability is looked up off the FX thread; only the answer for the latest text is kept
+    private String checkedUsername;
+    private boolean checkedUsernameTaken;
+    private String pendingUsernameCheck;
+
     // Validation patterns
     private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]{3,20}$");
     private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$");
@@ -119,6 +128,13 @@ public class RegisterController {
         addFocusValidation(languagesField, this::validateLanguages);
         addFocusValidation(experienceField, this::validateExperience);
 
+        // Live availability check while typing; the lookup itself runs in the background
+        usernameField.textProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.trim().length() >= 3) {
+                validateUsername();
+            }
+        });
+
         // Real-time validation for password match
         confirmPasswordField.textProperty().addListener((obs, oldVal, newVal) -> {
             validateConfirmPassword();
@@ -140,14 +156,28 @@ public class RegisterController {
             showError(usernameField, usernameError, "Username is required");
         } else if (!USERNAME_PATTERN.matcher(username).matches()) {
             showError(usernameField, usernameError, "3-20 chars (letters, numbers, _)");
-        } else if (isUsernameExists(username)) {
+        } else if (isUsernameTaken(username)) {
             showError(usernameField, usernameError, "Username already exists");
         } else {
             clearError(usernameField, usernameError);
+            if (!username.equals(checkedUsername)) checkUsername(username);
         }
         updateRegisterButtonState();
     }
 
+    // Answers arriving for text that has since changed are dropped
+    private void checkUsername(String username) {
+        if (username.equals(pendingUsernameCheck)) return;
+        pendingUsernameCheck = username;
+        AsyncService.supply(() -> UsernameFilter.isTaken(username), taken -> {
+            if (!username.equals(pendingUsernameCheck)) return;
+            pendingUsernameCheck = null;
+            checkedUsername = username;
+            checkedUsernameTaken = taken;
+            if (username.equals(usernameField.getText().trim())) validateUsername();
+        }, error -> pendingUsernameCheck = null);
+    }
+
     public void validatePassword() {
         String password = passwordField.getText().trim();
         if (password.isEmpty()) {
@@ -278,7 +308,7 @@ public class RegisterController {
         // Basic fields
         if (usernameField.getText().trim().isEmpty() ||
                 !USERNAME_PATTERN.matcher(usernameField.getText().trim()).matches() ||
-                isUsernameExists(usernameField.getText().trim())) {
+                !isUsernameAvailable(usernameField.getText().trim())) {
             return false;
         }
 
@@ -379,42 +409,50 @@ public class RegisterController {
             String phone = phoneField.getText().trim();
             String role = roleComboBox.getValue();
 
-            if (isUsernameExists(username)) {
+            if (isUsernameTaken(username)) {
                 DialogUtils.showError("Error", "Username already exists!");
                 return;
             }
+            Supplier<String> registration;
             if ("Tourist".equals(role)) {
                 Tourist tourist = new Tourist(username, password, fullName, email, phone,
                         nationalityField.getText().trim());
-                if (!FileHandler.saveTourist(tourist)) {
-                    DialogUtils.showError("Error", "Failed to save tourist data");
-                    return;
-                }
+                registration = () -> FileHandler.saveTourist(tourist) ? null : "Failed to save tourist data";
             } else {
                 List<String> selectedLanguages = parseLanguagesInput(languagesField.getText().trim());
                 int experience = Integer.parseInt(experienceField.getText().trim());
 
                 Guide guide = new Guide(username, password, fullName, email, phone,
                         selectedLanguages, experience);
-                if (!FileHandler.saveGuide(guide)) {
-                    DialogUtils.showError("Error", "Failed to save guide data");
-                    return;
-                }
+                registration = () -> FileHandler.saveGuide(guide) ? null : "Failed to save guide data";
             }
 
-// Verify the user was actually saved
-            boolean userExists = FileHandler.loadTourists().stream()
-                    .anyMatch(t -> t.getUsername().equals(username)) ||
-                    FileHandler.loadGuides().stream()
-                            .anyMatch(g -> g.getUsername().equals(username));
-
-            if (!userExists) {
-                DialogUtils.showError("Error", "User registration failed - data not persisted");
-                return;
-            }
-
-            DialogUtils.showInfo("Success", "Registration successful!");
-            handleBack();
+            // Save and verify on the persistence thread; only the outcome comes back to the UI
+            registerButton.setDisable(true);
+            AsyncService.supply(() -> {
+                // Checked again here: the answer shown in the form may be a moment old
+                if (UsernameFilter.isTaken(username)) {
+                    return "Username already exists!";
+                }
+                String failure = registration.get();
+                if (failure == null && !CredentialStore.contains(username)) {
+                    failure = "User registration failed - data not persisted";
+                }
+                return failure;
+            }, failure -> {
+                registerButton.setDisable(false);
+                if (failure != null) {
+                    DialogUtils.showError("Error", failure);
+                    checkedUsername = null; // look the name up again
+                    validateUsername();
+                    return;
+                }
+                DialogUtils.showInfo("Success", "Registration successful!");
+                handleBack();
+            }, error -> {
+                registerButton.setDisable(false);
+                DialogUtils.showError("Error", "Registration failed: " + error.getMessage());
+            });
         } catch (Exception e) {
             DialogUtils.showError("Error", "Registration failed: " + e.getMessage());
             e.printStackTrace();
@@ -454,17 +492,19 @@ public class RegisterController {
                 .collect(Collectors.toList());
     }
 
-    private boolean isUsernameExists(String username) {
-        return FileHandler.loadTourists().stream().anyMatch(t -> t.getUsername().equals(username)) ||
-                FileHandler.loadGuides().stream().anyMatch(g -> g.getUsername().equals(username)) ||
-                "admin".equals(username);
+    private boolean isUsernameTaken(String username) {
+        return "admin".equals(username) || (username.equals(checkedUsername) && checkedUsernameTaken);
+    }
+
+    // Known to be free: checked for exactly this text and not taken
+    private boolean isUsernameAvailable(String username) {
+        return !"admin".equals(username) && username.equals(checkedUsername) && !checkedUsernameTaken;
     }
 
     @FXML
     private void handleBack() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
-            Scene loginScene = new Scene(loader.load());
+            Scene loginScene = SceneFactory.take(SceneFactory.LOGIN).getScene();
             Main.switchScene(loginScene, "Himalayan Legacy - Login");
         } catch (Exception e) {
             DialogUtils.showError("Error", "Failed to load login screen: " + e.getMessage());
@@ -0,0 +1,772 @@
+package com.tourism.controllers;
+
+import com.tourism.Main;
+import com.tourism.events.DomainEvent;
+import com.tourism.events.EventBus;
+import com.tourism.models.*;
+import com.tourism.services.BookingService;
+import com.tourism.services.PricingService;
+import com.tourism.services.Waitlist;
+import com.tourism.utils.AsyncService;
+import com.tourism.utils.AttractionIndex;
+import com.tourism.utils.DialogUtils;
+import com.tourism.utils.GuideIndex;
+import com.tourism.utils.ImageService;
+import com.tourism.utils.LanguageManager;
+import com.tourism.utils.QuoteService;
+import com.tourism.utils.SceneFactory;
+import com.tourism.utils.SessionContext;
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class TouristDashboardController {
+    // Existing fields from FXML
+    @FXML private Label welcomeLabel;
+    @FXML private Label dashboardInfoLabel;
+    @FXML private ComboBox<Attraction> attractionComboBox;
+    @FXML private TextField attractionSearchField;
+    @FXML private ComboBox<String> difficultyFilterCombo;
+    @FXML private ComboBox<String> altitudeFilterCombo;
+    @FXML private ComboBox<String> priceFilterCombo;
+    @FXML private Label attractionFacetLabel;
+    @FXML private ComboBox<Guide> guideComboBox;
+    @FXML private ComboBox<String> guideLanguageFilter;
+    @FXML private ComboBox<String> guideSpecializationFilter;
+    @FXML private DatePicker trekDatePicker;
+    @FXML private Spinner<Integer> travelersSpinner;
+    @FXML private Label attractionPriceLabel;
+    @FXML private Label festivalDiscountLabel;
+    @FXML private Label totalPriceLabel;
+    @FXML private Label guideFeeLabel;
+    @FXML private Label waitlistLabel;
+    @FXML private Button bookButton;
+    @FXML private Button languageToggleButton;
+    @FXML private Button logoutButton;
+    @FXML private TableView<Booking> bookingsTable;
+    @FXML private TableColumn<Booking, Integer> bookingIdColumn;
+    @FXML private TableColumn<Booking, String> attractionColumn;
+    @FXML private TableColumn<Booking, String> guideColumn;
+    @FXML private TableColumn<Booking, LocalDate> dateColumn;
+    @FXML private TableColumn<Booking, String> statusColumn;
+    @FXML private TableColumn<Booking, Double> priceColumn;
+    @FXML private Button updateBookingButton;
+    @FXML private Button cancelBookingButton;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private Tourist currentUser;
+    private ObservableList<Attraction> attractions; // current search matches
+    private AttractionIndex attractionIndex;
+    private ObservableList<Guide> guides; // guides matching the language/specialization filters
+    private Map<String, Guide> guidesByUsername;
+    private ObservableList<Booking> userBookings;
+    private EventBus.Subscription bookingEvents;
+
+    private static final String ANY = "Any";
+
+    // Quotes are debounced and computed off the FX thread; only the newest one is shown
+    private static final Duration QUOTE_DEBOUNCE = Duration.millis(150);
+    private final PauseTransition quoteDelay = new PauseTransition(QUOTE_DEBOUNCE);
+    private int quoteGeneration;
+    private CompletableFuture<PricingService.Quote> pendingQuote;
+
+    public void setCurrentUser(Tourist user) {
+        this.currentUser = user;
+        initializeDashboard();
+    }
+
+    @FXML
+    private void initialize() {
+        attractions = FXCollections.observableArrayList();
+        guides = FXCollections.observableArrayList();
+        userBookings = FXCollections.observableArrayList();
+        attractionComboBox.setItems(attractions);
+        guideComboBox.setItems(guides);
+        bookingsTable.setItems(userBookings);
+
+        quoteDelay.setOnFinished(e -> requestQuote());
+
+        setupTableColumns();
+        setupEventHandlers();
+        updateLanguage();
+    }
+
+    private void initializeDashboard() {
+        welcomeLabel.setText(LanguageManager.getText("Welcome") + ", " + currentUser.getFullName() + "!");
+        dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+
+        loadAttractions();
+        loadGuides();
+        subscribeToBookingEvents();
+        loadUserBookings();
+        updatePriceCalculation();
+    }
+
+    // Status and guide changes an admin saves show up in the bookings table as they happen
+    private void subscribeToBookingEvents() {
+        unsubscribeFromBookingEvents();
+        bookingEvents = EventBus.subscribe(DomainEvent.BookingEvent.class, this::applyBookingEvent,
+                AsyncService::runOnFx, this::loadUserBookings, EventBus.DEFAULT_CAPACITY);
+    }
+
+    private void unsubscribeFromBookingEvents() {
+        if (bookingEvents != null) {
+            bookingEvents.cancel();
+            bookingEvents = null;
+        }
+    }
+
+    private void applyBookingEvent(DomainEvent.BookingEvent event) {
+        if (currentUser == null || !currentUser.getUsername().equals(event.touristUsername)) return;
+
+        for (int i = 0; i < userBookings.size(); i++) {
+            if (userBookings.get(i).getBookingId() == event.bookingId) {
+                userBookings.set(i, event.booking);
+                return;
+            }
+        }
+        userBookings.add(event.booking);
+        updateWaitlist(); // a new booking may be a promotion off the waitlist
+    }
+
+    private void setupTableColumns() {
+        bookingIdColumn.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
+        attractionColumn.setCellValueFactory(cellData ->
+                new javafx.beans.property.SimpleStringProperty(cellData.getValue().getAttraction().getName()));
+
+        // FIXED: Using getFullName() instead of getName()
+        guideColumn.setCellValueFactory(cellData -> {
+            Guide guide = cellData.getValue().getGuide();
+            String guideName = (guide != null) ? guide.getFullName() : "No Guide";
+            return new javafx.beans.property.SimpleStringProperty(guideName);
+        });
+
+        dateColumn.setCellValueFactory(new PropertyValueFactory<>("trekDate"));
+        statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        priceColumn.setCellValueFactory(new PropertyValueFactory<>("totalPrice"));
+    }
+
+    private void setupEventHandlers() {
+        attractionComboBox.setOnAction(e -> updatePriceCalculation());
+
+        // Search as you type, narrowed by the facet filters
+        difficultyFilterCombo.setItems(FXCollections.observableArrayList(ANY, "Easy", "Medium", "Hard"));
+        altitudeFilterCombo.setItems(FXCollections.observableArrayList(ANY, "High", "Low"));
+        ObservableList<String> priceBands = FXCollections.observableArrayList(ANY);
+        for (AttractionIndex.PriceBand band : AttractionIndex.PriceBand.values()) {
+            priceBands.add(band.toString());
+        }
+        priceFilterCombo.setItems(priceBands);
+        attractionSearchField.textProperty().addListener((obs, oldText, newText) -> applyAttractionSearch());
+        difficultyFilterCombo.setOnAction(e -> applyAttractionSearch());
+        altitudeFilterCombo.setOnAction(e -> applyAttractionSearch());
+        priceFilterCombo.setOnAction(e -> applyAttractionSearch());
+        guideLanguageFilter.setOnAction(e -> applyGuideFilter());
+        guideSpecializationFilter.setOnAction(e -> applyGuideFilter());
+        guideComboBox.setOnAction(e -> updatePriceCalculation());
+        trekDatePicker.setOnAction(e -> updatePriceCalculation());
+        travelersSpinner.setValueFactory(
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(1, BookingService.MAX_GROUP_SIZE, 1));
+        travelersSpinner.valueProperty().addListener((obs, oldValue, newValue) -> updatePriceCalculation());
+
+        // Custom cell factory for attraction ComboBox
+        attractionComboBox.setCellFactory(listView -> new ListCell<Attraction>() {
+            @Override
+            protected void updateItem(Attraction attraction, boolean empty) {
+                super.updateItem(attraction, empty);
+                if (empty || attraction == null) {
+                    setText(null);
+                } else {
+                    setText(attraction.getName() + " - " + attraction.getAltitudeLevel() + " Altitude");
+                }
+            }
+        });
+
+        attractionComboBox.setButtonCell(new ListCell<Attraction>() {
+            @Override
+            protected void updateItem(Attraction attraction, boolean empty) {
+                super.updateItem(attraction, empty);
+                if (empty || attraction == null) {
+                    setText(null);
+                } else {
+                    setText(attraction.getName());
+                }
+            }
+        });
+
+        // FIXED: Custom cell factory for guide ComboBox using correct methods
+        guideComboBox.setCellFactory(listView -> new ListCell<Guide>() {
+            // One avatar view per cell, reused as the cell is recycled while scrolling
+            private final ImageView avatar = new ImageView();
+
+            {
+                avatar.setFitWidth(24);
+                avatar.setFitHeight(24);
+                avatar.setPreserveRatio(true);
+            }
+
+            @Override
+            protected void updateItem(Guide guide, boolean empty) {
+                super.updateItem(guide, empty);
+                avatar.setImage(null);
+                if (empty || guide == null) {
+                    setText(null);
+                    setGraphic(null);
+                } else {
+                    // Using getFullName() and getSpecializations() (returns List<String>)
+                    String specialization = guide.getSpecializations().isEmpty() ?
+                            "General Guide" : guide.getSpecializations().get(0);
+                    setText(guide.getFullName() + " (" + specialization + ")");
+                    setGraphic(avatar);
+
+                    // Cached thumbnails arrive immediately; others only if the cell still shows this guide
+                    ImageService.loadThumbnail(guide.getProfileImagePath(), image -> {
+                        if (getItem() == guide) avatar.setImage(image);
+                    });
+                }
+            }
+        });
+
+        guideComboBox.setButtonCell(new ListCell<Guide>() {
+            @Override
+            protected void updateItem(Guide guide, boolean empty) {
+                super.updateItem(guide, empty);
+                if (empty || guide == null) {
+                    setText(null);
+                } else {
+                    // Using getFullName() instead of getName()
+                    setText(guide.getFullName());
+                }
+            }
+        });
+    }
+
+    // Builds the search index off the FX thread; queries against it are cheap enough to run per keystroke
+    private void loadAttractions() {
+        AsyncService.track(loadingIndicator, AsyncService.supply(() -> new AttractionIndex(SessionContext.getAttractions()),
+                index -> {
+                    attractionIndex = index;
+                    applyAttractionSearch();
+                },
+                error -> DialogUtils.showError("Error", "Failed to load attractions!")));
+    }
+
+    private void applyAttractionSearch() {
+        if (attractionIndex == null) return;
+
+        AttractionIndex.Result result = attractionIndex.search(
+                attractionSearchField.getText(),
+                facetValue(difficultyFilterCombo),
+                facetValue(altitudeFilterCombo),
+                selectedPriceBand(),
+                true);
+        attractions.setAll(result.matches);
+
+        attractionFacetLabel.setText(result.matches.size() + " of " + attractionIndex.size() + " attractions   |   "
+                + formatCounts(result.difficultyCounts) + "   |   "
+                + formatCounts(result.altitudeCounts) + "   |   "
+                + formatCounts(result.priceCounts));
+    }
+
+    // Bitmap lookup in the guide index rather than a scan of every guide's lists
+    private void applyGuideFilter() {
+        if (guidesByUsername == null) return;
+        guides.setAll(GuideIndex.filter(guidesByUsername,
+                facetValue(guideLanguageFilter), facetValue(guideSpecializationFilter)));
+    }
+
+    private static List<String> withAny(Collection<String> values) {
+        List<String> items = new ArrayList<>();
+        items.add(ANY);
+        items.addAll(values);
+        return items;
+    }
+
+    private static String facetValue(ComboBox<String> combo) {
+        String value = combo.getValue();
+        return value == null || ANY.equals(value) ? null : value;
+    }
+
+    private AttractionIndex.PriceBand selectedPriceBand() {
+        String value = facetValue(priceFilterCombo);
+        for (AttractionIndex.PriceBand band : AttractionIndex.PriceBand.values()) {
+            if (band.toString().equals(value)) return band;
+        }
+        return null;
+    }
+
+    private static String formatCounts(Map<?, Integer> counts) {
+        StringBuilder text = new StringBuilder();
+        counts.forEach((value, count) -> {
+            if (text.length() > 0) text.append(" · ");
+            text.append(value).append(' ').append(count);
+        });
+        return text.toString();
+    }
+
+    private void loadGuides() {
+        AsyncService.track(loadingIndicator, AsyncService.supply(() -> {
+                    GuideIndex.ensureBuilt();
+                    return SessionContext.getGuides();
+                },
+                guideList -> {
+                    guidesByUsername = new HashMap<>();
+                    for (Guide guide : guideList) {
+                        guidesByUsername.put(guide.getUsername(), guide);
+                    }
+                    guideLanguageFilter.getItems().setAll(withAny(GuideIndex.languageCounts().keySet()));
+                    guideSpecializationFilter.getItems().setAll(withAny(GuideIndex.specializationCounts().keySet()));
+                    applyGuideFilter();
+                },
+                error -> DialogUtils.showError("Error", "Failed to load guides!")));
+    }
+
+    private void loadUserBookings() {
+        String username = currentUser.getUsername();
+        AsyncService.track(loadingIndicator, AsyncService.supply(
+                () -> SessionContext.getBookingsForTourist(username),
+                bookingList -> {
+                    userBookings.setAll(bookingList);
+                    for (Booking booking : bookingList) {
+                        currentUser.addBooking(booking);
+                    }
+                    dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+                },
+                error -> DialogUtils.showError("Error", "Failed to load your bookings!")));
+        updateWaitlist();
+    }
+
+    // A fully booked date can still be requested: the tourist is booked automatically when a place frees up
+    private void offerWaitlist(Attraction attraction, LocalDate date) {
+        if (!DialogUtils.showConfirmation("Fully Booked", attraction.getName() + " is fully booked.\n"
+                + "Join the waitlist for " + date + "? You will be booked automatically if a place frees up.")) {
+            return;
+        }
+        String username = currentUser.getUsername();
+        WaitlistEntry.Tier tier = WaitlistEntry.Tier.of(currentUser.getBookings());
+        AsyncService.track(loadingIndicator, AsyncService.supply(
+                () -> {
+                    WaitlistEntry entry = Waitlist.join(username, tier, attraction, date);
+                    return entry == null ? 0 : Waitlist.position(entry);
+                },
+                position -> {
+                    if (position == 0) {
+                        DialogUtils.showError("Error", "Failed to join the waitlist");
+                        return;
+                    }
+                    DialogUtils.showInfo("Waitlisted", "You are #" + position + " on the waitlist for "
+                            + attraction.getName() + " on " + date + ".");
+                    updateWaitlist();
+                },
+                error -> DialogUtils.showError("Error", error.getMessage())));
+    }
+    
+    private void updateWaitlist() {
+        String username = currentUser.getUsername();
+        AsyncService.supply(() -> {
+                    List<String> lines = new ArrayList<>();
+                    for (WaitlistEntry entry : Waitlist.entriesFor(username)) {
+                        lines.add(entry.getAttractionName() + " on " + entry.getTrekDate()
+                                + " (#" + Waitlist.position(entry) + ")");
+                    }
+                    return lines;
+                },
+                lines -> waitlistLabel.setText(lines.isEmpty() ? "" : "On the waitlist for: " + String.join(", ", lines)),
+                error -> System.err.println("Error loading waitlist: " + error.getMessage()));
+    }
+
+    // Restarts the debounce; a burst of selection changes produces one quote
+    private void updatePriceCalculation() {
+        quoteGeneration++;
+        quoteDelay.playFromStart();
+    }
+
+    private void requestQuote() {
+        Attraction selectedAttraction = attractionComboBox.getValue();
+        Guide selectedGuide = guideComboBox.getValue();
+        LocalDate selectedDate = trekDatePicker.getValue();
+
+        // Anything still queued is for an older selection
+        if (pendingQuote != null) {
+            pendingQuote.cancel(false);
+            pendingQuote = null;
+        }
+
+        if (selectedAttraction == null || selectedDate == null) {
+            showQuote(null);
+            return;
+        }
+
+        int generation = quoteGeneration;
+        CompletableFuture<PricingService.Quote> quote =
+                QuoteService.quoteAsync(selectedAttraction, selectedGuide, selectedDate);
+        pendingQuote = quote;
+        quote.whenComplete((result, error) -> AsyncService.runOnFx(() -> {
+            // Only the latest request may touch the labels
+            if (generation != quoteGeneration || quote.isCancelled()) return;
+            pendingQuote = null;
+            if (error != null) {
+                System.err.println("Error calculating quote: " + error.getMessage());
+                showQuote(null);
+                return;
+            }
+            showQuote(result);
+        }));
+    }
+
+    private void showQuote(PricingService.Quote quote) {
+        if (quote != null) {
+            // Update price labels
+            attractionPriceLabel.setText(quote.basePriceText);
+            int travelers = travelersSpinner.getValue();
+            if (travelers > 1) {
+                PricingService.GroupQuote group = PricingService.groupQuote(quote, travelers);
+                totalPriceLabel.setText(group.totalPriceText);
+                guideFeeLabel.setText("(" + group.detailText + ")");
+            } else {
+                totalPriceLabel.setText(quote.totalPriceText);
+                guideFeeLabel.setText(quote.guideFeeText);
+            }
+
+            // Update festival discount label
+            if (quote.festivalSeason) {
+                festivalDiscountLabel.setText("20% Festival Discount Applied!");
+                festivalDiscountLabel.setVisible(true);
+            } else {
+                festivalDiscountLabel.setVisible(false);
+            }
+        } else {
+            attractionPriceLabel.setText("$0.00");
+            totalPriceLabel.setText("$0.00");
+            guideFeeLabel.setText("");
+            festivalDiscountLabel.setVisible(false);
+        }
+    }
+
+    @FXML
+    private void handleBooking() {
+        Attraction selectedAttraction = attractionComboBox.getValue();
+        Guide selectedGuide = guideComboBox.getValue();
+        LocalDate selectedDate = trekDatePicker.getValue();
+
+        try {
+            BookingService.validateNewBooking(selectedAttraction, selectedGuide, selectedDate);
+        } catch (IllegalArgumentException e) {
+            if (selectedAttraction != null && !selectedAttraction.isAvailable() && selectedDate != null
+                    && !selectedDate.isBefore(LocalDate.now())) {
+                offerWaitlist(selectedAttraction, selectedDate);
+            } else {
+                DialogUtils.showError("Error", e.getMessage());
+            }
+            return;
+        }
+
+        // The attraction's own count only covers this session, so ask the bookings file how many places are left
+        int travelers = travelersSpinner.getValue();
+        AsyncService.track(loadingIndicator, AsyncService.supply(
+                () -> BookingService.storedAvailableSpots(selectedAttraction),
+                spots -> {
+                    if (spots == 0) {
+                        offerWaitlist(selectedAttraction, selectedDate);
+                    } else if (spots < travelers) {
+                        DialogUtils.showError("Error", "Only " + spots + " places are left on this attraction!");
+                    } else {
+                        placeBooking(selectedAttraction, selectedGuide, selectedDate, travelers);
+                    }
+                },
+                error -> DialogUtils.showError("Error", "Failed to check availability: " + error.getMessage())));
+    }
+
+    private void placeBooking(Attraction selectedAttraction, Guide selectedGuide, LocalDate selectedDate,
+                              int travelers) {
+        // High altitude warning
+        if (selectedAttraction.isHighAltitude()) {
+            Alert alert = DialogUtils.createAlert(Alert.AlertType.WARNING,
+                    LanguageManager.getText("High Altitude Warning"),
+                    "This trek involves high altitude. Please ensure you are physically fit and consult a doctor if you have any health concerns.");
+
+            alert.setHeaderText("High Altitude Trek Selected!");
+
+            ButtonType continueButton = new ButtonType("Continue Booking");
+            ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+            alert.getButtonTypes().setAll(continueButton, cancelButton);
+
+            if (alert.showAndWait().orElse(cancelButton) == cancelButton) {
+                return;
+            }
+        }
+
+        if (travelers > 1) {
+            bookGroup(selectedAttraction, selectedGuide, selectedDate, travelers);
+            return;
+        }
+
+        // Create booking with guide (which can be null)
+        Booking newBooking;
+        try {
+            newBooking = BookingService.createBooking(currentUser.getUsername(), selectedAttraction,
+                    selectedGuide, selectedDate);
+        } catch (IllegalArgumentException e) {
+            DialogUtils.showError("Error", e.getMessage());
+            return;
+        }
+
+        // Show festival discount popup if applicable
+        if (newBooking.isFestivalDiscountApplied()) {
+            Alert festivalAlert = DialogUtils.createAlert(Alert.AlertType.INFORMATION,
+                    LanguageManager.getText("Festival Discount Applied"),
+                    "Congratulations! You've received a 20% discount for booking during the festival season.");
+
+            festivalAlert.setHeaderText("🎉 Festival Discount!");
+            festivalAlert.showAndWait();
+        }
+
+        // Save booking in the background; the place and the guide are given back if it fails
+        AsyncService.save(loadingIndicator, () -> BookingService.save(newBooking), () -> {
+            currentUser.addBooking(newBooking);
+            // The save's BookingCreated event may have added the row already
+            if (userBookings.stream().noneMatch(b -> b.getBookingId() == newBooking.getBookingId())) {
+                userBookings.add(newBooking);
+            }
+
+            // Update dashboard
+            dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+
+            String guideInfo = selectedGuide != null ?
+                    "\nGuide: " + selectedGuide.getFullName() : "\nNo guide selected";
+
+            DialogUtils.showInfo("Success", "Booking confirmed!" +
+                    "\nBooking ID: " + newBooking.getBookingId() + guideInfo);
+
+            // Clear selection
+            attractionComboBox.setValue(null);
+            guideComboBox.setValue(null);
+            trekDatePicker.setValue(null);
+            updatePriceCalculation();
+        }, () -> BookingService.releaseBooking(newBooking), "Failed to save booking " + newBooking.getBookingId());
+    }
+
+    // Books every traveler in one write: either the whole group is confirmed or none of it is
+    private void bookGroup(Attraction attraction, Guide guide, LocalDate date, int travelers) {
+        List<Booking> group;
+        try {
+            group = BookingService.createGroupBooking(currentUser.getUsername(), attraction, guide, date, travelers);
+        } catch (IllegalArgumentException e) {
+            DialogUtils.showError("Error", e.getMessage());
+            return;
+        }
+
+        double total = group.stream().mapToDouble(Booking::getTotalPrice).sum();
+        AsyncService.save(loadingIndicator, () -> BookingService.saveGroup(group), () -> {
+            for (Booking booking : group) {
+                currentUser.addBooking(booking);
+                // The save's BookingCreated events may have added the rows already
+                if (userBookings.stream().noneMatch(b -> b.getBookingId() == booking.getBookingId())) {
+                    userBookings.add(booking);
+                }
+            }
+            dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+            DialogUtils.showInfo("Success", "Group booking confirmed for " + travelers + " travelers!"
+                    + "\nBooking IDs: " + group.get(0).getBookingId() + " to " + group.get(travelers - 1).getBookingId()
+                    + "\nTotal: $" + String.format("%.2f", total)
+                    + (guide != null ? "\nGuide: " + guide.getFullName() : "\nNo guide selected"));
+
+            attractionComboBox.setValue(null);
+            guideComboBox.setValue(null);
+            trekDatePicker.setValue(null);
+            travelersSpinner.getValueFactory().setValue(1);
+            updatePriceCalculation();
+        }, "Failed to save the group booking; no places were taken");
+    }
+
+    @FXML
+    private void handleUpdateBooking() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+
+        if (selectedBooking == null) {
+            DialogUtils.showError("Error", "Please select a booking to update!");
+            return;
+        }
+
+        if (!"Confirmed".equals(selectedBooking.getStatus())) {
+            DialogUtils.showError("Error", "Only confirmed bookings can be updated!");
+            return;
+        }
+
+        showBookingUpdateDialog(selectedBooking);
+    }
+
+    private void showBookingUpdateDialog(Booking booking) {
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Update Booking");
+        dialog.setHeaderText("Update booking details for ID: " + booking.getBookingId());
+
+        // Create form
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.setPadding(new Insets(20, 150, 10, 10));
+
+        // Date picker for new date
+        DatePicker newDatePicker = new DatePicker(booking.getTrekDate());
+
+        // Guide selection
+        ComboBox<Guide> newGuideComboBox = new ComboBox<>();
+        newGuideComboBox.setItems(guides);
+        newGuideComboBox.setValue(booking.getGuide());
+
+        // Set up guide ComboBox display
+        newGuideComboBox.setCellFactory(listView -> new ListCell<Guide>() {
+            @Override
+            protected void updateItem(Guide guide, boolean empty) {
+                super.updateItem(guide, empty);
+                if (empty || guide == null) {
+                    setText(null);
+                } else {
+                    String specialization = guide.getSpecializations().isEmpty() ?
+                            "General Guide" : guide.getSpecializations().get(0);
+                    setText(guide.getFullName() + " (" + specialization + ")");
+                }
+            }
+        });
+
+        newGuideComboBox.setButtonCell(new ListCell<Guide>() {
+            @Override
+            protected void updateItem(Guide guide, boolean empty) {
+                super.updateItem(guide, empty);
+                if (empty || guide == null) {
+                    setText("No Guide");
+                } else {
+                    setText(guide.getFullName());
+                }
+            }
+        });
+
+        grid.add(new Label("New Date:"), 0, 0);
+        grid.add(newDatePicker, 1, 0);
+        grid.add(new Label("Guide:"), 0, 1);
+        grid.add(newGuideComboBox, 1, 1);
+
+        dialog.getDialogPane().setContent(grid);
+
+        ButtonType updateButtonType = new ButtonType("Update", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(updateButtonType, ButtonType.CANCEL);
+
+        dialog.showAndWait().ifPresent(result -> {
+            if (result == updateButtonType) {
+                processBookingUpdate(booking, newDatePicker.getValue(), newGuideComboBox.getValue());
+            }
+        });
+    }
+
+    private void processBookingUpdate(Booking booking, LocalDate newDate, Guide newGuide) {
+        LocalDate oldDate = booking.getTrekDate();
+        Guide oldGuide = booking.getGuide();
+        double oldPrice = booking.getTotalPrice();
+        boolean oldDiscount = booking.isFestivalDiscountApplied();
+
+        // Moves the booking between guides and requotes the price
+        try {
+            BookingService.updateBooking(booking, newDate, newGuide);
+        } catch (IllegalArgumentException e) {
+            DialogUtils.showError("Error", e.getMessage());
+            return;
+        }
+
+        // Save updated booking in the background; a failed save puts the old date, guide and price back
+        AsyncService.save(loadingIndicator, () -> BookingService.save(booking), () -> {
+            bookingsTable.refresh();
+
+            String guideInfo = newGuide != null ?
+                    "\nNew Guide: " + newGuide.getFullName() : "\nNo guide assigned";
+
+            DialogUtils.showInfo("Success", "Booking updated successfully!" + guideInfo);
+        }, () -> {
+            BookingService.restoreBooking(booking, oldDate, oldGuide, oldPrice, oldDiscount);
+            bookingsTable.refresh();
+        }, "Failed to save booking update");
+    }
+
+    @FXML
+    private void handleCancelBooking() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+
+        if (selectedBooking == null) {
+            DialogUtils.showError("Error", "Please select a booking to cancel!");
+            return;
+        }
+
+        if ("Cancelled".equals(selectedBooking.getStatus())) {
+            DialogUtils.showError("Error", "This booking is already cancelled!");
+            return;
+        }
+
+        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmAlert.setTitle("Cancel Booking");
+        confirmAlert.setHeaderText("Are you sure you want to cancel this booking?");
+        confirmAlert.setContentText("Booking ID: " + selectedBooking.getBookingId() +
+                "\nAttraction: " + selectedBooking.getAttraction().getName());
+
+        confirmAlert.showAndWait().ifPresent(result -> {
+            if (result == ButtonType.OK) {
+                String previousStatus = selectedBooking.getStatus();
+                BookingService.cancelBooking(selectedBooking);
+                AsyncService.save(loadingIndicator, () -> BookingService.save(selectedBooking), () -> {
+                    // Update dashboard
+                    dashboardInfoLabel.setText(currentUser.getDashboardInfo());
+
+                    // Refresh table
+                    bookingsTable.refresh();
+
+                    DialogUtils.showInfo("Success", "Booking cancelled successfully!");
+                }, () -> {
+                    BookingService.restoreCancelled(selectedBooking, previousStatus);
+                    bookingsTable.refresh();
+                }, "Failed to save cancellation");
+            }
+        });
+    }
+
+    @FXML
+    private void toggleLanguage() {
+        LanguageManager.toggleLanguage();
+        updateLanguage();
+        welcomeLabel.setText(LanguageManager.getText("Welcome") + ", " + currentUser.getFullName() + "!");
+    }
+
+    @FXML
+    private void handleLogout() {
+        unsubscribeFromBookingEvents();
+        SessionContext.end();
+        try {
+            Scene scene = SceneFactory.take(SceneFactory.LOGIN).getScene();
+            Main.switchScene(scene, "Journey - Nepal Tourism System");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void updateLanguage() {
+        bookButton.setText(LanguageManager.getText("Book Now"));
+        updateBookingButton.setText(LanguageManager.getText("Update"));
+        cancelBookingButton.setText(LanguageManager.getText("Cancel"));
+        logoutButton.setText(LanguageManager.getText("Logout"));
+        languageToggleButton.setText(LanguageManager.getCurrentLanguage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.tourism.utils;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs persistence work off the JavaFX Application Thread.
+ *
+ * Work started from the dashboards runs on one daemon worker, so their saves
+ * reach FileHandler in the order they were made. It is not the only thread
+ * touching the data files (startup, logins and the background services use
+ * FileHandler too); FileHandler's own file locks keep those writes safe.
+ * Results are handed back to the FX thread in coalesced batches: many
+ * completions arriving together cost a single Platform.runLater pulse.
+ */
+public class AsyncService {
+    private static final String PROGRESS_KEY = "async.pending";
+
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "persistence-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Queue<Runnable> fxQueue = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, IO);
+    }
+
+    public static CompletableFuture<Void> run(Runnable work) {
+        return CompletableFuture.runAsync(work, IO);
+    }
+
+    /**
+     * Runs work on the persistence thread and delivers the outcome on the FX
+     * thread. Failures are logged and passed to onError.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work, Consumer<T> onSuccess,
+                                                   Consumer<Throwable> onError) {
+        CompletableFuture<T> future = supply(work);
+        future.whenComplete((result, error) -> runOnFx(() -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                System.err.println("Background task failed: " + cause.getMessage());
+                if (onError != null) onError.accept(cause);
+            } else if (onSuccess != null) {
+                onSuccess.accept(result);
+            }
+        }));
+        return future;
+    }
+
+    public static CompletableFuture<Void> run(Runnable work, Runnable onSuccess, Consumer<Throwable> onError) {
+        return supply(() -> {
+            work.run();
+            return null;
+        }, ignored -> {
+            if (onSuccess != null) onSuccess.run();
+        }, onError);
+    }
+
+    /**
+     * Runs a FileHandler save in the background with the indicator shown.
+     * onSaved runs on the FX thread after a successful write; a failed write
+     * shows failureMessage.
+     */
+    public static CompletableFuture<Boolean> save(Node indicator, Supplier<Boolean> save,
+                                                  Runnable onSaved, String failureMessage) {
+        return save(indicator, save, onSaved, null, failureMessage);
+    }
+
+    /**
+     * As above; onFailed also runs on the FX thread when the write fails or
+     * conflicts, before the error is shown, to undo in-memory changes made
+     * ahead of the save.
+     */
+    public static CompletableFuture<Boolean> save(Node indicator, Supplier<Boolean> save,
+                                                  Runnable onSaved, Runnable onFailed, String failureMessage) {
+        return track(indicator, supply(save, saved -> {
+            if (Boolean.TRUE.equals(saved)) {
+                if (onSaved != null) onSaved.run();
+            } else {
+                if (onFailed != null) onFailed.run();
+                DialogUtils.showError("Error", failureMessage);
+            }
+        }, error -> {
+            if (onFailed != null) onFailed.run();
+            DialogUtils.showError("Error", failureMessage + ": " + error.getMessage());
+        }));
+    }
+
+    // Queues a UI update; updates queued before the next pulse run together
+    public static void runOnFx(Runnable update) {
+        fxQueue.add(update);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(AsyncService::drainFxQueue);
+        }
+    }
+
+    private static void drainFxQueue() {
+        drainScheduled.set(false);
+        Runnable update;
+        while ((update = fxQueue.poll()) != null) {
+            try {
+                update.run();
+            } catch (Exception e) {
+                System.err.println("Error applying UI update: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Shows the indicator until the future completes. Overlapping tasks on
+     * the same indicator are counted, so it hides only after the last one.
+     * Must be called on the FX thread.
+     */
+    public static <T> CompletableFuture<T> track(Node indicator, CompletableFuture<T> future) {
+        if (indicator == null) return future;
+
+        adjustPending(indicator, 1);
+        future.whenComplete((result, error) -> runOnFx(() -> adjustPending(indicator, -1)));
+        return future;
+    }
+
+    private static void adjustPending(Node indicator, int delta) {
+        Object current = indicator.getProperties().get(PROGRESS_KEY);
+        int pending = Math.max(0, (current instanceof Integer ? (Integer) current : 0) + delta);
+        indicator.getProperties().put(PROGRESS_KEY, pending);
+        indicator.setVisible(pending > 0);
+    }
+}
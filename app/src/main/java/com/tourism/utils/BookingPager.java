@@ -0,0 +1,265 @@
+package com.tourism.utils;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.Guide;
+import com.tourism.utils.BookingKeyIndex.SortKey;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keyset-paged data source for a bookings TableView.
+ *
+ * Pages are fetched through BookingKeyIndex as the user scrolls, with the
+ * page after the current tail prefetched in the background. At most
+ * maxPages pages are held in the table; scrolling further drops pages from
+ * the opposite end and fetches them again if the user scrolls back.
+ * Clicking the ID or date column re-pages the whole store in that order.
+ */
+public class BookingPager {
+    private static final double EDGE_THRESHOLD = 0.1;
+
+    private final TableView<Booking> table;
+    private final Node indicator;
+    private final int pageSize;
+    private final int maxPages;
+    private final TableColumn<Booking, ?> idColumn;
+    private final TableColumn<Booking, ?> dateColumn;
+
+    private final ObservableList<Booking> window = FXCollections.observableArrayList();
+    private final Deque<Integer> pageSizes = new ArrayDeque<>();
+
+    private SortKey sortKey = SortKey.BOOKING_ID;
+    private boolean ascending = true;
+    private int generation;
+    private boolean loadingNext;
+    private boolean loadingPrevious;
+    private boolean reachedEnd;
+    private boolean droppedHead;
+
+    private Long prefetchCursor;
+    private CompletableFuture<List<Booking>> prefetch;
+
+    public BookingPager(TableView<Booking> table, Node indicator, int pageSize, int maxPages,
+                        TableColumn<Booking, ?> idColumn, TableColumn<Booking, ?> dateColumn) {
+        this.table = table;
+        this.indicator = indicator;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.idColumn = idColumn;
+        this.dateColumn = dateColumn;
+
+        table.setItems(window);
+        table.setSortPolicy(t -> {
+            applySort();
+            return true;
+        });
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> Platform.runLater(this::attachScrollListener));
+    }
+
+    public ObservableList<Booking> getItems() {
+        return window;
+    }
+
+    // Drops the window and starts again from the first page of the current order
+    public void refresh() {
+        reset(sortKey, ascending);
+    }
+
+    // Applies a saved booking: replaces its row if loaded, or appends it when the tail of the
+    // current order is in view and it sorts last (as new booking ids do)
+    public void upsert(Booking booking) {
+        for (int i = 0; i < window.size(); i++) {
+            if (window.get(i).getBookingId() == booking.getBookingId()) {
+                window.set(i, booking);
+                return;
+            }
+        }
+        if (!reachedEnd || loadingNext) return;
+
+        Long tail = tailCursor();
+        long key = BookingKeyIndex.keyOf(booking, sortKey);
+        if (tail == null || (ascending ? key > tail : key < tail)) {
+            window.add(booking);
+            pageSizes.addLast(pageSizes.isEmpty() ? 1 : pageSizes.removeLast() + 1);
+        }
+    }
+
+    public void reset(SortKey newSortKey, boolean newAscending) {
+        sortKey = newSortKey;
+        ascending = newAscending;
+        generation++;
+        window.clear();
+        pageSizes.clear();
+        loadingNext = false;
+        loadingPrevious = false;
+        reachedEnd = false;
+        droppedHead = false;
+        prefetch = null;
+        prefetchCursor = null;
+        loadNext();
+    }
+
+    private void applySort() {
+        if (table.getSortOrder().isEmpty()) {
+            return;
+        }
+        TableColumn<Booking, ?> column = table.getSortOrder().get(0);
+        boolean columnAscending = column.getSortType() == TableColumn.SortType.ASCENDING;
+
+        if (column == idColumn || column == dateColumn) {
+            SortKey requested = column == dateColumn ? SortKey.TREK_DATE : SortKey.BOOKING_ID;
+            if (requested != sortKey || columnAscending != ascending) {
+                reset(requested, columnAscending);
+            }
+        } else {
+            // Other columns have no store index; order the rows currently in view
+            @SuppressWarnings("unchecked")
+            TableColumn<Booking, Comparable<Object>> sortable = (TableColumn<Booking, Comparable<Object>>) column;
+            FXCollections.sort(window, (a, b) -> {
+                int result = compareNullable(sortable.getCellData(a), sortable.getCellData(b));
+                return columnAscending ? result : -result;
+            });
+        }
+    }
+
+    private static int compareNullable(Comparable<Object> a, Comparable<Object> b) {
+        if (a == null) return b == null ? 0 : -1;
+        if (b == null) return 1;
+        return a.compareTo(b);
+    }
+
+    private void attachScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar bar = (ScrollBar) node;
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    double span = bar.getMax() - bar.getMin();
+                    if (span <= 0) return;
+                    double position = (newValue.doubleValue() - bar.getMin()) / span;
+                    if (position >= 1 - EDGE_THRESHOLD) {
+                        loadNext();
+                    } else if (position <= EDGE_THRESHOLD) {
+                        loadPrevious();
+                    }
+                });
+                return;
+            }
+        }
+    }
+
+    private Long tailCursor() {
+        return window.isEmpty() ? null : BookingKeyIndex.keyOf(window.get(window.size() - 1), sortKey);
+    }
+
+    private Long headCursor() {
+        return window.isEmpty() ? null : BookingKeyIndex.keyOf(window.get(0), sortKey);
+    }
+
+    private void loadNext() {
+        if (loadingNext || reachedEnd) return;
+        loadingNext = true;
+
+        int requestGeneration = generation;
+        Long cursor = tailCursor();
+        CompletableFuture<List<Booking>> source = (prefetch != null && equalsCursor(prefetchCursor, cursor))
+                ? prefetch : fetch(cursor, ascending);
+        prefetch = null;
+
+        AsyncService.track(indicator, source).whenComplete((page, error) -> AsyncService.runOnFx(() -> {
+            if (requestGeneration != generation) return;
+            loadingNext = false;
+            if (error != null) {
+                System.err.println("Error loading bookings page: " + error.getMessage());
+                return;
+            }
+            if (page.size() < pageSize) {
+                reachedEnd = true;
+            }
+            if (page.isEmpty()) return;
+
+            window.addAll(page);
+            pageSizes.addLast(page.size());
+            trimHead();
+
+            // Start fetching the following page while the user reads this one
+            if (!reachedEnd) {
+                prefetchCursor = tailCursor();
+                prefetch = fetch(prefetchCursor, ascending);
+            }
+        }));
+    }
+
+    private void loadPrevious() {
+        if (loadingPrevious || !droppedHead || window.isEmpty()) return;
+        loadingPrevious = true;
+
+        int requestGeneration = generation;
+        CompletableFuture<List<Booking>> source = fetch(headCursor(), !ascending);
+
+        AsyncService.track(indicator, source).whenComplete((page, error) -> AsyncService.runOnFx(() -> {
+            if (requestGeneration != generation) return;
+            loadingPrevious = false;
+            if (error != null) {
+                System.err.println("Error loading bookings page: " + error.getMessage());
+                return;
+            }
+            if (page.size() < pageSize) {
+                droppedHead = false;
+            }
+            if (page.isEmpty()) return;
+
+            List<Booking> ordered = new ArrayList<>(page);
+            Collections.reverse(ordered);
+            window.addAll(0, ordered);
+            pageSizes.addFirst(ordered.size());
+            trimTail();
+            table.scrollTo(ordered.size());
+        }));
+    }
+
+    private void trimHead() {
+        while (pageSizes.size() > maxPages) {
+            int dropped = pageSizes.removeFirst();
+            window.remove(0, dropped);
+            droppedHead = true;
+            table.scrollTo(Math.max(0, window.size() - pageSizes.peekLast() - 1));
+        }
+    }
+
+    private void trimTail() {
+        while (pageSizes.size() > maxPages) {
+            int dropped = pageSizes.removeLast();
+            window.remove(window.size() - dropped, window.size());
+            reachedEnd = false;
+            prefetch = null;
+        }
+    }
+
+    private CompletableFuture<List<Booking>> fetch(Long cursor, boolean forward) {
+        SortKey key = sortKey;
+        return AsyncService.supply(() -> {
+            List<Attraction> attractions = SessionContext.getAttractions();
+            List<Guide> guides = SessionContext.getGuides();
+            long[] offsets = BookingKeyIndex.page(key, cursor, forward, pageSize);
+            return FileHandler.loadBookingsAt(offsets, attractions, guides);
+        });
+    }
+
+    private static boolean equalsCursor(Long a, Long b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
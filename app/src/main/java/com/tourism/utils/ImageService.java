@@ -0,0 +1,219 @@
+package com.tourism.utils;
+
+import javafx.scene.image.Image;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Profile image store and thumbnail cache.
+ *
+ * Uploads are copied into data/images so the stored path survives the
+ * original file moving. Each image gets one fixed-size PNG thumbnail,
+ * generated on a background thread the first time it is needed and kept on
+ * disk under data/images/thumbs. Decoded thumbnails are held in a memory LRU
+ * bounded by pixel bytes; the disk cache is bounded by file size and drops
+ * the least recently used thumbnails first. The full-size original is never
+ * decoded on the FX thread.
+ */
+public class ImageService {
+    private static final String STORE_DIR = "data/images/";
+    private static final String THUMB_DIR = STORE_DIR + "thumbs/";
+    public static final int THUMBNAIL_SIZE = 128;
+
+    // Background-loaded images report 0x0 until decoded, so budget each by its requested size
+    private static final long THUMBNAIL_BYTES = (long) THUMBNAIL_SIZE * THUMBNAIL_SIZE * 4;
+    private static final long MEMORY_CACHE_BYTES = 16L * 1024 * 1024;
+    private static final long DISK_CACHE_BYTES = 32L * 1024 * 1024;
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-worker");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Access-ordered, so iteration starts at the least recently used thumbnail
+    private static final LinkedHashMap<String, Image> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static long memoryBytes;
+
+    // Thumbnails being generated, so concurrent requests share one job
+    private static final Map<String, CompletableFuture<File>> pending = new HashMap<>();
+
+    /**
+     * Copies an uploaded image into the managed store and starts building its
+     * thumbnail. Returns the stored path to persist on the owner's record.
+     */
+    public static String importImage(String owner, File source) throws IOException {
+        File storeDir = new File(STORE_DIR);
+        if (!storeDir.exists()) {
+            storeDir.mkdirs();
+        }
+
+        String name = source.getName();
+        String extension = name.contains(".") ? name.substring(name.lastIndexOf('.')).toLowerCase() : ".img";
+        File target = new File(storeDir, owner.replaceAll("[^A-Za-z0-9_-]", "_") + "-"
+                + System.currentTimeMillis() + extension);
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        String storedPath = STORE_DIR + target.getName();
+        thumbnailFile(storedPath);
+        return storedPath;
+    }
+
+    /**
+     * Delivers the thumbnail for an image path on the FX thread. A cached
+     * thumbnail is delivered immediately; otherwise it is generated in the
+     * background first. Nothing is delivered if the image cannot be read.
+     * Must be called on the FX thread.
+     */
+    public static void loadThumbnail(String imagePath, Consumer<Image> onLoaded) {
+        if (imagePath == null || imagePath.isEmpty()) return;
+
+        String key = cacheKey(imagePath);
+        Image cached = fromMemory(key);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return;
+        }
+
+        thumbnailFile(imagePath).whenComplete((thumbnail, error) -> AsyncService.runOnFx(() -> {
+            if (error != null || thumbnail == null) return;
+            Image image = fromMemory(key);
+            if (image == null) {
+                // Decoded off the FX thread; the ImageView shows it once ready
+                image = new Image(thumbnail.toURI().toString(), THUMBNAIL_SIZE, THUMBNAIL_SIZE, true, true, true);
+                toMemory(key, image);
+            }
+            onLoaded.accept(image);
+        }));
+    }
+
+    // Existing thumbnail on disk, or a job that creates it
+    private static synchronized CompletableFuture<File> thumbnailFile(String imagePath) {
+        String key = cacheKey(imagePath);
+        File thumbnail = new File(THUMB_DIR, key + ".png");
+        if (thumbnail.exists()) {
+            thumbnail.setLastModified(System.currentTimeMillis());
+            return CompletableFuture.completedFuture(thumbnail);
+        }
+
+        CompletableFuture<File> job = pending.get(key);
+        if (job == null) {
+            job = CompletableFuture.supplyAsync(() -> generateThumbnail(new File(imagePath), thumbnail), WORKER);
+            pending.put(key, job);
+            job.whenComplete((file, error) -> {
+                synchronized (ImageService.class) {
+                    pending.remove(key);
+                }
+            });
+        }
+        return job;
+    }
+
+    private static File generateThumbnail(File source, File thumbnail) {
+        try {
+            BufferedImage original = ImageIO.read(source);
+            if (original == null) {
+                System.err.println("Unsupported image format: " + source);
+                return null;
+            }
+
+            double scale = Math.min(1.0, (double) THUMBNAIL_SIZE / Math.max(original.getWidth(), original.getHeight()));
+            int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(original.getHeight() * scale));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+            graphics.dispose();
+
+            thumbnail.getParentFile().mkdirs();
+            File partial = new File(thumbnail.getPath() + ".tmp");
+            ImageIO.write(scaled, "png", partial);
+            Files.move(partial.toPath(), thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            trimDiskCache();
+            return thumbnail;
+        } catch (IOException e) {
+            System.err.println("Error creating thumbnail for " + source + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Deletes least recently used thumbnails until the directory fits the budget
+    private static void trimDiskCache() {
+        File[] files = new File(THUMB_DIR).listFiles((dir, name) -> name.endsWith(".png"));
+        if (files == null) return;
+
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= DISK_CACHE_BYTES) return;
+
+        List<File> oldestFirst = new ArrayList<>(Arrays.asList(files));
+        oldestFirst.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : oldestFirst) {
+            if (total <= DISK_CACHE_BYTES) break;
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private static synchronized Image fromMemory(String key) {
+        return memoryCache.get(key);
+    }
+
+    private static synchronized void toMemory(String key, Image image) {
+        if (memoryCache.put(key, image) == null) {
+            memoryBytes += THUMBNAIL_BYTES;
+        }
+
+        Iterator<Image> eldest = memoryCache.values().iterator();
+        while (memoryBytes > MEMORY_CACHE_BYTES && memoryCache.size() > 1) {
+            eldest.next();
+            eldest.remove();
+            memoryBytes -= THUMBNAIL_BYTES;
+        }
+    }
+
+    // Stable file name for a source path
+    private static String cacheKey(String imagePath) {
+        try {
+            String canonical = new File(imagePath).getAbsolutePath();
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            return Integer.toHexString(imagePath.hashCode());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tourism.utils;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Guide;
+import com.tourism.services.PricingService;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Price quotes for the booking form.
+ *
+ * Quotes are computed on their own worker so they never queue behind disk
+ * writes. A quote future that is cancelled before the worker reaches it is
+ * skipped entirely, so callers can cancel superseded requests cheaply.
+ */
+public class QuoteService {
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "quote-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static CompletableFuture<PricingService.Quote> quoteAsync(Attraction attraction, Guide guide,
+                                                                     LocalDate trekDate) {
+        return CompletableFuture.supplyAsync(() -> PricingService.quote(attraction, guide, trekDate), WORKER);
+    }
+}
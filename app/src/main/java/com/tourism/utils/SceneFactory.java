@@ -0,0 +1,143 @@
+package com.tourism.utils;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds scene graphs from FXML, ahead of time where possible.
+ *
+ * While the login screen is idle the dashboards are parsed and instantiated
+ * on a background thread, which JavaFX allows for nodes that are not yet
+ * attached to a shown scene. Dashboards are bound to one user, so each
+ * preloaded instance is handed out once; the login view is stateless enough
+ * to be reset and reused.
+ */
+public class SceneFactory {
+    public static final String LOGIN = "/fxml/login.fxml";
+    public static final String REGISTER = "/fxml/register.fxml";
+    public static final String TOURIST_DASHBOARD = "/fxml/touristDashboard.fxml";
+    public static final String GUIDE_DASHBOARD = "/fxml/guideDashboard.fxml";
+    public static final String ADMIN_DASHBOARD = "/fxml/adminDashboard.fxml";
+
+    // Views whose controller can be reset and shown again instead of being rebuilt
+    private static final Set<String> REUSABLE = Set.of(LOGIN);
+
+    /** Controllers of reusable views implement this to clear per-visit state. */
+    public interface Resettable {
+        void reset();
+    }
+
+    public static class View {
+        private final Parent root;
+        private final Object controller;
+        private final boolean preloaded;
+        private Scene scene;
+
+        View(Parent root, Object controller, boolean preloaded) {
+            this.root = root;
+            this.controller = controller;
+            this.preloaded = preloaded;
+        }
+
+        public Parent getRoot() { return root; }
+
+        @SuppressWarnings("unchecked")
+        public <T> T getController() { return (T) controller; }
+
+        public boolean isPreloaded() { return preloaded; }
+
+        // Scenes must be created on the FX thread, so this is deferred until the view is shown
+        public Scene getScene() {
+            if (scene == null) {
+                scene = new Scene(root);
+            }
+            return scene;
+        }
+
+        public Scene getScene(double width, double height) {
+            if (scene == null) {
+                scene = new Scene(root, width, height);
+            }
+            return scene;
+        }
+    }
+
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fxml-preloader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private static final Map<String, Future<View>> preloaded = new ConcurrentHashMap<>();
+    private static final Map<String, View> reusable = new ConcurrentHashMap<>();
+
+    // Starts building the view in the background unless one is already waiting
+    public static void preload(String fxml) {
+        preloaded.computeIfAbsent(fxml, path -> PRELOADER.submit(() -> load(path, true)));
+    }
+
+    // Everything reachable from the login screen
+    public static void preloadAll() {
+        preload(TOURIST_DASHBOARD);
+        preload(GUIDE_DASHBOARD);
+        preload(ADMIN_DASHBOARD);
+        preload(REGISTER);
+    }
+
+    /**
+     * Returns a ready view for the FXML file. Uses the preloaded instance if
+     * one exists (waiting for it if it is still being built), otherwise loads
+     * synchronously. Must be called on the FX thread.
+     */
+    public static View take(String fxml) throws IOException {
+        if (REUSABLE.contains(fxml)) {
+            View cached = reusable.get(fxml);
+            if (cached != null) {
+                if (cached.controller instanceof Resettable) {
+                    ((Resettable) cached.controller).reset();
+                }
+                return cached;
+            }
+        }
+
+        View view = null;
+        Future<View> pending = preloaded.remove(fxml);
+        if (pending != null) {
+            try {
+                view = pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("Preloading " + fxml + " failed: " + e.getCause().getMessage());
+            }
+        }
+        if (view == null) {
+            view = load(fxml, false);
+        }
+
+        if (REUSABLE.contains(fxml)) {
+            reusable.put(fxml, view);
+        }
+        return view;
+    }
+
+    private static View load(String fxml, boolean background) throws IOException {
+        if (SceneFactory.class.getResource(fxml) == null) {
+            throw new IOException("FXML file not found: " + fxml);
+        }
+        FXMLLoader loader = new FXMLLoader(SceneFactory.class.getResource(fxml));
+        Parent root = loader.load();
+        return new View(root, loader.getController(), background);
+    }
+}
@@ -0,0 +1,136 @@
+package com.tourism.utils;
+
+import com.tourism.models.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-login cache shared by every dashboard scene.
+ *
+ * Holds the logged-in user and the catalog and booking lists, loaded from
+ * disk at most once. A data set is dropped only when FileHandler reports that
+ * it was rewritten, so language toggles and scene switches never hit disk.
+ */
+public class SessionContext {
+    private static Person currentUser;
+    private static List<Tourist> tourists;
+    private static List<Guide> guides;
+    private static List<Attraction> attractions;
+    private static List<Booking> bookings;
+
+    static {
+        FileHandler.addChangeListener(SessionContext::invalidate);
+    }
+
+    public static synchronized void start(Person user) {
+        invalidateAll();
+        currentUser = user;
+    }
+
+    public static synchronized void end() {
+        invalidateAll();
+        currentUser = null;
+    }
+
+    public static synchronized Person getCurrentUser() {
+        return currentUser;
+    }
+
+    public static synchronized boolean isActive() {
+        return currentUser != null;
+    }
+
+    // ================= Catalog =================
+    public static synchronized List<Tourist> getTourists() {
+        if (tourists == null) {
+            tourists = FileHandler.loadTourists();
+        }
+        return new ArrayList<>(tourists);
+    }
+
+    public static synchronized List<Guide> getGuides() {
+        if (guides == null) {
+            guides = FileHandler.loadGuides();
+        }
+        return new ArrayList<>(guides);
+    }
+
+    public static synchronized Guide getGuide(String username) {
+        return getGuides().stream()
+                .filter(g -> g.getUsername().equals(username))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public static synchronized List<Attraction> getAttractions() {
+        if (attractions == null) {
+            attractions = FileHandler.loadAttractions();
+        }
+        return new ArrayList<>(attractions);
+    }
+
+    // ================= Bookings =================
+    public static synchronized List<Booking> getBookings() {
+        if (bookings == null) {
+            // Resolve against the cached catalog so booking references stay shared
+            bookings = FileHandler.loadBookings(getAttractions(), getGuides());
+        }
+        return new ArrayList<>(bookings);
+    }
+
+    public static synchronized List<Booking> getBookingsForTourist(String username) {
+        return getBookings().stream()
+                .filter(b -> b.getTouristUsername().equals(username))
+                .collect(Collectors.toList());
+    }
+
+    public static synchronized List<Booking> getBookingsForGuide(String username) {
+        return getBookings().stream()
+                .filter(b -> username.equals(b.getGuideUsername()))
+                .collect(Collectors.toList());
+    }
+
+    // Just the bookings with these ids, in the order given, read by offset rather than loading them all;
+    // a row that isn't the one asked for (the file moved under a stale offset) is left out
+    public static List<Booking> getBookings(int[] bookingIds) {
+        Set<Integer> wanted = new HashSet<>();
+        for (int bookingId : bookingIds) {
+            wanted.add(bookingId);
+        }
+        List<Booking> bookings = FileHandler.loadBookingsAt(BookingKeyIndex.offsetsOf(bookingIds),
+                getAttractions(), getGuides());
+        bookings.removeIf(booking -> !wanted.remove(booking.getBookingId()));
+        return bookings;
+    }
+
+    // ================= Invalidation =================
+    public static synchronized void invalidate(String dataSet) {
+        switch (dataSet) {
+            case FileHandler.TOURISTS:
+                tourists = null;
+                break;
+            case FileHandler.GUIDES:
+                guides = null;
+                bookings = null; // bookings hold guide references
+                break;
+            case FileHandler.ATTRACTIONS:
+                attractions = null;
+                bookings = null; // bookings hold attraction references
+                break;
+            case FileHandler.BOOKINGS:
+                bookings = null;
+                break;
+        }
+    }
+
+    public static synchronized void invalidateAll() {
+        tourists = null;
+        guides = null;
+        attractions = null;
+        bookings = null;
+    }
+}
@@ -0,0 +1,316 @@
+package com.tourism.cli;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.Guide;
+import com.tourism.server.BookingServer;
+import com.tourism.services.BookingAnalytics;
+import com.tourism.services.BookingLifecycle;
+import com.tourism.services.BookingService;
+import com.tourism.services.GuideAssignmentPlanner;
+import com.tourism.services.PricingService;
+import com.tourism.services.SeasonReview;
+import com.tourism.utils.AnalyticsAggregator;
+import com.tourism.utils.FileHandler;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point for running the booking engine without JavaFX.
+ *
+ * Usage:
+ *   stats
+ *   review [fromDate] [toDate]  (season review over the booking history, in parallel)
+ *   quote "Attraction Name" 2025-10-01 [guideUsername]
+ *   book touristUsername "Attraction Name" 2025-10-01 [guideUsername]
+ *   group touristUsername "Attraction Name" 2025-10-01 travelers [guideUsername]
+ *   assign [--dry-run]    (assigns guides to every upcoming booking without one)
+ *   lifecycle             (expires and completes bookings whose trek dates have passed)
+ *   run commands.txt      (one command per line, # for comments)
+ *   serve [port]          (starts the HTTP booking API, see BookingServer)
+ *
+ * Works on the data/ directory under the current working directory.
+ */
+public class BatchRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            printUsage();
+            System.exit(1);
+        }
+        if ("serve".equals(args[0])) {
+            BookingServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        FileHandler.initializeDataFiles();
+        long start = System.nanoTime();
+        boolean ok = execute(Arrays.asList(args));
+        System.err.printf("Finished in %.1f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+        System.exit(ok ? 0 : 1);
+    }
+
+    // Runs one command; returns false if it failed
+    private static boolean execute(List<String> command) {
+        try {
+            switch (command.get(0)) {
+                case "stats":
+                    printStats();
+                    return true;
+                case "review":
+                    printReview(command);
+                    return true;
+                case "quote":
+                    requireArgs(command, 3);
+                    printQuote(command);
+                    return true;
+                case "book":
+                    requireArgs(command, 4);
+                    return book(command);
+                case "group":
+                    requireArgs(command, 5);
+                    return bookGroup(command);
+                case "assign":
+                    return assignGuides(command.size() > 1 && "--dry-run".equals(command.get(1)));
+                case "lifecycle":
+                    return applyLifecycle();
+                case "run":
+                    requireArgs(command, 2);
+                    return runFile(command.get(1));
+                default:
+                    System.err.println("Unknown command: " + command.get(0));
+                    printUsage();
+                    return false;
+            }
+        } catch (IllegalArgumentException | FileHandler.WriteConflictException e) {
+            System.err.println(String.join(" ", command) + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void printStats() {
+        AnalyticsAggregator.Snapshot stats = AnalyticsAggregator.snapshot();
+        System.out.println("Bookings: " + stats.bookingCount);
+        System.out.println("Tourists: " + stats.touristCount);
+        System.out.printf("Gross revenue: $%.2f%n", stats.grossRevenue);
+        System.out.printf("Guide commissions: $%.2f%n", stats.guideCommissions);
+        System.out.printf("Net revenue: $%.2f%n", stats.getNetRevenue());
+        for (Map.Entry<String, Long> entry : stats.attractionCounts.entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue() + " bookings");
+        }
+    }
+
+    private static void printReview(List<String> command) {
+        LocalDate from = command.size() > 1 ? parseDate(command.get(1)) : null;
+        LocalDate to = command.size() > 2 ? parseDate(command.get(2)) : null;
+        SeasonReview review = BookingAnalytics.run(SeasonReview.between(from, to));
+
+        SeasonReview.Totals all = review.getAll();
+        System.out.println("Treks " + (from != null ? from : "start") + " to " + (to != null ? to : "end"));
+        System.out.printf("Bookings: %d, cancelled %d (%.1f%%), revenue $%.2f%n", all.getBookings(),
+                all.getCancelled(), all.getCancellationRate() * 100, all.getRevenue());
+        review.getStatusCounts().forEach((status, count) -> System.out.println("  " + status + ": " + count));
+
+        System.out.println("Festival discount impact:");
+        printSegment("discounted", review.getFestivalDiscounted());
+        printSegment("full price", review.getFullPrice());
+
+        System.out.println("Revenue per guide:");
+        review.getGuides().forEach((guide, totals) -> System.out.printf(
+                "  %s: %d bookings, revenue $%.2f, commission $%.2f%n",
+                guide, totals.getBookings(), totals.getRevenue(), totals.getGuideCommission()));
+
+        System.out.println("Cancellation rate per attraction:");
+        review.getAttractions().forEach((attraction, totals) -> System.out.printf(
+                "  %s: %.1f%% of %d%n", attraction, totals.getCancellationRate() * 100, totals.getBookings()));
+    }
+
+    private static void printSegment(String name, SeasonReview.Totals totals) {
+        System.out.printf("  %s: %d bookings, revenue $%.2f, average $%.2f, cancelled %.1f%%%n", name,
+                totals.getBookings(), totals.getRevenue(), totals.getAveragePrice(),
+                totals.getCancellationRate() * 100);
+    }
+
+    private static void printQuote(List<String> command) {
+        Attraction attraction = findAttraction(command.get(1));
+        LocalDate date = parseDate(command.get(2));
+        Guide guide = command.size() > 3 ? findGuide(command.get(3)) : null;
+
+        PricingService.Quote quote = PricingService.quote(attraction, guide, date);
+        System.out.println(attraction.getName() + " on " + date + ": " + quote.basePriceText
+                + " " + quote.guideFeeText + " = " + quote.totalPriceText
+                + (quote.festivalSeason ? " (festival discount)" : ""));
+    }
+
+    private static boolean book(List<String> command) {
+        String tourist = command.get(1);
+        Attraction attraction = findAttraction(command.get(2));
+        LocalDate date = parseDate(command.get(3));
+        Guide guide = command.size() > 4 ? findGuide(command.get(4)) : null;
+
+        Booking booking = BookingService.createBooking(tourist, attraction, guide, date);
+        if (!BookingService.save(booking)) {
+            System.err.println("Failed to save booking " + booking.getBookingId());
+            return false;
+        }
+        System.out.printf("Booked #%d for %s: %s on %s, $%.2f%n", booking.getBookingId(), tourist,
+                attraction.getName(), date, booking.getTotalPrice());
+        return true;
+    }
+
+    private static boolean bookGroup(List<String> command) {
+        String tourist = command.get(1);
+        Attraction attraction = findAttraction(command.get(2));
+        LocalDate date = parseDate(command.get(3));
+        int travelers = parseTravelers(command.get(4));
+        Guide guide = command.size() > 5 ? findGuide(command.get(5)) : null;
+
+        List<Booking> group = BookingService.createGroupBooking(tourist, attraction, guide, date, travelers);
+        if (!BookingService.saveGroup(group)) {
+            System.err.println("Failed to save group booking for " + tourist);
+            return false;
+        }
+        double total = group.stream().mapToDouble(Booking::getTotalPrice).sum();
+        System.out.printf("Booked #%d-#%d for %s: %d travelers, %s on %s, $%.2f each, $%.2f total%n",
+                group.get(0).getBookingId(), group.get(group.size() - 1).getBookingId(), tourist, travelers,
+                attraction.getName(), date, group.get(0).getTotalPrice(), total);
+        return true;
+    }
+
+    private static boolean assignGuides(boolean dryRun) {
+        GuideAssignmentPlanner.Plan plan = GuideAssignmentPlanner.plan();
+        for (GuideAssignmentPlanner.Match match : plan.matches) {
+            System.out.printf("#%d %s on %s -> %s, score %d: %s%n", match.booking.getBookingId(),
+                    match.booking.getAttraction().getName(), match.booking.getTrekDate(),
+                    match.guide.getUsername(), match.score, match.explanation);
+        }
+        System.out.printf("%d matched (average score %.1f), %d left without a guide, %d rounds%n",
+                plan.matches.size(), plan.getAverageScore(), plan.unmatched.size(), plan.rounds);
+        if (dryRun || plan.matches.isEmpty()) return true;
+        GuideAssignmentPlanner.Commit commit = GuideAssignmentPlanner.commit(plan);
+        if (!commit.saved) {
+            System.err.println("Failed to save guide assignments");
+            return false;
+        }
+        for (GuideAssignmentPlanner.Match match : commit.skipped) {
+            System.err.printf("Skipped #%d -> %s: the booking or guide changed since planning%n",
+                    match.booking.getBookingId(), match.guide.getUsername());
+        }
+        System.out.printf("%d assigned, %d skipped%n", commit.assigned.size(), commit.skipped.size());
+        return true;
+    }
+
+    private static boolean applyLifecycle() {
+        BookingLifecycle.Batch batch = BookingLifecycle.runDue();
+        if (!batch.saved) {
+            System.err.println("Failed to save booking status changes");
+            return false;
+        }
+        System.out.printf("%d expired, %d completed, %d past the cancellation deadline%n",
+                batch.expired, batch.completed, batch.windowsClosed);
+        return true;
+    }
+
+    private static boolean runFile(String path) {
+        int failures = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                List<String> command = tokenize(line);
+                if (command.isEmpty() || command.get(0).startsWith("#")) continue;
+                if (!execute(command)) {
+                    System.err.println("  at " + path + ":" + lineNumber);
+                    failures++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + path + ": " + e.getMessage());
+            return false;
+        }
+        System.err.println(lineNumber + " lines, " + failures + " failed");
+        return failures == 0;
+    }
+
+    // Splits on whitespace, keeping "double quoted" arguments together
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (inToken) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private static Attraction findAttraction(String name) {
+        return FileHandler.loadAttractions().stream()
+                .filter(a -> a.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No attraction named " + name));
+    }
+
+    private static Guide findGuide(String username) {
+        return FileHandler.loadGuides().stream()
+                .filter(g -> g.getUsername().equals(username))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No guide " + username));
+    }
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid date " + text + ", expected yyyy-mm-dd");
+        }
+    }
+
+    private static int parseTravelers(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of travelers " + text);
+        }
+    }
+
+    private static void requireArgs(List<String> command, int count) {
+        if (command.size() < count) {
+            throw new IllegalArgumentException("missing arguments");
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BatchRunner <command>");
+        System.err.println("  stats");
+        System.err.println("  review [yyyy-mm-dd] [yyyy-mm-dd]");
+        System.err.println("  quote \"Attraction Name\" yyyy-mm-dd [guideUsername]");
+        System.err.println("  book touristUsername \"Attraction Name\" yyyy-mm-dd [guideUsername]");
+        System.err.println("  group touristUsername \"Attraction Name\" yyyy-mm-dd travelers [guideUsername]");
+        System.err.println("  assign [--dry-run]");
+        System.err.println("  lifecycle");
+        System.err.println("  run commands.txt");
+        System.err.println("  serve [port]");
+    }
+}
@@ -0,0 +1,267 @@
+package com.tourism.cli;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the booking API.
+ *
+ * Usage: LoadGenerator [baseUrl] [clients] [seconds]
+ *                      [--book-percent N] [--target-rps N] [--target-p99-ms N]
+ *
+ * Each client sends its next request as soon as the previous one answers. The
+ * mix is attraction and guide listings plus quotes; with --book-percent, that
+ * share of iterations creates a booking and immediately cancels it, so capacity
+ * is left as it was. The first second is warm-up and not measured. Exits 1 if a
+ * given throughput or p99 target is missed.
+ */
+public class LoadGenerator {
+    private static final Pattern NAME = Pattern.compile("\"name\":\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern USERNAME = Pattern.compile("\"username\":\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int bookPercent;
+    private List<String> attractions;
+    private List<String> guides;
+
+    private LoadGenerator(String baseUrl, int clients, int bookPercent) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.bookPercent = bookPercent;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, clients / 4)))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        int bookPercent = 0;
+        double targetRps = 0;
+        double targetP99 = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--book-percent": bookPercent = Integer.parseInt(args[++i]); break;
+                case "--target-rps": targetRps = Double.parseDouble(args[++i]); break;
+                case "--target-p99-ms": targetP99 = Double.parseDouble(args[++i]); break;
+                default: positional.add(args[i]);
+            }
+        }
+        String baseUrl = positional.size() > 0 ? positional.get(0) : "http://localhost:8080";
+        int clients = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 32;
+        int seconds = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : 10;
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, clients, bookPercent);
+        generator.discoverCatalog();
+        Stats stats = generator.run(clients, seconds);
+        boolean met = stats.report(clients, targetRps, targetP99);
+        System.exit(met ? 0 : 1);
+    }
+
+    private void discoverCatalog() throws Exception {
+        attractions = extract(NAME, send(get("/api/attractions")).body());
+        guides = extract(USERNAME, send(get("/api/guides")).body());
+        if (attractions.isEmpty()) {
+            throw new IllegalStateException("Server at " + baseUrl + " has no attractions");
+        }
+        System.err.println("Found " + attractions.size() + " attractions and " + guides.size() + " guides");
+    }
+
+    private Stats run(int clients, int seconds) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP_NANOS;
+        long deadline = measureFrom + seconds * 1_000_000_000L;
+
+        List<Future<Stats>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> clientLoop(measureFrom, deadline)));
+        }
+        Stats total = new Stats();
+        for (Future<Stats> future : futures) {
+            total.merge(future.get());
+        }
+        pool.shutdown();
+        total.elapsedNanos = System.nanoTime() - measureFrom;
+        return total;
+    }
+
+    private Stats clientLoop(long measureFrom, long deadline) {
+        Stats stats = new Stats();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            boolean measured = now >= measureFrom;
+            if (random.nextInt(100) < bookPercent) {
+                String created = timed(stats, measured, createRequest(random));
+                Matcher id = created != null ? ID.matcher(created) : null;
+                if (id != null && id.find()) {
+                    timed(stats, measured, post("/api/bookings/" + id.group(1) + "/cancel", ""));
+                }
+            } else {
+                int pick = random.nextInt(10);
+                if (pick < 4) {
+                    timed(stats, measured, get("/api/attractions"));
+                } else if (pick < 6) {
+                    timed(stats, measured, get("/api/guides?available=true"));
+                } else {
+                    timed(stats, measured, quoteRequest(random));
+                }
+            }
+        }
+        return stats;
+    }
+
+    // Sends one request; returns the body of a 2xx response, otherwise null
+    private String timed(Stats stats, boolean measured, HttpRequest request) {
+        long begin = System.nanoTime();
+        int status;
+        String body = null;
+        try {
+            HttpResponse<String> response = send(request);
+            status = response.statusCode();
+            if (status / 100 == 2) body = response.body();
+        } catch (Exception e) {
+            status = -1;
+        }
+        if (measured) {
+            stats.record(System.nanoTime() - begin, status);
+        }
+        return body;
+    }
+
+    private HttpRequest quoteRequest(ThreadLocalRandom random) {
+        String path = "/api/quote?attraction=" + encode(pick(attractions, random))
+                + "&date=" + LocalDate.now().plusDays(random.nextInt(1, 365));
+        if (!guides.isEmpty() && random.nextBoolean()) {
+            path += "&guide=" + encode(pick(guides, random));
+        }
+        return get(path);
+    }
+
+    // Far enough ahead that the follow-up cancel is always allowed
+    private HttpRequest createRequest(ThreadLocalRandom random) {
+        String body = "{\"tourist\":\"loadtest-" + random.nextInt(1000) + "\","
+                + "\"attraction\":\"" + pick(attractions, random).replace("\"", "\\\"") + "\","
+                + "\"date\":\"" + LocalDate.now().plusDays(random.nextInt(30, 365)) + "\"}";
+        return post("/api/bookings", body);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(10)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String pick(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> extract(Pattern pattern, String json) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(json);
+        while (matcher.find()) {
+            values.add(matcher.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+        }
+        return values;
+    }
+
+    /** Latencies and outcome counts for one client, merged at the end. */
+    private static class Stats {
+        long[] latencies = new long[1024];
+        int count;
+        long ok;
+        long rejected;
+        long failed;
+        long elapsedNanos;
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status / 100 == 2) {
+                ok++;
+            } else if (status / 100 == 4) {
+                rejected++;
+            } else {
+                failed++;
+            }
+        }
+
+        void merge(Stats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            ok += other.ok;
+            rejected += other.rejected;
+            failed += other.failed;
+        }
+
+        double percentileMillis(double p) {
+            if (count == 0) return 0;
+            int index = (int) Math.ceil(p / 100.0 * count) - 1;
+            return latencies[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+        }
+
+        // Prints the summary; returns false if a target was given and missed
+        boolean report(int clients, double targetRps, double targetP99) {
+            Arrays.sort(latencies, 0, count);
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            double rps = count / seconds;
+            double p99 = percentileMillis(99);
+
+            System.out.printf("%d clients, %.1f s: %d requests (%d ok, %d rejected, %d failed)%n",
+                    clients, seconds, count, ok, rejected, failed);
+            System.out.printf("Throughput: %.0f req/s%n", rps);
+            System.out.printf("Latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    percentileMillis(50), percentileMillis(90), p99, percentileMillis(99.9),
+                    percentileMillis(100));
+
+            boolean met = failed == 0;
+            if (targetRps > 0 && rps < targetRps) {
+                System.out.printf("MISSED throughput target of %.0f req/s%n", targetRps);
+                met = false;
+            }
+            if (targetP99 > 0 && p99 > targetP99) {
+                System.out.printf("MISSED p99 target of %.2f ms%n", targetP99);
+                met = false;
+            }
+            return met;
+        }
+    }
+}
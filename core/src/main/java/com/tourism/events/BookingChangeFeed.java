@@ -0,0 +1,231 @@
+package com.tourism.events;
+
+import com.tourism.models.Booking;
+import com.tourism.models.BookingChange;
+import com.tourism.utils.BookingChangeLog;
+import com.tourism.utils.FileHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change-data-capture feed of booking saves and deletes, for consumers outside
+ * the UI (report writers, exporters, notification senders).
+ *
+ * Each subscriber tails the BookingChangeLog journal from its own offset and is
+ * sent no more than it has requested. The backlog stays on disk: at most
+ * bufferSize changes per subscriber are held in memory, however far behind it
+ * is, and the booking write path only appends to the journal and wakes
+ * subscribers, so a slow consumer never holds it up.
+ *
+ * To resume after a restart, keep getNextOffset() of the last change handled
+ * and pass it to subscribe(subscriber, fromOffset). Saves in this process are
+ * delivered straight away; those by other processes sharing the data
+ * directory are picked up by polling the journal.
+ */
+public class BookingChangeFeed implements Flow.Publisher<BookingChange>, AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+    private static final long POLL_MILLIS = 1000;
+
+    private static final ExecutorService DELIVERY = Executors.newCachedThreadPool(daemon("booking-change-feed"));
+    private static final ScheduledExecutorService POLLER =
+            Executors.newSingleThreadScheduledExecutor(daemon("booking-change-poll"));
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final FileHandler.RecordListener listener;
+    private final ScheduledFuture<?> polling;
+    private volatile boolean closed;
+
+    public BookingChangeFeed() {
+        this(DELIVERY, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BookingChangeFeed(Executor executor, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.listener = new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                wakeAll();
+            }
+
+            @Override
+            public void bookingDeleted(int bookingId) {
+                wakeAll();
+            }
+        };
+        FileHandler.addRecordListener(listener);
+        polling = POLLER.scheduleWithFixedDelay(this::wakeAll, POLL_MILLIS, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Delivers changes made from now on
+    @Override
+    public void subscribe(Flow.Subscriber<? super BookingChange> subscriber) {
+        subscribe(subscriber, BookingChangeLog.endOffset());
+    }
+
+    // Delivers every change from fromOffset (0 for the whole journal) onwards
+    public void subscribe(Flow.Subscriber<? super BookingChange> subscriber, long fromOffset) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (fromOffset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        ChangeSubscription subscription = new ChangeSubscription(subscriber, fromOffset);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // Stops polling and completes each subscriber once the changes it has requested so far are delivered
+    @Override
+    public void close() {
+        closed = true;
+        polling.cancel(false);
+        FileHandler.removeRecordListener(listener);
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    private void wakeAll() {
+        for (ChangeSubscription subscription : subscriptions) {
+            if (subscription.demand.get() > 0) {
+                subscription.signal();
+            }
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super BookingChange> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+
+        // Only touched by drain, which never runs twice at once
+        private final Queue<BookingChange> buffer = new ArrayDeque<>();
+        private long position;
+        private boolean started;
+
+        ChangeSubscription(Flow.Subscriber<? super BookingChange> subscriber, long position) {
+            this.subscriber = subscriber;
+            this.position = position;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        // Signals that arrive while draining are folded into one more pass
+        private void drain() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            if (cancelled) {
+                buffer.clear();
+                return;
+            }
+            if (!started) {
+                started = true;
+                if (!call(() -> subscriber.onSubscribe(this))) return;
+            }
+            if (invalidRequest) {
+                terminate(() -> subscriber.onError(new IllegalArgumentException("Requested amount must be positive")));
+                return;
+            }
+
+            while (!cancelled && demand.get() > 0) {
+                if (buffer.isEmpty()) {
+                    try {
+                        buffer.addAll(BookingChangeLog.read(position, (int) Math.min(demand.get(), bufferSize)));
+                    } catch (IOException e) {
+                        // The subscriber can resubscribe from the last offset it handled
+                        terminate(() -> subscriber.onError(e));
+                        return;
+                    }
+                    if (buffer.isEmpty()) break;
+                }
+                BookingChange change = buffer.poll();
+                position = change.getNextOffset();
+                demand.decrementAndGet();
+                if (!call(() -> subscriber.onNext(change))) return;
+            }
+
+            if (closed && !cancelled && buffer.isEmpty()) {
+                terminate(subscriber::onComplete);
+            }
+        }
+
+        private void terminate(Runnable signal) {
+            cancel();
+            buffer.clear();
+            call(signal);
+        }
+
+        // A subscriber that throws is cancelled; it broke the contract and won't be called again
+        private boolean call(Runnable signal) {
+            try {
+                signal.run();
+                return true;
+            } catch (RuntimeException e) {
+                System.err.println("Error in booking change subscriber: " + e.getMessage());
+                cancel();
+                buffer.clear();
+                return false;
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.tourism.events;
+
+import com.tourism.models.Booking;
+import com.tourism.models.Tourist;
+
+/**
+ * Something that happened to stored data, published on the EventBus after the
+ * change has been written. Fields are captured at publish time; the booking or
+ * tourist object itself is the saved instance and belongs to its publisher.
+ */
+public abstract class DomainEvent {
+    private final long timestamp = System.currentTimeMillis();
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /** Base for events about one booking; subscribe to this to see every booking change. */
+    public abstract static class BookingEvent extends DomainEvent {
+        public final Booking booking;
+        public final int bookingId;
+        public final String touristUsername;
+        public final String guideUsername; // empty when no guide
+
+        BookingEvent(Booking booking) {
+            this.booking = booking;
+            this.bookingId = booking.getBookingId();
+            this.touristUsername = booking.getTouristUsername();
+            this.guideUsername = booking.getGuideUsername();
+        }
+    }
+
+    /** A booking was stored for the first time. */
+    public static final class BookingCreated extends BookingEvent {
+        public BookingCreated(Booking booking) {
+            super(booking);
+        }
+    }
+
+    /** A booking's guide changed. Either username may be empty for "no guide". */
+    public static final class GuideAssigned extends BookingEvent {
+        public final String previousGuideUsername;
+
+        public GuideAssigned(Booking booking, String previousGuideUsername) {
+            super(booking);
+            this.previousGuideUsername = previousGuideUsername != null ? previousGuideUsername : "";
+        }
+    }
+
+    /** A booking's status changed, e.g. Confirmed to Cancelled. */
+    public static final class StatusChanged extends BookingEvent {
+        public final String previousStatus;
+        public final String status;
+
+        public StatusChanged(Booking booking, String previousStatus) {
+            super(booking);
+            this.previousStatus = previousStatus;
+            this.status = booking.getStatus();
+        }
+    }
+
+    /** The booking can no longer be cancelled: its trek is a week away. Nothing stored changed. */
+    public static final class CancellationWindowClosed extends BookingEvent {
+        public CancellationWindowClosed(Booking booking) {
+            super(booking);
+        }
+    }
+
+    /** A new tourist account was stored. */
+    public static final class TouristRegistered extends DomainEvent {
+        public final Tourist tourist;
+        public final String username;
+
+        public TouristRegistered(Tourist tourist) {
+            this.tourist = tourist;
+            this.username = tourist.getUsername();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.tourism.events;
+
+import com.tourism.models.Booking;
+import com.tourism.models.Tourist;
+import com.tourism.utils.FileHandler;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for DomainEvents.
+ *
+ * Publishing never blocks: each subscriber has its own bounded queue, drained
+ * on the executor it subscribed with (e.g. the FX thread), a batch at a time.
+ * A subscriber that falls more than its capacity behind has its backlog
+ * dropped and its onOverflow callback run instead, which should reload from
+ * storage.
+ *
+ * Booking and tourist saves through FileHandler are published automatically;
+ * code that persists another way publishes its own events.
+ */
+public class EventBus {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int DRAIN_BATCH = 64;
+
+    private static final List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                publishBookingChange(booking, previous);
+            }
+
+            @Override
+            public void touristSaved(Tourist tourist, boolean created) {
+                if (created) publish(new DomainEvent.TouristRegistered(tourist));
+            }
+        });
+    }
+
+    /** Handle returned by subscribe; cancel() stops delivery and drops anything queued. */
+    public interface Subscription {
+        void cancel();
+    }
+
+    public static <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler,
+                                                                 Executor executor) {
+        return subscribe(type, handler, executor, null, DEFAULT_CAPACITY);
+    }
+
+    public static <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler,
+                                                                 Executor executor, Runnable onOverflow,
+                                                                 int capacity) {
+        Subscriber<E> subscriber = new Subscriber<>(type, handler, executor, onOverflow, capacity);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public static void publish(DomainEvent event) {
+        for (Subscriber<?> subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // Turns a stored booking and the record it replaced into the events it implies
+    public static void publishBookingChange(Booking booking, Booking previous) {
+        if (previous == null) {
+            publish(new DomainEvent.BookingCreated(booking));
+            if (!booking.getGuideUsername().isEmpty()) {
+                publish(new DomainEvent.GuideAssigned(booking, ""));
+            }
+            return;
+        }
+        if (!Objects.equals(previous.getStatus(), booking.getStatus())) {
+            publish(new DomainEvent.StatusChanged(booking, previous.getStatus()));
+        }
+        if (!previous.getGuideUsername().equals(booking.getGuideUsername())) {
+            publish(new DomainEvent.GuideAssigned(booking, previous.getGuideUsername()));
+        }
+    }
+
+    private static class Subscriber<E extends DomainEvent> implements Subscription {
+        private final Class<E> type;
+        private final Consumer<? super E> handler;
+        private final Executor executor;
+        private final Runnable onOverflow;
+        private final int capacity;
+
+        private final Queue<E> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean active = true;
+
+        Subscriber(Class<E> type, Consumer<? super E> handler, Executor executor, Runnable onOverflow, int capacity) {
+            this.type = type;
+            this.handler = handler;
+            this.executor = executor;
+            this.onOverflow = onOverflow;
+            this.capacity = capacity;
+        }
+
+        void offer(DomainEvent event) {
+            if (!active || !type.isInstance(event)) return;
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                overflowed.set(true);
+            } else {
+                queue.add(type.cast(event));
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            if (overflowed.getAndSet(false)) {
+                // The reload covers everything already queued
+                clear();
+                if (active && onOverflow != null) run(onOverflow);
+            }
+            E event;
+            int delivered = 0;
+            while (delivered < DRAIN_BATCH && active && (event = queue.poll()) != null) {
+                size.decrementAndGet();
+                E current = event;
+                run(() -> handler.accept(current));
+                delivered++;
+            }
+            scheduled.set(false);
+            // Yield the executor between batches, and pick up anything offered while we were finishing
+            if (active && (!queue.isEmpty() || overflowed.get())) {
+                schedule();
+            }
+        }
+
+        private void run(Runnable delivery) {
+            try {
+                delivery.run();
+            } catch (Exception e) {
+                System.err.println("Error in " + type.getSimpleName() + " subscriber: " + e.getMessage());
+            }
+        }
+
+        private void clear() {
+            while (queue.poll() != null) {
+                size.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            active = false;
+            subscribers.remove(this);
+            clear();
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.tourism.models;
 import java.io.Serializable;
 
 // Attraction class demonstrating encapsulation
-public class Attraction {
+public class Attraction implements Versioned {
     private String name;
     private String location;
     private String altitudeLevel; // "High" or "Low"
@@ -13,6 +13,8 @@ public class Attraction {
     private int maxCapacity;
     private int currentBookings;
     private boolean isActive;
+    private long version;
+    private String storedRecord;
    ;
     
     // Constructor
@@ -56,6 +58,17 @@ public class Attraction {
     
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { this.isActive = active; }
+
+    // Optimistic concurrency stamp, maintained by FileHandler
+    @Override
+    public long getVersion() { return version; }
+    @Override
+    public void setVersion(long version) { this.version = version; }
+
+    @Override
+    public String getStoredRecord() { return storedRecord; }
+    @Override
+    public void setStoredRecord(String storedRecord) { this.storedRecord = storedRecord; }
     
     // Business logic methods
     public boolean isHighAltitude() {
@@ -3,7 +3,8 @@ package com.tourism.models;
 import java.time.LocalDate;
 import java.time.Month;
 
-public class Booking {
+public class Booking implements Versioned {
+    public static final int CANCELLATION_NOTICE_DAYS = 7; // cancelling closes this many days before the trek
     private static int nextId = 1;
 
     private int bookingId;
@@ -12,10 +13,12 @@ public class Booking {
     private Attraction attraction;
     private LocalDate bookingDate;
     private LocalDate trekDate;
-    private String status; // "Confirmed", "Pending", "Cancelled", "Completed"
+    private String status; // "Confirmed", "Pending", "Cancelled", "Completed", "Expired"
     private double totalPrice;
     private boolean festivalDiscountApplied;
     private String notes;
+    private long version;
+    private String storedRecord;
 
     // Constructors
     public Booking(String touristUsername, Attraction attraction, LocalDate trekDate) {
@@ -32,22 +35,27 @@ public class Booking {
         this.status = "Pending";
         this.notes = "";
 
+        // Priced by BookingService from PricingService's quote; the setters never reprice, so a stored
+        // booking keeps the price that was agreed whatever is changed on it later
         this.festivalDiscountApplied = isFestivalSeason(trekDate);
-        this.totalPrice = calculateTotalPrice();
     }
 
-    // Price calculation
-    private double calculateTotalPrice() {
-        double basePrice = attraction.calculatePrice(festivalDiscountApplied);
-        if (guide != null) {
-            basePrice += basePrice * 0.30; // 30% guide commission
+    // Getters and Setters
+    public int getBookingId() { return bookingId; }
+    public void setBookingId(int bookingId) {
+        this.bookingId = bookingId;
+        // Keep new ids clear of ids restored from disk, even when only part of the file is loaded
+        if (bookingId >= nextId) {
+            nextId = bookingId + 1;
         }
-        return basePrice;
     }
 
-    // Getters and Setters
-    public int getBookingId() { return bookingId; }
-    public void setBookingId(int bookingId) { this.bookingId = bookingId; }
+    // Makes new bookings start after lastUsedId, for callers that have not loaded existing bookings
+    public static void reserveIdsThrough(int lastUsedId) {
+        if (lastUsedId >= nextId) {
+            nextId = lastUsedId + 1;
+        }
+    }
 
     public String getTouristUsername() { return touristUsername; }
     public void setTouristUsername(String touristUsername) {
@@ -55,10 +63,7 @@ public class Booking {
     }
 
     public Guide getGuide() { return guide; }
-    public void setGuide(Guide guide) {
-        this.guide = guide;
-        this.totalPrice = calculateTotalPrice(); // Recalculate price
-    }
+    public void setGuide(Guide guide) { this.guide = guide; }
 
     // Maintain backward compatibility for username-based access
     public String getGuideUsername() {
@@ -66,20 +71,13 @@ public class Booking {
     }
 
     public Attraction getAttraction() { return attraction; }
-    public void setAttraction(Attraction attraction) {
-        this.attraction = attraction;
-        this.totalPrice = calculateTotalPrice(); // Recalculate price
-    }
+    public void setAttraction(Attraction attraction) { this.attraction = attraction; }
 
     public LocalDate getBookingDate() { return bookingDate; }
     public void setBookingDate(LocalDate bookingDate) { this.bookingDate = bookingDate; }
 
     public LocalDate getTrekDate() { return trekDate; }
-    public void setTrekDate(LocalDate trekDate) {
-        this.trekDate = trekDate;
-        this.festivalDiscountApplied = isFestivalSeason(trekDate);
-        this.totalPrice = calculateTotalPrice(); // Recalculate price
-    }
+    public void setTrekDate(LocalDate trekDate) { this.trekDate = trekDate; }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -90,12 +88,22 @@ public class Booking {
     public boolean isFestivalDiscountApplied() { return festivalDiscountApplied; }
     public void setFestivalDiscountApplied(boolean festivalDiscountApplied) {
         this.festivalDiscountApplied = festivalDiscountApplied;
-        this.totalPrice = calculateTotalPrice(); // Recalculate price
     }
 
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
+    // Optimistic concurrency stamp, maintained by FileHandler
+    @Override
+    public long getVersion() { return version; }
+    @Override
+    public void setVersion(long version) { this.version = version; }
+
+    @Override
+    public String getStoredRecord() { return storedRecord; }
+    @Override
+    public void setStoredRecord(String storedRecord) { this.storedRecord = storedRecord; }
+
     // Business Logic Methods
     private boolean isFestivalSeason(LocalDate date) {
         Month month = date.getMonth();
@@ -108,7 +116,7 @@ public class Booking {
     }
 
     public boolean canBeCancelled() {
-        return trekDate.isAfter(LocalDate.now().plusDays(7)) &&
+        return trekDate.isAfter(LocalDate.now().plusDays(CANCELLATION_NOTICE_DAYS)) &&
                 ("Confirmed".equals(status) || "Pending".equals(status));
     }
 
@@ -0,0 +1,69 @@
+package com.tourism.models;
+
+import java.time.LocalDate;
+
+/**
+ * One entry of the booking change journal: the booking as it was stored by a
+ * save, or just its id for a delete.
+ *
+ * The offset is the entry's position in the journal. A consumer that records
+ * getNextOffset() of the last change it processed can resume from there.
+ */
+public class BookingChange {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final long offset;
+    private final long nextOffset;
+    private final Type type;
+    private final long timestamp;
+    private final int bookingId;
+    private final long version;
+    private final String touristUsername;
+    private final String guideUsername;
+    private final String attractionName;
+    private final LocalDate trekDate;
+    private final String status;
+    private final double totalPrice;
+    private final String record;
+
+    public BookingChange(long offset, long nextOffset, Type type, long timestamp, int bookingId, long version,
+                         String touristUsername, String guideUsername, String attractionName,
+                         LocalDate trekDate, String status, double totalPrice, String record) {
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.bookingId = bookingId;
+        this.version = version;
+        this.touristUsername = touristUsername;
+        this.guideUsername = guideUsername;
+        this.attractionName = attractionName;
+        this.trekDate = trekDate;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.record = record;
+    }
+
+    public long getOffset() { return offset; }
+    public long getNextOffset() { return nextOffset; }
+    public Type getType() { return type; }
+    public long getTimestamp() { return timestamp; }
+    public int getBookingId() { return bookingId; }
+    public long getVersion() { return version; }
+
+    // The remaining fields are null (or 0) for DELETED changes
+    public String getTouristUsername() { return touristUsername; }
+    public String getGuideUsername() { return guideUsername; }
+    public String getAttractionName() { return attractionName; }
+    public LocalDate getTrekDate() { return trekDate; }
+    public String getStatus() { return status; }
+    public double getTotalPrice() { return totalPrice; }
+    // The whole stored line, for rebuilding the booking with FileHandler.parseBookingRecord
+    public String getRecord() { return record; }
+
+    @Override
+    public String toString() {
+        return type + " #" + bookingId + " v" + version + " @" + offset
+                + (type == Type.DELETED ? "" : " " + status + " " + attractionName + " " + trekDate);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tourism.models;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of one stored booking line, for bulk scans.
+ *
+ * Unlike Booking it needs no catalog lookups, doesn't reprice and doesn't
+ * consume a booking id. The status checks are worked out once when the line
+ * is read.
+ */
+public class BookingRecord {
+    private final int bookingId;
+    private final String touristUsername;
+    private final String guideUsername;
+    private final String attractionName;
+    private final LocalDate trekDate;
+    private final String status;
+    private final double totalPrice;
+    private final boolean festivalDiscountApplied;
+    private final boolean earning;
+    private final boolean cancelled;
+
+    public BookingRecord(int bookingId, String touristUsername, String guideUsername, String attractionName,
+                         LocalDate trekDate, String status, double totalPrice, boolean festivalDiscountApplied) {
+        this.bookingId = bookingId;
+        this.touristUsername = touristUsername;
+        this.guideUsername = guideUsername;
+        this.attractionName = attractionName;
+        this.trekDate = trekDate;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.festivalDiscountApplied = festivalDiscountApplied;
+        this.earning = "Confirmed".equals(status) || "Completed".equals(status);
+        this.cancelled = "Cancelled".equals(status);
+    }
+
+    public int getBookingId() { return bookingId; }
+    public String getTouristUsername() { return touristUsername; }
+    public String getGuideUsername() { return guideUsername; } // empty when no guide
+    public String getAttractionName() { return attractionName; }
+    public LocalDate getTrekDate() { return trekDate; }
+    public String getStatus() { return status; }
+    public double getTotalPrice() { return totalPrice; }
+    public boolean isFestivalDiscountApplied() { return festivalDiscountApplied; }
+
+    // Confirmed or completed: the booking's price counts as revenue
+    public boolean isEarning() { return earning; }
+    public boolean isCancelled() { return cancelled; }
+}
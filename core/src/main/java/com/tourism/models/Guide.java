@@ -5,6 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Guide extends Person  {
+    public static final double COMMISSION_RATE = 0.30; // guide's share of each assigned booking
+    public static final int MAX_BOOKINGS = 5;           // load cap in treks, checked by canTakeBooking
+
     private List<String> languages;
     private int experienceYears;
     private List<String> specializations;
@@ -39,6 +42,10 @@ public class Guide extends Person  {
         }
     }
 
+    public void setLanguages(List<String> languages) {
+        this.languages = languages != null ? new ArrayList<>(languages) : new ArrayList<>();
+    }
+
     public String getLanguagesString() {
         return String.join(", ", languages);
     }
@@ -63,6 +70,13 @@ public class Guide extends Person  {
         }
     }
 
+    public void setSpecializations(List<String> specializations) {
+        this.specializations = new ArrayList<>();
+        if (specializations != null) {
+            specializations.forEach(this::addSpecialization);
+        }
+    }
+
     // Earnings methods
     public double getTotalEarnings() {
         return totalEarnings;
@@ -95,7 +109,7 @@ public class Guide extends Person  {
 
         if (!alreadyAssigned) {
             this.assignedBookings.add(booking);
-            double commission = booking.getTotalPrice() * 0.30;
+            double commission = booking.getTotalPrice() * COMMISSION_RATE;
             addEarnings(commission);
             System.out.printf("Guide %s earned $%.2f from booking %d. Total earnings: $%.2f%n",
                     getUsername(), commission, booking.getBookingId(), totalEarnings);
@@ -106,7 +120,7 @@ public class Guide extends Person  {
         if (booking == null || this.assignedBookings == null) return;
 
         if (this.assignedBookings.remove(booking)) {
-            double commission = booking.getTotalPrice() * 0.30;
+            double commission = booking.getTotalPrice() * COMMISSION_RATE;
             this.totalEarnings = Math.max(0, this.totalEarnings - commission);
             System.out.printf("Guide %s lost $%.2f from cancelled booking %d%n",
                     getUsername(), commission, booking.getBookingId());
@@ -123,7 +137,13 @@ public class Guide extends Person  {
     }
 
     public boolean canTakeBooking() {
-        return isAvailable && (assignedBookings == null || assignedBookings.size() < 5);
+        return isAvailable && getTrekCount() < MAX_BOOKINGS;
+    }
+
+    // A guide leads one trek a day, so a group's bookings on one date are one trek and one unit of load
+    public int getTrekCount() {
+        if (assignedBookings == null) return 0;
+        return (int) assignedBookings.stream().map(Booking::getTrekDate).distinct().count();
     }
 
     // Bio methods
@@ -173,7 +193,7 @@ public class Guide extends Person  {
 
     // Commission calculation
     public double calculateCommission(double bookingPrice) {
-        return Math.max(0, bookingPrice) * 0.30;
+        return Math.max(0, bookingPrice) * COMMISSION_RATE;
     }
 
     @Override
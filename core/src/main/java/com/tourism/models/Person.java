@@ -1,12 +1,14 @@
 package com.tourism.models;
 
 // Base class demonstrating inheritance and encapsulation
-public abstract class Person {
+public abstract class Person implements Versioned {
     private String username;
     private String password;
     private String fullName;
     private String email;
     private String phone;
+    private long version;
+    private String storedRecord;
     
     // Constructor
     public Person(String username, String password, String fullName, String email, String phone) {
@@ -32,6 +34,17 @@ public abstract class Person {
     
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+
+    // Optimistic concurrency stamp, maintained by FileHandler
+    @Override
+    public long getVersion() { return version; }
+    @Override
+    public void setVersion(long version) { this.version = version; }
+
+    @Override
+    public String getStoredRecord() { return storedRecord; }
+    @Override
+    public void setStoredRecord(String storedRecord) { this.storedRecord = storedRecord; }
     
     // Abstract method for polymorphism
     public abstract String getRole();
@@ -0,0 +1,16 @@
+package com.tourism.models;
+
+/**
+ * A persisted record stamped for optimistic concurrency.
+ *
+ * The version is the stored version this object was read at or last written
+ * as; the stored record is that exact stored line, kept as the base for a
+ * field-by-field merge when someone else has saved the record since.
+ */
+public interface Versioned {
+    long getVersion();
+    void setVersion(long version);
+
+    String getStoredRecord();
+    void setStoredRecord(String storedRecord);
+}
@@ -0,0 +1,53 @@
+package com.tourism.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A tourist waiting for a place on a fully booked attraction and trek date.
+ *
+ * Entries are served by tier, then in the order they were requested.
+ */
+public class WaitlistEntry {
+    // Declared in serving order
+    public enum Tier {
+        LOYAL, RETURNING, NEW;
+
+        private static final int LOYAL_TREKS = 3;
+
+        // From the tourist's completed treks
+        public static Tier of(List<Booking> bookings) {
+            long completed = bookings.stream().filter(b -> "Completed".equals(b.getStatus())).count();
+            return completed >= LOYAL_TREKS ? LOYAL : completed > 0 ? RETURNING : NEW;
+        }
+    }
+
+    private final String id;
+    private final String touristUsername;
+    private final String attractionName;
+    private final LocalDate trekDate;
+    private final Tier tier;
+    private final long requestedAt;
+
+    public WaitlistEntry(String id, String touristUsername, String attractionName, LocalDate trekDate, Tier tier,
+                         long requestedAt) {
+        this.id = id;
+        this.touristUsername = touristUsername;
+        this.attractionName = attractionName;
+        this.trekDate = trekDate;
+        this.tier = tier;
+        this.requestedAt = requestedAt;
+    }
+
+    public String getId() { return id; }
+    public String getTouristUsername() { return touristUsername; }
+    public String getAttractionName() { return attractionName; }
+    public LocalDate getTrekDate() { return trekDate; }
+    public Tier getTier() { return tier; }
+    public long getRequestedAt() { return requestedAt; } // epoch millis
+
+    @Override
+    public String toString() {
+        return attractionName + " on " + trekDate + " (" + touristUsername + ", " + tier + ")";
+    }
+}
@@ -0,0 +1,536 @@
+package com.tourism.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tourism.events.BookingChangeFeed;
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.BookingChange;
+import com.tourism.models.Guide;
+import com.tourism.services.BookingLifecycle;
+import com.tourism.services.BookingService;
+import com.tourism.services.PricingService;
+import com.tourism.services.Waitlist;
+import com.tourism.utils.BookingChangeLog;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.GuideIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded HTTP/JSON booking API over the shared data directory.
+ *
+ *   GET  /api/attractions
+ *   GET  /api/guides?available=true&language=..&specialization=..
+ *   GET  /api/quote?attraction=..&date=yyyy-mm-dd&guide=..
+ *   POST /api/bookings                {"tourist":..,"attraction":..,"date":..,"guide":..}
+ *   POST /api/bookings/{id}/cancel
+ *
+ * The catalog and bookings are loaded once and kept in memory. Reads share a
+ * read lock; creating or cancelling a booking takes the write lock, so capacity
+ * and guide limits are checked and persisted atomically. The server is not the
+ * only writer: the desktop app, the batch runner and the lifecycle scheduler
+ * save bookings too. So it follows the booking journal from where its load
+ * started and applies every change it did not make itself, giving back places
+ * and guide slots as bookings are cancelled, completed or expired elsewhere.
+ * Its own saves are versioned per-record writes, so concurrent edits to the
+ * same booking are merged rather than overwritten. Attractions and guides
+ * added after startup are not picked up until a restart.
+ *
+ * Requests run on a virtual thread each when the JVM has them (Java 21+),
+ * otherwise on a fixed pool of platform threads.
+ */
+public class BookingServer {
+    public static final int DEFAULT_PORT = 8080;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String executorDescription;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Attraction> attractions = new LinkedHashMap<>(); // by lower-cased name
+    private final Map<String, Guide> guides = new LinkedHashMap<>();            // by username
+    private final Map<Integer, Booking> bookings = new LinkedHashMap<>();
+    private final Set<Integer> holding = new HashSet<>(); // bookings counted in capacity and guide load
+    private List<Attraction> catalogAttractions;
+    private List<Guide> catalogGuides;
+
+    private final BookingChangeFeed changeFeed = new BookingChangeFeed();
+    private final long journalStart; // changes from here on were saved after load() read the file
+
+    public BookingServer(int port) throws IOException {
+        // Headers and body go out as separate writes; with Nagle on, every response waits ~40 ms for an ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        journalStart = BookingChangeLog.endOffset();
+        load();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/", this::handle);
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual != null) {
+            executor = virtual;
+            executorDescription = "virtual threads";
+        } else {
+            int threads = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+            executor = Executors.newFixedThreadPool(threads, namedThreads("http-worker"));
+            executorDescription = threads + " worker threads";
+        }
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        changeFeed.subscribe(new JournalFollower(), journalStart);
+        server.start();
+        System.out.println("Booking API listening on http://localhost:" + getPort() + "/api/ ("
+                + executorDescription + ", " + attractions.size() + " attractions, "
+                + guides.size() + " guides, " + bookings.size() + " bookings)");
+    }
+
+    public void stop() {
+        changeFeed.close();
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs background work on this server's workers under the write lock, e.g. waitlist promotions
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                task.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Usage: BookingServer [port]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        FileHandler.initializeDataFiles();
+        BookingServer bookingServer = new BookingServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(bookingServer::stop, "booking-api-shutdown"));
+        bookingServer.start();
+        BookingLifecycle.start();
+        Waitlist.watchCancellations(bookingServer::execute);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() only exists from Java 21; the build targets 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Rebuilds live capacity and guide load from the upcoming confirmed bookings on disk
+    private void load() {
+        catalogAttractions = FileHandler.loadAttractions();
+        catalogGuides = FileHandler.loadGuides();
+        for (Attraction attraction : catalogAttractions) {
+            attractions.put(key(attraction.getName()), attraction);
+        }
+        for (Guide guide : catalogGuides) {
+            guides.put(guide.getUsername(), guide);
+        }
+        for (Booking booking : FileHandler.loadBookings(catalogAttractions, catalogGuides)) {
+            bookings.put(booking.getBookingId(), booking);
+            hold(booking);
+        }
+        Booking.reserveIdsThrough(FileHandler.maxBookingId());
+    }
+
+    // Confirmed upcoming bookings take a place on their attraction and count toward their guide's load
+    private void hold(Booking booking) {
+        if (!"Confirmed".equals(booking.getStatus()) || !booking.isUpcoming()) return;
+        holding.add(booking.getBookingId());
+        booking.getAttraction().incrementBookings();
+        if (booking.getGuide() != null) {
+            booking.getGuide().assignBooking(booking);
+        }
+    }
+
+    private void release(Booking booking) {
+        if (!holding.remove(booking.getBookingId())) return;
+        booking.getAttraction().decrementBookings();
+        if (booking.getGuide() != null) {
+            booking.getGuide().removeBooking(booking);
+        }
+    }
+
+    /*
+     * Brings one booking up to date with a journaled change, with the write
+     * lock held. A change at or below the version held here is this server's
+     * own save (or an older one) and is skipped; anything else replaces the
+     * booking, moving its hold on capacity and guide load with it.
+     */
+    private void apply(BookingChange change) {
+        int bookingId = change.getBookingId();
+        Booking current = bookings.get(bookingId);
+        boolean deleted = change.getType() == BookingChange.Type.DELETED;
+        if (!deleted && current != null && current.getVersion() >= change.getVersion()) {
+            return;
+        }
+        if (current != null) {
+            release(current);
+            bookings.remove(bookingId);
+        }
+        if (deleted) return;
+
+        Booking stored = FileHandler.parseBookingRecord(change.getRecord(), catalogAttractions, catalogGuides);
+        if (stored != null) {
+            bookings.put(bookingId, stored);
+            hold(stored);
+        }
+    }
+
+    // Tails the journal for the server's lifetime; after a read error it resumes from the last change applied
+    private final class JournalFollower implements Flow.Subscriber<BookingChange> {
+        private long position;
+
+        JournalFollower() {
+            this(journalStart);
+        }
+
+        JournalFollower(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(BookingChange change) {
+            lock.writeLock().lock();
+            try {
+                apply(change);
+                position = change.getNextOffset();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            System.err.println("Error following the booking journal: " + error.getMessage());
+            changeFeed.subscribe(new JournalFollower(position), position);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    // ================= Routing =================
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            if (path.length == 1 && "attractions".equals(path[0]) && "GET".equals(method)) {
+                respond(exchange, 200, listAttractions());
+            } else if (path.length == 1 && "guides".equals(path[0]) && "GET".equals(method)) {
+                respond(exchange, 200, listGuides(query));
+            } else if (path.length == 1 && "quote".equals(path[0]) && "GET".equals(method)) {
+                respond(exchange, 200, quote(query));
+            } else if (path.length == 1 && "bookings".equals(path[0]) && "POST".equals(method)) {
+                respond(exchange, 201, createBooking(Json.parseObject(readBody(exchange))));
+            } else if (path.length == 3 && "bookings".equals(path[0]) && "cancel".equals(path[2])
+                    && "POST".equals(method)) {
+                respond(exchange, 200, cancelBooking(parseId(path[1])));
+            } else {
+                throw new ApiException(404, "No route for " + method + " " + exchange.getRequestURI().getPath());
+            }
+        } catch (ApiException e) {
+            respond(exchange, e.status, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            respond(exchange, 500, error("Internal server error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String listAttractions() {
+        lock.readLock().lock();
+        try {
+            List<Json> items = new ArrayList<>(attractions.size());
+            for (Attraction attraction : attractions.values()) {
+                items.add(Json.object()
+                        .put("name", attraction.getName())
+                        .put("location", attraction.getLocation())
+                        .put("altitudeLevel", attraction.getAltitudeLevel())
+                        .put("difficulty", attraction.getDifficulty())
+                        .put("basePrice", attraction.getBasePrice())
+                        .put("active", attraction.isActive())
+                        .put("availableSpots", attraction.getAvailableSpots()));
+            }
+            return Json.array(items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String listGuides(Map<String, String> query) {
+        boolean availableOnly = Boolean.parseBoolean(query.get("available"));
+        lock.readLock().lock();
+        try {
+            List<Guide> matches = GuideIndex.filter(guides, query.get("language"), query.get("specialization"));
+            List<Json> items = new ArrayList<>(matches.size());
+            for (Guide guide : matches) {
+                if (availableOnly && !guide.canTakeBooking()) continue;
+                items.add(Json.object()
+                        .put("username", guide.getUsername())
+                        .put("fullName", guide.getFullName())
+                        .put("languages", guide.getLanguages())
+                        .put("specializations", guide.getSpecializations())
+                        .put("experienceYears", guide.getExperienceYears())
+                        .put("available", guide.isAvailable())
+                        .put("canTakeBooking", guide.canTakeBooking())
+                        .put("assignedBookings", guide.getAssignedBookings().size()));
+            }
+            return Json.array(items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String quote(Map<String, String> query) {
+        LocalDate date = parseDate(query.get("date"));
+        lock.readLock().lock();
+        try {
+            Attraction attraction = findAttraction(query.get("attraction"));
+            Guide guide = findGuide(query.get("guide"));
+            PricingService.Quote quote = PricingService.quote(attraction, guide, date);
+            return Json.object()
+                    .put("attraction", attraction.getName())
+                    .put("date", date.toString())
+                    .put("guide", guide != null ? guide.getUsername() : null)
+                    .put("basePrice", quote.basePrice)
+                    .put("guideFee", quote.guideFee)
+                    .put("totalPrice", quote.totalPrice)
+                    .put("festivalSeason", quote.festivalSeason)
+                    .toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String createBooking(Map<String, String> body) {
+        String tourist = body.get("tourist");
+        if (tourist == null || tourist.isBlank()) {
+            throw new IllegalArgumentException("tourist is required");
+        }
+        LocalDate date = parseDate(body.get("date"));
+
+        lock.writeLock().lock();
+        try {
+            Attraction attraction = findAttraction(body.get("attraction"));
+            Guide guide = findGuide(body.get("guide"));
+            Booking booking = BookingService.createBooking(tourist, attraction, guide, date);
+
+            ApiException failure = persist(booking);
+            if (failure != null) {
+                BookingService.releaseBooking(booking);
+                throw failure;
+            }
+            bookings.put(booking.getBookingId(), booking);
+            holding.add(booking.getBookingId());
+            return toJson(booking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String cancelBooking(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                throw new ApiException(404, "No booking #" + bookingId);
+            }
+            String previousStatus = booking.getStatus();
+            if ("Cancelled".equals(previousStatus)) {
+                throw new IllegalArgumentException("This booking is already cancelled!");
+            }
+            if (!booking.canBeCancelled()) {
+                throw new ApiException(409, "Bookings can only be cancelled more than 7 days before the trek!");
+            }
+            // Gives back exactly what the booking held here, whatever its status was
+            release(booking);
+            booking.setStatus("Cancelled");
+
+            ApiException failure = persist(booking);
+            if (failure != null) {
+                booking.setStatus(previousStatus);
+                hold(booking);
+                throw failure;
+            }
+            return toJson(booking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called with the write lock held. Saves go through the versioned per-record path, so a booking
+    // another process changed meanwhile is merged rather than overwritten, and the save is journaled
+    // for the change feed. Returns the error to report, or null once saved
+    private static ApiException persist(Booking booking) {
+        try {
+            return BookingService.save(booking) ? null : new ApiException(500, "Failed to save booking");
+        } catch (FileHandler.WriteConflictException e) {
+            return new ApiException(409, e.getMessage());
+        }
+    }
+
+    private static String toJson(Booking booking) {
+        return Json.object()
+                .put("id", booking.getBookingId())
+                .put("tourist", booking.getTouristUsername())
+                .put("attraction", booking.getAttraction().getName())
+                .put("guide", booking.getGuide() != null ? booking.getGuide().getUsername() : null)
+                .put("trekDate", booking.getTrekDate().toString())
+                .put("status", booking.getStatus())
+                .put("totalPrice", booking.getTotalPrice())
+                .put("festivalDiscountApplied", booking.isFestivalDiscountApplied())
+                .toString();
+    }
+
+    // ================= Helpers =================
+    private Attraction findAttraction(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("attraction is required");
+        }
+        Attraction attraction = attractions.get(key(name));
+        if (attraction == null) {
+            throw new ApiException(404, "No attraction named " + name);
+        }
+        return attraction;
+    }
+
+    // A blank username means no guide
+    private Guide findGuide(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        Guide guide = guides.get(username);
+        if (guide == null) {
+            throw new ApiException(404, "No guide " + username);
+        }
+        return guide;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static LocalDate parseDate(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("date is required");
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid date " + text + ", expected yyyy-mm-dd");
+        }
+    }
+
+    private static int parseId(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid booking id " + text);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String error(String message) {
+        return Json.object().put("error", message).toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
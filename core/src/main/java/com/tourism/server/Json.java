@@ -0,0 +1,171 @@
+package com.tourism.server;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Just enough JSON for the booking API: a writer for flat objects and arrays,
+ * and a reader for request bodies that are a single object of simple values.
+ */
+class Json {
+
+    /** Builds one JSON object; values may be String, Number, Boolean, Collection or another Json. */
+    static Json object() {
+        return new Json();
+    }
+
+    private final StringBuilder out = new StringBuilder("{");
+    private boolean empty = true;
+
+    Json put(String key, Object value) {
+        if (!empty) out.append(',');
+        empty = false;
+        quote(out, key);
+        out.append(':');
+        write(out, value);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out + "}";
+    }
+
+    static String array(Collection<?> values) {
+        StringBuilder sb = new StringBuilder();
+        write(sb, values);
+        return sb.toString();
+    }
+
+    private static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Json) {
+            sb.append(value);
+        } else if (value instanceof Collection) {
+            sb.append('[');
+            boolean first = true;
+            for (Object item : (Collection<?>) value) {
+                if (!first) sb.append(',');
+                first = false;
+                write(sb, item);
+            }
+            sb.append(']');
+        } else {
+            quote(sb, value.toString());
+        }
+    }
+
+    private static void quote(StringBuilder sb, String text) {
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    // Reads {"key": value, ...}; every value comes back as its text, null for JSON null
+    static Map<String, String> parseObject(String text) {
+        Reader reader = new Reader(text);
+        Map<String, String> fields = new LinkedHashMap<>();
+        reader.expect('{');
+        if (reader.peek() == '}') {
+            reader.pos++;
+        } else {
+            do {
+                String key = reader.string();
+                reader.expect(':');
+                fields.put(key, reader.value());
+            } while (reader.next(',', '}') == ',');
+        }
+        if (reader.peek() != 0) {
+            throw new IllegalArgumentException("Unexpected content after JSON object");
+        }
+        return fields;
+    }
+
+    private static class Reader {
+        final String text;
+        int pos;
+
+        Reader(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw new IllegalArgumentException("Expected '" + c + "' at offset " + pos);
+            pos++;
+        }
+
+        char next(char a, char b) {
+            char c = peek();
+            if (c != a && c != b) throw new IllegalArgumentException("Expected '" + a + "' or '" + b + "' at offset " + pos);
+            pos++;
+            return c;
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw new IllegalArgumentException("Nested values are not supported");
+            int start = pos;
+            while (pos < text.length() && ",}".indexOf(text.charAt(pos)) < 0
+                    && !Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) throw new IllegalArgumentException("Missing value at offset " + start);
+            return "null".equals(literal) ? null : literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) break;
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw new IllegalArgumentException("Bad \\u escape");
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string");
+        }
+    }
+}
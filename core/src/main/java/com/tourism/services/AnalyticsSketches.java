@@ -0,0 +1,164 @@
+package com.tourism.services;
+
+import com.tourism.models.Booking;
+import com.tourism.models.BookingRecord;
+import com.tourism.models.Tourist;
+import com.tourism.utils.CountMinSketch;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.HyperLogLog;
+import com.tourism.utils.TDigest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Approximate trends for the admin analytics tab, from fixed-size sketches
+ * rather than exact maps over every booking and tourist:
+ *
+ *   distinct tourists per attraction and per trek month   HyperLogLog
+ *   most booked attractions, most common nationalities    Count-Min + top-K
+ *   booking price distribution                            t-digest
+ *
+ * Built with one parallel scan of the booking store, each partition sketching
+ * its own range before they merge, then kept current as bookings and tourists
+ * are created. Like the sketches themselves this only grows: it describes the
+ * bookings made, and a cancellation doesn't take one back out.
+ */
+public class AnalyticsSketches {
+    private static final int HLL_PRECISION = 12;       // 4 KB per counter, ±1.6%
+    private static final int CMS_WIDTH = 2048;         // overcount ≤ 0.13% of the total...
+    private static final int CMS_DEPTH = 5;            // ...with 99.3% confidence
+    private static final int TOP_K = 5;
+    private static final double DIGEST_COMPRESSION = 100;
+    private static final double[] PRICE_QUANTILES = {0.5, 0.9, 0.99};
+
+    // The booking-derived sketches; one per scan partition, merged pairwise
+    private static class BookingSketches {
+        final Map<String, HyperLogLog> touristsByAttraction = new HashMap<>();
+        final Map<String, HyperLogLog> touristsByMonth = new HashMap<>();
+        final CountMinSketch attractions = new CountMinSketch(CMS_WIDTH, CMS_DEPTH, TOP_K);
+        final TDigest prices = new TDigest(DIGEST_COMPRESSION);
+
+        void add(String tourist, String attraction, LocalDate trekDate, double price) {
+            touristsByAttraction.computeIfAbsent(attraction, a -> new HyperLogLog(HLL_PRECISION)).add(tourist);
+            touristsByMonth.computeIfAbsent(YearMonth.from(trekDate).toString(),
+                    m -> new HyperLogLog(HLL_PRECISION)).add(tourist);
+            attractions.add(attraction);
+            prices.add(price);
+        }
+
+        void add(BookingRecord record) {
+            add(record.getTouristUsername(), record.getAttractionName(), record.getTrekDate(), record.getTotalPrice());
+        }
+
+        BookingSketches merge(BookingSketches other) {
+            other.touristsByAttraction.forEach((key, counter) ->
+                    touristsByAttraction.merge(key, counter, AnalyticsSketches::union));
+            other.touristsByMonth.forEach((key, counter) ->
+                    touristsByMonth.merge(key, counter, AnalyticsSketches::union));
+            attractions.merge(other.attractions);
+            prices.merge(other.prices);
+            return this;
+        }
+    }
+
+    /** Estimates with their error bounds, copied out at one point in time. */
+    public static class Summary {
+        public final Map<String, Long> distinctTouristsByAttraction;
+        public final Map<String, Long> distinctTouristsByMonth; // "yyyy-mm", in order
+        public final double distinctTouristsError;              // relative standard error
+        public final List<Map.Entry<String, Long>> topAttractions;
+        public final double attractionCountError;               // absolute overcount bound
+        public final List<Map.Entry<String, Long>> topNationalities;
+        public final double nationalityCountError;
+        public final double countConfidence;
+        public final long priceCount;
+        public final double[] priceQuantiles = PRICE_QUANTILES.clone();
+        public final double[] prices = new double[PRICE_QUANTILES.length];
+        public final double[] priceRankErrors = new double[PRICE_QUANTILES.length]; // fraction of bookings
+
+        private Summary() {
+            distinctTouristsByAttraction = estimates(bookingSketches.touristsByAttraction);
+            distinctTouristsByMonth = estimates(bookingSketches.touristsByMonth);
+            distinctTouristsError = HyperLogLog.standardError(HLL_PRECISION);
+            topAttractions = List.copyOf(bookingSketches.attractions.top());
+            attractionCountError = bookingSketches.attractions.errorBound();
+            topNationalities = List.copyOf(nationalities.top());
+            nationalityCountError = nationalities.errorBound();
+            countConfidence = nationalities.confidence();
+            priceCount = bookingSketches.prices.size();
+            for (int i = 0; i < PRICE_QUANTILES.length; i++) {
+                prices[i] = bookingSketches.prices.quantile(PRICE_QUANTILES[i]);
+                priceRankErrors[i] = bookingSketches.prices.rankError(PRICE_QUANTILES[i]);
+            }
+        }
+
+        private static Map<String, Long> estimates(Map<String, HyperLogLog> counters) {
+            Map<String, Long> estimates = new TreeMap<>();
+            counters.forEach((key, counter) -> estimates.put(key, counter.estimate()));
+            return Collections.unmodifiableMap(estimates);
+        }
+    }
+
+    private static BookingSketches bookingSketches;
+    private static CountMinSketch nationalities;
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                if (previous == null) onBookingCreated(booking);
+            }
+
+            @Override
+            public void touristSaved(Tourist tourist, boolean created) {
+                if (created) onTouristCreated(tourist);
+            }
+        });
+    }
+
+    // Builds the sketches on first use with a full parallel scan; call it off the FX thread
+    public static synchronized Summary summary() {
+        if (bookingSketches == null) {
+            rebuild();
+        }
+        return new Summary();
+    }
+
+    public static synchronized void invalidate() {
+        bookingSketches = null;
+        nationalities = null;
+    }
+
+    private static void rebuild() {
+        bookingSketches = BookingAnalytics.run(Collector.of(BookingSketches::new, BookingSketches::add,
+                BookingSketches::merge, Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH));
+        nationalities = new CountMinSketch(CMS_WIDTH, CMS_DEPTH, TOP_K);
+        for (Tourist tourist : FileHandler.loadTourists()) {
+            nationalities.add(tourist.getNationality());
+        }
+    }
+
+    private static synchronized void onBookingCreated(Booking booking) {
+        if (bookingSketches == null) return; // not built yet; the first summary scans the saved file
+        bookingSketches.add(booking.getTouristUsername(), booking.getAttraction().getName(), booking.getTrekDate(),
+                booking.getTotalPrice());
+    }
+
+    private static synchronized void onTouristCreated(Tourist tourist) {
+        if (nationalities == null) return;
+        nationalities.add(tourist.getNationality());
+    }
+
+    private static HyperLogLog union(HyperLogLog a, HyperLogLog b) {
+        a.merge(b);
+        return a;
+    }
+}
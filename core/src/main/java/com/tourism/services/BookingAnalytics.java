@@ -0,0 +1,85 @@
+package com.tourism.services;
+
+import com.tourism.models.BookingRecord;
+import com.tourism.utils.FileHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * Runs analytics jobs over the whole booking history on a ForkJoinPool.
+ *
+ * The bookings file is opened once and split into byte ranges; each leaf task
+ * parses its own range straight into a fresh accumulator, and partial results
+ * are combined pairwise on the way back up the task tree. Workers share only
+ * the read-only channel while scanning, so throughput grows with the cores the
+ * pool has, and a save made meanwhile doesn't tear the scan.
+ *
+ * A job is a Collector over BookingRecords: its supplier, accumulator and
+ * combiner give the mergeable accumulator, its finisher the report. The
+ * combiner must merge partials in any order.
+ */
+public class BookingAnalytics {
+    // Below this a range isn't worth splitting; parsing it is cheaper than the task overhead
+    private static final long MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    public static <A, R> R run(Collector<BookingRecord, A, R> job) {
+        return run(job, ForkJoinPool.commonPool());
+    }
+
+    public static <A, R> R run(Collector<BookingRecord, A, R> job, ForkJoinPool pool) {
+        try (FileChannel bookings = FileHandler.openBookingsSnapshot()) {
+            if (bookings == null) {
+                return job.finisher().apply(job.supplier().get());
+            }
+            long size = bookings.size();
+            // A few chunks per worker, so a worker that finishes early can steal from a slow one
+            long chunk = Math.max(MIN_CHUNK_BYTES, size / ((long) pool.getParallelism() * CHUNKS_PER_WORKER) + 1);
+            return job.finisher().apply(pool.invoke(new ScanTask<>(job, bookings, 0, size, chunk)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read bookings", e);
+        }
+    }
+
+    private static class ScanTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final Collector<BookingRecord, A, ?> job;
+        private final FileChannel bookings;
+        private final long from;
+        private final long to;
+        private final long chunk;
+
+        ScanTask(Collector<BookingRecord, A, ?> job, FileChannel bookings, long from, long to, long chunk) {
+            this.job = job;
+            this.bookings = bookings;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunk) {
+                A accumulator = job.supplier().get();
+                try {
+                    FileHandler.forEachBookingRecord(bookings, from, to,
+                            record -> job.accumulator().accept(accumulator, record));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return accumulator;
+            }
+            long middle = from + (to - from) / 2;
+            ScanTask<A> left = new ScanTask<>(job, bookings, from, middle, chunk);
+            left.fork();
+            A right = new ScanTask<>(job, bookings, middle, to, chunk).compute();
+            return job.combiner().apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.tourism.services;
+
+import com.tourism.events.DomainEvent;
+import com.tourism.events.EventBus;
+import com.tourism.models.Booking;
+import com.tourism.models.BookingChange;
+import com.tourism.models.BookingRecord;
+import com.tourism.utils.BookingChangeLog;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.TimingWheel;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Moves bookings on as their trek dates pass: a pending booking nobody
+ * confirmed by its trek day expires, a confirmed one is completed the day
+ * after its trek, and a week before the trek its cancellation window closes.
+ *
+ * Each open booking's upcoming transitions wait in a TimingWheel of days, so
+ * finding what is due never scans the bookings. The wheel is filled by one
+ * scan on first use and then follows the booking journal, which also carries
+ * changes saved by other processes sharing the data directory. Once a day,
+ * just after midnight, everything due is applied in a single write of the
+ * bookings file; the saves publish StatusChanged as usual, and closed windows
+ * publish CancellationWindowClosed. A failed write is retried a few minutes
+ * later.
+ */
+public class BookingLifecycle {
+    private static final long RETRY_MINUTES = 5;
+    private static final int JOURNAL_PAGE = 4096;
+
+    private enum Kind { EXPIRE, COMPLETE, CLOSE_WINDOW }
+
+    private static final class Transition {
+        final int bookingId;
+        final Kind kind;
+
+        Transition(int bookingId, Kind kind) {
+            this.bookingId = bookingId;
+            this.kind = kind;
+        }
+    }
+
+    /** What one pass applied. */
+    public static final class Batch {
+        public final int expired;
+        public final int completed;
+        public final int windowsClosed;
+        public final boolean saved; // false if the write failed; the transitions stay due
+
+        Batch(int expired, int completed, int windowsClosed, boolean saved) {
+            this.expired = expired;
+            this.completed = completed;
+            this.windowsClosed = windowsClosed;
+            this.saved = saved;
+        }
+    }
+
+    private static TimingWheel<Transition> wheel; // ticks are epoch days
+    private static final Map<Integer, List<TimingWheel.Timer<Transition>>> timers = new HashMap<>();
+    private static long journalOffset;
+
+    private static final ScheduledExecutorService TICKER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static boolean started;
+
+    // Applies whatever is already due, then runs again after each midnight
+    public static synchronized void start() {
+        if (started) return;
+        started = true;
+        TICKER.execute(BookingLifecycle::tick);
+    }
+
+    private static void tick() {
+        long delaySeconds = RETRY_MINUTES * 60;
+        try {
+            if (runDue().saved) delaySeconds = secondsUntilTomorrow();
+        } catch (RuntimeException e) {
+            System.err.println("Error applying booking lifecycle: " + e.getMessage());
+        }
+        TICKER.schedule(BookingLifecycle::tick, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private static long secondsUntilTomorrow() {
+        LocalDateTime now = LocalDateTime.now();
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).getSeconds() + 1;
+    }
+
+    /*
+     * Applies every transition due by today in one write and returns what it
+     * did. Each is checked against the stored booking first, so one made
+     * stale by a later change is skipped.
+     */
+    public static synchronized Batch runDue() {
+        LocalDate today = LocalDate.now();
+        if (wheel == null) {
+            build(today);
+        } else {
+            catchUp();
+        }
+
+        List<Transition> fired = wheel.advanceTo(today.toEpochDay());
+        Set<Integer> bookingIds = new HashSet<>();
+        Set<Integer> closing = new HashSet<>();
+        for (Transition transition : fired) {
+            bookingIds.add(transition.bookingId);
+            if (transition.kind == Kind.CLOSE_WINDOW) closing.add(transition.bookingId);
+        }
+
+        int[] counts = new int[2]; // expired, completed
+        List<Booking> closed = new ArrayList<>();
+        boolean saved = FileHandler.updateBookings(bookingIds, booking -> {
+            String status = booking.getStatus();
+            if ("Pending".equals(status) && !booking.getTrekDate().isAfter(today)) {
+                booking.setStatus("Expired");
+                counts[0]++;
+                return true;
+            }
+            if ("Confirmed".equals(status) && booking.getTrekDate().isBefore(today)) {
+                booking.setStatus("Completed");
+                counts[1]++;
+                return true;
+            }
+            if (closing.contains(booking.getBookingId()) && booking.isUpcoming() && !booking.canBeCancelled()) {
+                closed.add(booking);
+            }
+            return false;
+        });
+
+        if (!saved) {
+            // Still due: the next advance hands them straight back
+            for (Transition transition : fired) {
+                file(today.toEpochDay(), transition);
+            }
+            System.err.println("Booking lifecycle: failed to save " + bookingIds.size() + " bookings, will retry");
+            return new Batch(0, 0, 0, false);
+        }
+        for (Booking booking : closed) {
+            EventBus.publish(new DomainEvent.CancellationWindowClosed(booking));
+        }
+        return new Batch(counts[0], counts[1], closed.size(), true);
+    }
+
+    // One scan of the bookings, then the journal from where the scan started
+    private static void build(LocalDate today) {
+        journalOffset = BookingChangeLog.endOffset();
+        // Starting a day back, so windows closing today are still announced
+        wheel = new TimingWheel<>(today.toEpochDay() - 1);
+        List<BookingRecord> open = BookingAnalytics.run(Collectors.filtering(
+                record -> isOpen(record.getStatus()), Collectors.toList()));
+        for (BookingRecord record : open) {
+            schedule(record.getBookingId(), record.getStatus(), record.getTrekDate());
+        }
+        catchUp();
+    }
+
+    private static void catchUp() {
+        try {
+            List<BookingChange> changes;
+            while (!(changes = BookingChangeLog.read(journalOffset, JOURNAL_PAGE)).isEmpty()) {
+                for (BookingChange change : changes) {
+                    if (change.getType() == BookingChange.Type.DELETED) {
+                        unschedule(change.getBookingId());
+                    } else {
+                        schedule(change.getBookingId(), change.getStatus(), change.getTrekDate());
+                    }
+                    journalOffset = change.getNextOffset();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading booking journal: " + e.getMessage());
+        }
+    }
+
+    // Replaces the booking's pending transitions with those its current status and date call for
+    private static void schedule(int bookingId, String status, LocalDate trekDate) {
+        unschedule(bookingId);
+        if (!isOpen(status)) return;
+
+        if ("Pending".equals(status)) {
+            file(trekDate.toEpochDay(), new Transition(bookingId, Kind.EXPIRE));
+        } else {
+            file(trekDate.plusDays(1).toEpochDay(), new Transition(bookingId, Kind.COMPLETE));
+        }
+        // Only a window still open is worth announcing when it closes
+        long windowCloses = trekDate.minusDays(Booking.CANCELLATION_NOTICE_DAYS).toEpochDay();
+        if (windowCloses > wheel.now()) {
+            file(windowCloses, new Transition(bookingId, Kind.CLOSE_WINDOW));
+        }
+    }
+
+    private static void file(long day, Transition transition) {
+        timers.computeIfAbsent(transition.bookingId, id -> new ArrayList<>(2))
+                .add(wheel.schedule(day, transition));
+    }
+
+    private static void unschedule(int bookingId) {
+        List<TimingWheel.Timer<Transition>> pending = timers.remove(bookingId);
+        if (pending != null) pending.forEach(TimingWheel.Timer::cancel);
+    }
+
+    private static boolean isOpen(String status) {
+        return "Pending".equals(status) || "Confirmed".equals(status);
+    }
+}
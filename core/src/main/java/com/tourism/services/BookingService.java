@@ -0,0 +1,241 @@
+package com.tourism.services;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.Guide;
+import com.tourism.utils.FileHandler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Booking rules shared by the dashboards and the batch runner.
+ *
+ * A rejected request throws IllegalArgumentException whose message is fit to
+ * show the user. These methods change the in-memory objects only; callers
+ * persist with save(), on whatever thread suits them.
+ */
+public class BookingService {
+    public static final List<String> STATUSES = List.of("Pending", "Confirmed", "Cancelled", "Completed", "Expired");
+    public static final int MAX_GROUP_SIZE = 12;
+
+    private static boolean idsReserved;
+
+    public static void validateNewBooking(Attraction attraction, Guide guide, LocalDate trekDate) {
+        if (attraction == null || trekDate == null) {
+            throw new IllegalArgumentException("Please select attraction and date!");
+        }
+        if (trekDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot book for past dates!");
+        }
+        if (!attraction.isAvailable()) {
+            throw new IllegalArgumentException("This attraction is fully booked!");
+        }
+        // Check if guide is available and can take bookings (if selected)
+        if (guide != null && !guide.canTakeBooking()) {
+            throw new IllegalArgumentException("Selected guide is not available or has reached maximum bookings!");
+        }
+    }
+
+    /*
+     * Places the attraction has left by the bookings file: its capacity less
+     * its confirmed upcoming bookings, whichever process made them. The
+     * attraction's own count only covers bookings held in this process. Scans
+     * the file, so call it off the FX thread.
+     */
+    public static int storedAvailableSpots(Attraction attraction) {
+        LocalDate today = LocalDate.now();
+        String name = attraction.getName();
+        long taken = BookingAnalytics.run(Collectors.filtering(record -> takesPlace(name, record.getAttractionName(),
+                record.getStatus(), record.getTrekDate(), today), Collectors.counting()));
+        return (int) Math.max(0, attraction.getMaxCapacity() - taken);
+    }
+
+    // Whether booking still has a place by the stored bookings, counted as storedAvailableSpots() does
+    private static boolean hasStoredPlace(Booking booking, List<Booking> stored) {
+        LocalDate today = LocalDate.now();
+        String name = booking.getAttraction().getName();
+        long taken = stored.stream()
+                .filter(other -> other.getBookingId() != booking.getBookingId())
+                .filter(other -> takesPlace(name, other.getAttraction().getName(), other.getStatus(),
+                        other.getTrekDate(), today))
+                .count();
+        return taken < booking.getAttraction().getMaxCapacity();
+    }
+
+    private static boolean takesPlace(String attractionName, String bookedName, String status, LocalDate trekDate,
+                                      LocalDate today) {
+        return "Confirmed".equals(status) && trekDate.isAfter(today) && attractionName.equals(bookedName);
+    }
+
+    // Validates, then creates a confirmed booking at the quoted price with the guide (which may be null)
+    public static Booking createBooking(String touristUsername, Attraction attraction, Guide guide, LocalDate trekDate) {
+        validateNewBooking(attraction, guide, trekDate);
+        reserveExistingIds();
+
+        Booking booking = new Booking(touristUsername, guide, attraction, trekDate);
+        booking.setTotalPrice(PricingService.quote(attraction, guide, trekDate).totalPrice);
+        booking.confirmBooking();
+
+        // Assign booking to guide if selected
+        if (guide != null) {
+            guide.assignBooking(booking);
+        }
+        return booking;
+    }
+
+    /*
+     * Reserves places for a group at once: one confirmed booking per traveler,
+     * all for the tourist and date, priced with the group discount and led by
+     * the same guide (which may be null). The group treks together, so the
+     * guide's availability is checked once and the group is one trek of
+     * their load (see Guide.getTrekCount). Nothing is saved; persist with
+     * saveGroup(), which recounts the places against the stored bookings and
+     * gives them back if the write fails.
+     */
+    public static List<Booking> createGroupBooking(String touristUsername, Attraction attraction, Guide guide,
+                                                   LocalDate trekDate, int travelers) {
+        if (travelers < 2 || travelers > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("A group booking is for 2 to " + MAX_GROUP_SIZE + " travelers!");
+        }
+        validateNewBooking(attraction, guide, trekDate);
+        if (attraction.getAvailableSpots() < travelers) {
+            throw new IllegalArgumentException("Only " + attraction.getAvailableSpots()
+                    + " places are left on this attraction!");
+        }
+        reserveExistingIds();
+
+        double price = PricingService.groupQuote(attraction, guide, trekDate, travelers).perTravelerPrice;
+        List<Booking> group = new ArrayList<>(travelers);
+        for (int i = 0; i < travelers; i++) {
+            Booking booking = new Booking(touristUsername, guide, attraction, trekDate);
+            booking.setTotalPrice(price);
+            booking.confirmBooking(); // takes a place and assigns the guide
+            group.add(booking);
+        }
+        return group;
+    }
+
+    // New ids must not collide with stored bookings, even if none were loaded in this process
+    private static synchronized void reserveExistingIds() {
+        if (!idsReserved) {
+            Booking.reserveIdsThrough(FileHandler.maxBookingId());
+            idsReserved = true;
+        }
+    }
+
+    public static void updateBooking(Booking booking, LocalDate newDate, Guide newGuide) {
+        if (newDate == null) {
+            throw new IllegalArgumentException("Please select a valid date!");
+        }
+        if (newDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot update to a past date!");
+        }
+        // Check if new guide can take booking (if changed)
+        if (newGuide != null && !newGuide.equals(booking.getGuide()) && !newGuide.canTakeBooking()) {
+            throw new IllegalArgumentException("Selected guide is not available or has reached maximum bookings!");
+        }
+
+        // Remove booking from old guide
+        if (booking.getGuide() != null) {
+            booking.getGuide().removeBooking(booking);
+        }
+
+        booking.setTrekDate(newDate);
+        booking.setGuide(newGuide);
+
+        // A new date or guide is a new quote; nothing else reprices a booking
+        PricingService.Quote quote = PricingService.quote(booking.getAttraction(), newGuide, newDate);
+        booking.setFestivalDiscountApplied(quote.festivalSeason);
+        booking.setTotalPrice(quote.totalPrice);
+
+        if (newGuide != null) {
+            newGuide.assignBooking(booking);
+        }
+    }
+
+    // Undoes createBooking() for a booking that was never saved: gives back its place and its guide
+    public static void releaseBooking(Booking booking) {
+        booking.getAttraction().decrementBookings();
+        if (booking.getGuide() != null) {
+            booking.getGuide().removeBooking(booking);
+        }
+    }
+
+    // Undoes updateBooking() or a guide assignment whose save failed, from the values noted before it
+    public static void restoreBooking(Booking booking, LocalDate trekDate, Guide guide, double totalPrice,
+                                      boolean festivalDiscountApplied) {
+        if (booking.getGuide() != null) {
+            booking.getGuide().removeBooking(booking);
+        }
+        booking.setTrekDate(trekDate);
+        booking.setGuide(guide);
+        booking.setFestivalDiscountApplied(festivalDiscountApplied);
+        booking.setTotalPrice(totalPrice);
+        if (guide != null) {
+            guide.assignBooking(booking);
+        }
+    }
+
+    // Undoes cancelBooking() whose save failed; previousStatus is the status before it
+    public static void restoreCancelled(Booking booking, String previousStatus) {
+        if ("Cancelled".equals(booking.getStatus()) && !"Cancelled".equals(previousStatus)) {
+            booking.setStatus(previousStatus);
+            booking.getAttraction().incrementBookings();
+        }
+        if (booking.getGuide() != null) {
+            booking.getGuide().assignBooking(booking);
+        }
+    }
+
+    public static void cancelBooking(Booking booking) {
+        if ("Cancelled".equals(booking.getStatus())) {
+            throw new IllegalArgumentException("This booking is already cancelled!");
+        }
+
+        // Remove from guide if assigned
+        if (booking.getGuide() != null) {
+            booking.getGuide().removeBooking(booking);
+        }
+        booking.cancelBooking();
+    }
+
+    // Admin override: sets the status as given, without the cancellation window or capacity rules
+    public static void updateStatus(Booking booking, String status) {
+        if (!STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Unknown booking status: " + status);
+        }
+        if (status.equals(booking.getStatus())) {
+            throw new IllegalArgumentException("Booking is already " + status + "!");
+        }
+        booking.setStatus(status);
+    }
+
+    public static boolean save(Booking booking) {
+        return FileHandler.saveBooking(booking);
+    }
+
+    /*
+     * Saves every booking in the group in one write, or none; if nothing was
+     * saved the places are released. The places are recounted from the stored
+     * bookings under the file lock, so two processes can't both take the last
+     * ones: if the whole group no longer fits, the save conflicts.
+     */
+    public static boolean saveGroup(List<Booking> group) {
+        boolean saved = false;
+        try {
+            saved = FileHandler.saveBookings(group, BookingService::hasStoredPlace);
+            return saved;
+        } finally {
+            if (!saved) releaseGroup(group);
+        }
+    }
+
+    private static void releaseGroup(List<Booking> group) {
+        for (Booking booking : group) {
+            releaseBooking(booking);
+        }
+    }
+}
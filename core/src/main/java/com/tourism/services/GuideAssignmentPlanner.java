@@ -0,0 +1,370 @@
+package com.tourism.services;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.Guide;
+import com.tourism.models.Tourist;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.Hungarian;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns guides to every open booking at once: upcoming, pending or
+ * confirmed, and without a guide.
+ *
+ * Each booking/guide pair gets a score out of 80 that is shown with the
+ * match, for speaking the tourist's language (nationality decides which),
+ * experience fitting the attraction's difficulty and spare capacity under
+ * the Guide.MAX_BOOKINGS load cap, counted in treks. A guide leads one trek a day, so the
+ * bookings of each trek date form their own weighted bipartite matching,
+ * solved with the Hungarian algorithm; dates are solved in parallel. A group
+ * (one tourist's bookings for an attraction and date) is one row of it, so
+ * the whole group gets the same guide or none. The load
+ * cap is what ties dates together: a guide matched on more dates than they
+ * have room for keeps their best-scoring matches and sits out while the other
+ * dates are solved again, until no guide is over. The plan is committed with
+ * one batch write.
+ */
+public class GuideAssignmentPlanner {
+    private static final int NATIVE_LANGUAGE_SCORE = 40;
+    private static final int ENGLISH_SCORE = 20;
+    private static final int EXPERIENCE_SCORE = 30;      // exact fit; each spare year costs 2, down to 10
+    private static final int LOAD_SCORE = 10;            // in proportion to free capacity
+    private static final long UNMATCHED_COST = 0;
+    private static final long FORBIDDEN_COST = 1_000_000;
+
+    private static final Map<String, Integer> REQUIRED_YEARS = Map.of("easy", 0, "medium", 2, "hard", 5);
+
+    // Lower-case nationality or country -> languages a guide could lead in; anyone else gets English
+    private static final Map<String, List<String>> LANGUAGES = new HashMap<>();
+
+    static {
+        language("Nepali", "nepal", "nepali", "nepalese");
+        language("Hindi", "india", "indian");
+        language("Chinese", "china", "chinese", "taiwan", "taiwanese");
+        language("Mandarin", "china", "chinese", "taiwan", "taiwanese");
+        language("Japanese", "japan", "japanese");
+        language("Korean", "korea", "south korea", "korean");
+        language("German", "germany", "german", "austria", "austrian", "switzerland", "swiss");
+        language("French", "france", "french", "belgium", "belgian");
+        language("Spanish", "spain", "spanish", "mexico", "mexican", "argentina", "argentinian", "chile", "colombia");
+        language("Italian", "italy", "italian");
+        language("Russian", "russia", "russian");
+        language("Dutch", "netherlands", "dutch");
+        language("Portuguese", "portugal", "portuguese", "brazil", "brazilian");
+        language("Hebrew", "israel", "israeli");
+        language("Thai", "thailand", "thai");
+        language("Bengali", "bangladesh", "bangladeshi");
+        language("Sinhala", "sri lanka", "sri lankan");
+        language("Urdu", "pakistan", "pakistani");
+    }
+
+    private static void language(String language, String... nationalities) {
+        for (String nationality : nationalities) {
+            LANGUAGES.computeIfAbsent(nationality, n -> new ArrayList<>()).add(language);
+        }
+    }
+
+    /** A proposed assignment with the score it won by and why. */
+    public static class Match {
+        public final Booking booking;
+        public final Guide guide;
+        public final int score;
+        public final String explanation;
+
+        private Match(Booking booking, Guide guide, int score, String explanation) {
+            this.booking = booking;
+            this.guide = guide;
+            this.score = score;
+            this.explanation = explanation;
+        }
+    }
+
+    /** The proposed matches, best first, and the open bookings no guide could take. */
+    public static class Plan {
+        public final List<Match> matches;
+        public final List<Booking> unmatched;
+        public final int rounds;
+
+        private Plan(List<Match> matches, List<Booking> unmatched, int rounds) {
+            this.matches = matches;
+            this.unmatched = unmatched;
+            this.rounds = rounds;
+        }
+
+        public double getAverageScore() {
+            return matches.stream().mapToInt(match -> match.score).average().orElse(0.0);
+        }
+    }
+
+    /** What commit() saved, and the matches it skipped because the booking or guide changed since the plan. */
+    public static class Commit {
+        public final List<Match> assigned;
+        public final List<Match> skipped;
+        public final boolean saved; // false if the write failed; nothing was assigned
+
+        private Commit(List<Match> assigned, List<Match> skipped, boolean saved) {
+            this.assigned = assigned;
+            this.skipped = skipped;
+            this.saved = saved;
+        }
+    }
+
+    // Plans against what is on disk; does I/O, so call it off the FX thread
+    public static Plan plan() {
+        Map<String, String> nationalities = new HashMap<>();
+        for (Tourist tourist : FileHandler.loadTourists()) {
+            nationalities.put(tourist.getUsername(), tourist.getNationality());
+        }
+        List<Attraction> attractions = FileHandler.loadAttractions();
+        List<Guide> guides = FileHandler.loadGuides();
+        return plan(FileHandler.loadBookings(attractions, guides), guides, nationalities, LocalDate.now());
+    }
+
+    public static Plan plan(List<Booking> bookings, List<Guide> guides, Map<String, String> nationalities,
+                            LocalDate today) {
+        // What each guide already has ahead of them
+        Map<String, Set<LocalDate>> busy = new HashMap<>();
+        countLoad(bookings, today, busy);
+        Map<LocalDate, List<Booking>> openByDate = new TreeMap<>();
+        for (Booking booking : bookings) {
+            if (isUpcoming(booking, today) && booking.getGuideUsername().isEmpty()) {
+                openByDate.computeIfAbsent(booking.getTrekDate(), d -> new ArrayList<>()).add(booking);
+            }
+        }
+        Map<Guide, Integer> capacity = new HashMap<>();
+        for (Guide guide : guides) {
+            int free = guide.isAvailable()
+                    ? Guide.MAX_BOOKINGS - busy.getOrDefault(guide.getUsername(), Set.of()).size() : 0;
+            if (free > 0) capacity.put(guide, free);
+        }
+
+        Map<LocalDate, List<Match>> matchesByDate = new ConcurrentHashMap<>();
+        List<Match> settled = new ArrayList<>();
+        Set<LocalDate> pending = new HashSet<>(openByDate.keySet());
+        int rounds = 0;
+        while (!pending.isEmpty()) {
+            rounds++;
+            Map<Guide, Integer> remaining = Map.copyOf(capacity);
+            pending.parallelStream().forEach(date -> matchesByDate.put(date,
+                    solveDate(openByDate.get(date), remaining, busy, nationalities)));
+            pending.clear();
+
+            // Guides matched on more dates than their capacity keep their best treks and drop out of the others
+            Map<Guide, Map<LocalDate, List<Match>>> byGuide = matchesByDate.values().stream().flatMap(List::stream)
+                    .collect(Collectors.groupingBy(match -> match.guide,
+                            Collectors.groupingBy(match -> match.booking.getTrekDate())));
+            for (Map.Entry<Guide, Map<LocalDate, List<Match>>> entry : byGuide.entrySet()) {
+                Guide guide = entry.getKey();
+                Map<LocalDate, List<Match>> treks = entry.getValue();
+                if (treks.size() <= capacity.get(guide)) continue;
+                // A guide has one trek per date, so every match of a date scores the same
+                List<LocalDate> dates = new ArrayList<>(treks.keySet());
+                dates.sort(Comparator.comparingInt((LocalDate date) -> treks.get(date).get(0).score).reversed()
+                        .thenComparing(Comparator.naturalOrder()));
+                for (LocalDate kept : dates.subList(0, capacity.get(guide))) {
+                    for (Match match : treks.get(kept)) {
+                        settled.add(match);
+                        openByDate.get(kept).remove(match.booking);
+                    }
+                    busy.computeIfAbsent(guide.getUsername(), g -> new HashSet<>()).add(kept);
+                }
+                capacity.remove(guide);
+                pending.addAll(dates);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(settled);
+        matchesByDate.values().forEach(matches::addAll);
+        matches.sort(Comparator.comparingInt((Match match) -> match.score).reversed()
+                .thenComparing(match -> match.booking.getTrekDate()));
+        Set<Booking> matched = matches.stream().map(match -> match.booking).collect(Collectors.toSet());
+        List<Booking> unmatched = new ArrayList<>();
+        for (List<Booking> open : openByDate.values()) {
+            for (Booking booking : open) {
+                if (!matched.contains(booking)) unmatched.add(booking);
+            }
+        }
+        return new Plan(matches, unmatched, rounds);
+    }
+
+    /*
+     * Assigns the matches that still hold and saves them in one write. Each
+     * booking is checked again under the bookings lock against what is stored
+     * then: still open and upcoming, still without a guide, and the guide still
+     * free that day (or leading the same group then) and under the load cap.
+     * Matches that no longer hold are skipped rather than failing the rest;
+     * run plan() again to place them.
+     */
+    public static Commit commit(Plan plan) {
+        Map<Integer, Match> byBooking = new HashMap<>();
+        for (Match match : plan.matches) {
+            byBooking.put(match.booking.getBookingId(), match);
+        }
+        LocalDate today = LocalDate.now();
+        Map<String, Set<LocalDate>> busy = new HashMap<>();
+        Set<String> led = new HashSet<>(); // guide and group of each upcoming trek, so a group's rest can join it
+        boolean[] counted = new boolean[1];
+        Set<Integer> assigned = new HashSet<>();
+
+        boolean saved = FileHandler.updateBookings(byBooking.keySet(), (booking, stored) -> {
+            if (!counted[0]) {
+                countLoad(stored, today, busy);
+                for (Booking other : stored) {
+                    if (isUpcoming(other, today) && !other.getGuideUsername().isEmpty()) {
+                        led.add(other.getGuideUsername() + "|" + groupKey(other));
+                    }
+                }
+                counted[0] = true;
+            }
+            Match match = byBooking.get(booking.getBookingId());
+            String guide = match.guide.getUsername();
+            Set<LocalDate> days = busy.computeIfAbsent(guide, g -> new HashSet<>());
+            if (!isUpcoming(booking, today) || !booking.getGuideUsername().isEmpty()) {
+                return false;
+            }
+            boolean joinsTrek = led.contains(guide + "|" + groupKey(booking));
+            if (!joinsTrek && (days.contains(booking.getTrekDate()) || days.size() >= Guide.MAX_BOOKINGS)) {
+                return false;
+            }
+            booking.setGuide(match.guide);
+            days.add(booking.getTrekDate());
+            led.add(guide + "|" + groupKey(booking));
+            assigned.add(booking.getBookingId());
+            return true;
+        });
+        if (!saved) assigned.clear();
+
+        List<Match> committed = new ArrayList<>();
+        List<Match> skipped = new ArrayList<>();
+        for (Match match : plan.matches) {
+            if (assigned.contains(match.booking.getBookingId())) {
+                match.booking.setGuide(match.guide);
+                match.guide.assignBooking(match.booking);
+                committed.add(match);
+            } else {
+                skipped.add(match);
+            }
+        }
+        return new Commit(committed, skipped, saved);
+    }
+
+    // The days each guide already leads an upcoming trek; a group on one day is one trek of their load
+    private static void countLoad(List<Booking> bookings, LocalDate today, Map<String, Set<LocalDate>> busy) {
+        for (Booking booking : bookings) {
+            String guide = booking.getGuideUsername();
+            if (!isUpcoming(booking, today) || guide.isEmpty()) continue;
+            busy.computeIfAbsent(guide, g -> new HashSet<>()).add(booking.getTrekDate());
+        }
+    }
+
+    // One tourist's bookings for an attraction on a date are a group that treks together
+    private static String groupKey(Booking booking) {
+        return booking.getTouristUsername() + "|" + booking.getAttraction().getName() + "|" + booking.getTrekDate();
+    }
+
+    private static boolean isUpcoming(Booking booking, LocalDate today) {
+        String status = booking.getStatus();
+        return ("Pending".equals(status) || "Confirmed".equals(status)) && !booking.getTrekDate().isBefore(today);
+    }
+
+    // One trek date: groups are rows; each guide free that day is a column, plus one "no guide" column per group
+    private static List<Match> solveDate(List<Booking> bookings, Map<Guide, Integer> capacity,
+                                         Map<String, Set<LocalDate>> busy, Map<String, String> nationalities) {
+        if (bookings.isEmpty()) return new ArrayList<>();
+        LocalDate date = bookings.get(0).getTrekDate();
+        List<List<Booking>> groups = new ArrayList<>(bookings.stream()
+                .collect(Collectors.groupingBy(GuideAssignmentPlanner::groupKey, TreeMap::new, Collectors.toList()))
+                .values());
+        List<Guide> guides = new ArrayList<>();
+        for (Guide guide : capacity.keySet()) {
+            if (!busy.getOrDefault(guide.getUsername(), Set.of()).contains(date)) guides.add(guide);
+        }
+        guides.sort(Comparator.comparing(Guide::getUsername)); // same plan from the same data
+
+        int n = groups.size();
+        long[][] cost = new long[n][guides.size() + n];
+        int[][] scores = new int[n][guides.size()];
+        for (int i = 0; i < n; i++) {
+            Booking first = groups.get(i).get(0);
+            String nationality = nationalities.getOrDefault(first.getTouristUsername(), "");
+            for (int j = 0; j < guides.size(); j++) {
+                scores[i][j] = score(first, nationality, guides.get(j), capacity.get(guides.get(j)), null);
+                cost[i][j] = scores[i][j] < 0 ? FORBIDDEN_COST : -scores[i][j];
+            }
+            for (int j = guides.size(); j < guides.size() + n; j++) {
+                cost[i][j] = UNMATCHED_COST;
+            }
+        }
+
+        int[] assigned = Hungarian.solve(cost);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int j = assigned[i];
+            if (j >= guides.size() || scores[i][j] < 0) continue;
+            List<Booking> group = groups.get(i);
+            Guide guide = guides.get(j);
+            StringBuilder explanation = new StringBuilder();
+            score(group.get(0), nationalities.getOrDefault(group.get(0).getTouristUsername(), ""), guide,
+                    capacity.get(guide), explanation);
+            if (group.size() > 1) explanation.append(", group of ").append(group.size());
+            for (Booking booking : group) {
+                matches.add(new Match(booking, guide, scores[i][j], explanation.toString()));
+            }
+        }
+        return matches;
+    }
+
+    /*
+     * Score out of 80 for the guide leading this booking, or -1 if they can't:
+     * too little experience for the difficulty. When explanation is given, the
+     * parts of the score are described there.
+     */
+    private static int score(Booking booking, String nationality, Guide guide, int freeCapacity,
+                             StringBuilder explanation) {
+        String difficulty = booking.getAttraction().getDifficulty();
+        int required = REQUIRED_YEARS.getOrDefault(difficulty == null ? "" : difficulty.toLowerCase(Locale.ROOT), 0);
+        int years = guide.getExperienceYears();
+        if (years < required) return -1;
+
+        int languageScore = 0;
+        String language = null;
+        List<String> spoken = guide.getLanguages().stream().map(l -> l.trim().toLowerCase(Locale.ROOT)).toList();
+        for (String wanted : LANGUAGES.getOrDefault(nationality.trim().toLowerCase(Locale.ROOT), List.of())) {
+            if (spoken.contains(wanted.toLowerCase(Locale.ROOT))) {
+                languageScore = NATIVE_LANGUAGE_SCORE;
+                language = wanted;
+                break;
+            }
+        }
+        if (language == null && spoken.contains("english")) {
+            languageScore = ENGLISH_SCORE;
+            language = "English";
+        }
+        // Senior guides are better spent on harder treks
+        int experienceScore = Math.max(EXPERIENCE_SCORE / 3, EXPERIENCE_SCORE - 2 * (years - required));
+        int loadScore = LOAD_SCORE * freeCapacity / Guide.MAX_BOOKINGS;
+
+        if (explanation != null) {
+            explanation.append(language != null ? "speaks " + language : "no shared language")
+                    .append(" (+").append(languageScore).append("), ")
+                    .append(years).append(" yrs for ").append(difficulty).append(" trek (+")
+                    .append(experienceScore).append("), ")
+                    .append(freeCapacity).append(" of ").append(Guide.MAX_BOOKINGS).append(" slots free (+")
+                    .append(loadScore).append(")");
+        }
+        return languageScore + experienceScore + loadScore;
+    }
+}
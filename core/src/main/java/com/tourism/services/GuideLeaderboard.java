@@ -0,0 +1,231 @@
+package com.tourism.services;
+
+import com.tourism.models.Booking;
+import com.tourism.models.BookingRecord;
+import com.tourism.models.Guide;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.Leaderboard;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
+
+/**
+ * Guides ranked by commission earned and by treks assigned.
+ *
+ * Built with one BookingAnalytics scan on first use, then kept current from
+ * FileHandler's record events: each saved or deleted booking takes its old
+ * assignment back off its guide's scores and adds the new one, so assigning,
+ * cancelling or completing a trek costs O(log n) however many guides and
+ * bookings there are. Earnings count confirmed and completed bookings, as the
+ * revenue totals do; busiest counts treks not cancelled, where a guide's
+ * bookings on one date are one trek, so a group booking counts once.
+ */
+public class GuideLeaderboard {
+
+    // What one booking currently adds to its guide's scores
+    private static class Assignment {
+        final String guide;
+        final LocalDate trekDate;
+        final double commission;
+        final boolean active;
+
+        Assignment(String guide, LocalDate trekDate, boolean earning, boolean cancelled, double price) {
+            this.guide = guide;
+            this.trekDate = trekDate;
+            this.commission = earning ? price * Guide.COMMISSION_RATE : 0.0;
+            this.active = !cancelled;
+        }
+
+        static Assignment of(Booking booking) {
+            String status = booking.getStatus();
+            return new Assignment(booking.getGuideUsername(), booking.getTrekDate(),
+                    "Confirmed".equals(status) || "Completed".equals(status),
+                    "Cancelled".equals(status), booking.getTotalPrice());
+        }
+
+        static Assignment of(BookingRecord record) {
+            return new Assignment(record.getGuideUsername(), record.getTrekDate(), record.isEarning(),
+                    record.isCancelled(), record.getTotalPrice());
+        }
+    }
+
+    /** One guide's place on both boards. Ranks are 1-based, 0 if the guide is unknown. */
+    public static class Standing {
+        public final int earningsRank;
+        public final int treksRank;
+        public final int guideCount;
+        public final double earnings;
+        public final long treks;
+
+        private Standing(String username) {
+            this.earningsRank = earningsBoard().rank(username);
+            this.treksRank = treksBoard().rank(username);
+            this.guideCount = earningsBoard().size();
+            this.earnings = earningsBoard().score(username);
+            this.treks = Math.round(treksBoard().score(username));
+        }
+    }
+
+    private static Map<Integer, Assignment> assignments; // by booking id, guided bookings only
+    private static Map<String, Map<LocalDate, Integer>> activeTreks; // guide -> trek date -> active bookings
+    private static Leaderboard earningsBoard;
+    private static Leaderboard treksBoard;
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                onBookingSaved(booking);
+            }
+
+            @Override
+            public void bookingDeleted(int bookingId) {
+                onBookingDeleted(bookingId);
+            }
+
+            @Override
+            public void guideSaved(Guide guide) {
+                onGuideSaved(guide.getUsername());
+            }
+
+            @Override
+            public void guideDeleted(String username) {
+                onGuideDeleted(username);
+            }
+        });
+    }
+
+    // Highest-earning guides with their commission, highest first; scans on first use
+    public static synchronized List<Map.Entry<String, Double>> topEarners(int k) {
+        return earningsBoard().top(k);
+    }
+
+    // Guides with the most active treks, most first
+    public static synchronized List<Map.Entry<String, Long>> busiest(int k) {
+        return treksBoard().top(k).stream()
+                .map(entry -> Map.entry(entry.getKey(), Math.round(entry.getValue())))
+                .toList();
+    }
+
+    public static synchronized Standing standing(String username) {
+        return new Standing(username);
+    }
+
+    // Drops everything so the next query rescans the files
+    public static synchronized void invalidate() {
+        assignments = null;
+        activeTreks = null;
+        earningsBoard = null;
+        treksBoard = null;
+    }
+
+    private static Leaderboard earningsBoard() {
+        if (assignments == null) rebuild();
+        return earningsBoard;
+    }
+
+    private static Leaderboard treksBoard() {
+        if (assignments == null) rebuild();
+        return treksBoard;
+    }
+
+    private static void rebuild() {
+        Map<Integer, Assignment> scanned = BookingAnalytics.run(Collector.of(HashMap<Integer, Assignment>::new,
+                (map, record) -> {
+                    if (!record.getGuideUsername().isEmpty()) map.put(record.getBookingId(), Assignment.of(record));
+                },
+                (a, b) -> {
+                    a.putAll(b);
+                    return a;
+                },
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH));
+
+        // Totals per guide first, so each guide goes into the skip lists once
+        Map<String, double[]> totals = new HashMap<>();
+        for (Guide guide : FileHandler.loadGuides()) {
+            totals.put(guide.getUsername(), new double[1]);
+        }
+        Map<String, Map<LocalDate, Integer>> treks = new HashMap<>();
+        for (Assignment assignment : scanned.values()) {
+            double[] guideTotals = totals.get(assignment.guide);
+            if (guideTotals == null) continue; // guide since deleted
+            guideTotals[0] += assignment.commission;
+            if (assignment.active) {
+                treks.computeIfAbsent(assignment.guide, g -> new HashMap<>())
+                        .merge(assignment.trekDate, 1, Integer::sum);
+            }
+        }
+        earningsBoard = new Leaderboard();
+        treksBoard = new Leaderboard();
+        totals.forEach((guide, guideTotals) -> {
+            earningsBoard.put(guide, guideTotals[0]);
+            treksBoard.put(guide, treks.getOrDefault(guide, Map.of()).size());
+        });
+        activeTreks = treks;
+        assignments = scanned;
+    }
+
+    private static synchronized void onBookingSaved(Booking booking) {
+        if (assignments == null) return; // not built yet; the first query reads the saved file
+        Assignment previous = booking.getGuideUsername().isEmpty()
+                ? assignments.remove(booking.getBookingId())
+                : assignments.put(booking.getBookingId(), Assignment.of(booking));
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        if (!booking.getGuideUsername().isEmpty()) {
+            adjust(assignments.get(booking.getBookingId()), 1);
+        }
+    }
+
+    private static synchronized void onBookingDeleted(int bookingId) {
+        if (assignments == null) return;
+        Assignment removed = assignments.remove(bookingId);
+        if (removed != null) {
+            adjust(removed, -1);
+        }
+    }
+
+    // A new guide may already be named on bookings, e.g. one deleted and added back. Rare, so a scan will do
+    private static synchronized void onGuideSaved(String username) {
+        if (assignments == null || earningsBoard.contains(username)) return;
+        double commission = 0.0;
+        Map<LocalDate, Integer> treks = new HashMap<>();
+        for (Assignment assignment : assignments.values()) {
+            if (assignment.guide.equals(username)) {
+                commission += assignment.commission;
+                if (assignment.active) treks.merge(assignment.trekDate, 1, Integer::sum);
+            }
+        }
+        activeTreks.put(username, treks);
+        earningsBoard.put(username, commission);
+        treksBoard.put(username, treks.size());
+    }
+
+    private static synchronized void onGuideDeleted(String username) {
+        if (assignments == null) return;
+        activeTreks.remove(username);
+        earningsBoard.remove(username);
+        treksBoard.remove(username);
+    }
+
+    // Only guides on file are ranked; bookings naming any other guide are kept but not scored.
+    // A trek counts while any of its bookings is active, so only the first and last booking move the board
+    private static void adjust(Assignment assignment, int sign) {
+        if (!earningsBoard.contains(assignment.guide)) return;
+        earningsBoard.add(assignment.guide, sign * assignment.commission);
+        if (!assignment.active) return;
+        Map<LocalDate, Integer> treks = activeTreks.computeIfAbsent(assignment.guide, g -> new HashMap<>());
+        int before = treks.getOrDefault(assignment.trekDate, 0);
+        int after = before + sign;
+        if (after > 0) {
+            treks.put(assignment.trekDate, after);
+        } else {
+            treks.remove(assignment.trekDate);
+        }
+        if (before == 0 || after == 0) treksBoard.add(assignment.guide, sign);
+    }
+}
@@ -0,0 +1,96 @@
+package com.tourism.services;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Guide;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * Quote rules for a trek: attraction price for the date plus the optional
+ * guide fee, less a group discount when several travelers book together.
+ * Pure and thread-safe, so it can run on any worker.
+ */
+public class PricingService {
+    public static final double GUIDE_FEE_PERCENTAGE = 0.15; // 15% guide fee
+    // Group discounts on each traveler's price, largest group size first
+    private static final int[] GROUP_SIZES = {8, 4};
+    private static final double[] GROUP_DISCOUNTS = {0.10, 0.05};
+
+    /** A priced selection, with the label text already formatted. */
+    public static class Quote {
+        public final double basePrice;
+        public final double guideFee;
+        public final double totalPrice;
+        public final boolean festivalSeason;
+        public final boolean withGuide;
+        public final String basePriceText;
+        public final String totalPriceText;
+        public final String guideFeeText;
+
+        Quote(double basePrice, double guideFee, boolean festivalSeason, boolean withGuide) {
+            this.basePrice = basePrice;
+            this.guideFee = guideFee;
+            this.totalPrice = basePrice + guideFee;
+            this.festivalSeason = festivalSeason;
+            this.withGuide = withGuide;
+            this.basePriceText = "$" + String.format("%.2f", basePrice);
+            this.totalPriceText = "$" + String.format("%.2f", totalPrice);
+            this.guideFeeText = withGuide
+                    ? "(+$" + String.format("%.2f", guideFee) + " guide fee)"
+                    : "(no guide selected)";
+        }
+    }
+
+    /** A quote for several travelers on the same trek; every traveler pays perTravelerPrice. */
+    public static class GroupQuote {
+        public final Quote single;
+        public final int travelers;
+        public final double discountRate;
+        public final double perTravelerPrice;
+        public final double totalPrice;
+        public final String totalPriceText;
+        public final String detailText;
+
+        GroupQuote(Quote single, int travelers) {
+            this.single = single;
+            this.travelers = travelers;
+            this.discountRate = groupDiscount(travelers);
+            this.perTravelerPrice = single.totalPrice * (1 - discountRate);
+            this.totalPrice = perTravelerPrice * travelers;
+            this.totalPriceText = "$" + String.format("%.2f", totalPrice);
+            this.detailText = travelers + " travelers x $" + String.format("%.2f", perTravelerPrice)
+                    + (discountRate > 0 ? " (" + Math.round(discountRate * 100) + "% group discount)" : "")
+                    + (single.withGuide ? ", guide fee included" : "");
+        }
+    }
+
+    // Guide may be null
+    public static Quote quote(Attraction attraction, Guide guide, LocalDate trekDate) {
+        boolean festivalSeason = isFestivalSeason(trekDate);
+        double basePrice = attraction.calculatePrice(festivalSeason);
+        double guideFee = guide != null ? basePrice * GUIDE_FEE_PERCENTAGE : 0.0;
+        return new Quote(basePrice, guideFee, festivalSeason, guide != null);
+    }
+
+    public static GroupQuote groupQuote(Attraction attraction, Guide guide, LocalDate trekDate, int travelers) {
+        return groupQuote(quote(attraction, guide, trekDate), travelers);
+    }
+
+    // Prices a group from a quote already made for one traveler
+    public static GroupQuote groupQuote(Quote single, int travelers) {
+        return new GroupQuote(single, travelers);
+    }
+
+    public static double groupDiscount(int travelers) {
+        for (int i = 0; i < GROUP_SIZES.length; i++) {
+            if (travelers >= GROUP_SIZES[i]) return GROUP_DISCOUNTS[i];
+        }
+        return 0.0;
+    }
+
+    public static boolean isFestivalSeason(LocalDate date) {
+        Month month = date.getMonth();
+        return month == Month.AUGUST || month == Month.SEPTEMBER || month == Month.OCTOBER;
+    }
+}
@@ -0,0 +1,139 @@
+package com.tourism.services;
+
+import com.tourism.models.BookingRecord;
+import com.tourism.models.Guide;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Season review over the booking history: revenue per guide, cancellation
+ * rates overall and per attraction, and how festival-discounted treks compare
+ * with full-price ones.
+ *
+ * Run it with BookingAnalytics.run(SeasonReview.between(from, to)). Guide
+ * commission is applied once per guide to the summed revenue, not per row.
+ */
+public class SeasonReview {
+
+    /** Booking counts and revenue for one group of bookings. */
+    public static class Totals {
+        private long bookings;
+        private long cancelled;
+        private long earning;
+        private double revenue;
+
+        void add(BookingRecord record) {
+            bookings++;
+            if (record.isCancelled()) cancelled++;
+            if (record.isEarning()) {
+                earning++;
+                revenue += record.getTotalPrice();
+            }
+        }
+
+        Totals merge(Totals other) {
+            bookings += other.bookings;
+            cancelled += other.cancelled;
+            earning += other.earning;
+            revenue += other.revenue;
+            return this;
+        }
+
+        public long getBookings() { return bookings; }
+        public long getCancelled() { return cancelled; }
+        public double getRevenue() { return revenue; }
+
+        public double getCancellationRate() {
+            return bookings == 0 ? 0.0 : (double) cancelled / bookings;
+        }
+
+        // Revenue per confirmed or completed booking
+        public double getAveragePrice() {
+            return earning == 0 ? 0.0 : revenue / earning;
+        }
+
+        public double getGuideCommission() {
+            return revenue * Guide.COMMISSION_RATE;
+        }
+    }
+
+    // Mergeable accumulator: one per scanned chunk, combined pairwise
+    private static class Tally {
+        final LocalDate from;
+        final LocalDate to;
+        final Totals all = new Totals();
+        final Totals festival = new Totals();
+        final Totals fullPrice = new Totals();
+        final Map<String, Totals> guides = new HashMap<>();
+        final Map<String, Totals> attractions = new HashMap<>();
+        final Map<String, Long> statuses = new HashMap<>();
+
+        Tally(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void add(BookingRecord record) {
+            LocalDate date = record.getTrekDate();
+            if ((from != null && date.isBefore(from)) || (to != null && date.isAfter(to))) return;
+
+            all.add(record);
+            (record.isFestivalDiscountApplied() ? festival : fullPrice).add(record);
+            if (!record.getGuideUsername().isEmpty()) {
+                guides.computeIfAbsent(record.getGuideUsername(), g -> new Totals()).add(record);
+            }
+            attractions.computeIfAbsent(record.getAttractionName(), a -> new Totals()).add(record);
+            statuses.merge(record.getStatus(), 1L, Long::sum);
+        }
+
+        Tally merge(Tally other) {
+            all.merge(other.all);
+            festival.merge(other.festival);
+            fullPrice.merge(other.fullPrice);
+            other.guides.forEach((guide, totals) -> guides.merge(guide, totals, Totals::merge));
+            other.attractions.forEach((attraction, totals) -> attractions.merge(attraction, totals, Totals::merge));
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            return this;
+        }
+    }
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Totals all;
+    private final Totals festival;
+    private final Totals fullPrice;
+    private final Map<String, Totals> guides;
+    private final Map<String, Totals> attractions;
+    private final Map<String, Long> statuses;
+
+    private SeasonReview(Tally tally) {
+        this.from = tally.from;
+        this.to = tally.to;
+        this.all = tally.all;
+        this.festival = tally.festival;
+        this.fullPrice = tally.fullPrice;
+        this.guides = Collections.unmodifiableMap(new TreeMap<>(tally.guides));
+        this.attractions = Collections.unmodifiableMap(new TreeMap<>(tally.attractions));
+        this.statuses = Collections.unmodifiableMap(new TreeMap<>(tally.statuses));
+    }
+
+    // Bookings with trek dates in [from, to]; either bound may be null for open-ended
+    public static Collector<BookingRecord, ?, SeasonReview> between(LocalDate from, LocalDate to) {
+        return Collector.of(() -> new Tally(from, to), Tally::add, Tally::merge, SeasonReview::new,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Totals getAll() { return all; }
+    public Totals getFestivalDiscounted() { return festival; }
+    public Totals getFullPrice() { return fullPrice; }
+    public Map<String, Totals> getGuides() { return guides; }           // by username
+    public Map<String, Totals> getAttractions() { return attractions; } // by name
+    public Map<String, Long> getStatusCounts() { return statuses; }
+}
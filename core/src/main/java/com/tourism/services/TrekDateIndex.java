@@ -0,0 +1,175 @@
+package com.tourism.services;
+
+import com.tourism.models.Booking;
+import com.tourism.models.BookingRecord;
+import com.tourism.utils.FileHandler;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collector;
+
+/**
+ * Open (pending or confirmed) bookings by trek date, overall and per guide,
+ * for "upcoming", "still cancellable" and date-range views.
+ *
+ * Keys pack the trek's epoch day above the booking id, as BookingKeyIndex
+ * does, so a range of dates is one subset of a skip list and a query costs
+ * O(log n) plus the bookings it returns. Built with one BookingAnalytics scan
+ * on first use, then kept current from FileHandler's record events; queries
+ * read the concurrent skip lists without taking the lock.
+ */
+public class TrekDateIndex {
+
+    // Open booking id -> its key and guide, to find the old entry when it changes
+    private static final class Entry {
+        final long key;
+        final String guide;
+
+        Entry(long key, String guide) {
+            this.key = key;
+            this.guide = guide;
+        }
+    }
+
+    private static final NavigableSet<Long> byDate = new ConcurrentSkipListSet<>();
+    private static final Map<String, NavigableSet<Long>> byGuide = new ConcurrentHashMap<>();
+    private static final Map<Integer, Entry> entries = new HashMap<>();
+    private static volatile boolean built;
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                onBookingSaved(booking);
+            }
+
+            @Override
+            public void bookingDeleted(int bookingId) {
+                onBookingDeleted(bookingId);
+            }
+        });
+    }
+
+    // Ids of open bookings with trek dates from..to inclusive, by date and then id; either end may be null
+    public static int[] between(LocalDate from, LocalDate to) {
+        ensureBuilt();
+        return ids(range(byDate, from, to));
+    }
+
+    // The guide's open bookings from..to inclusive, as between()
+    public static int[] forGuide(String username, LocalDate from, LocalDate to) {
+        ensureBuilt();
+        NavigableSet<Long> keys = byGuide.get(username);
+        return keys == null ? new int[0] : ids(range(keys, from, to));
+    }
+
+    // Treks in the next days days, as Booking.isUpcoming() counts them
+    public static int[] upcoming(int days) {
+        LocalDate today = LocalDate.now();
+        return between(today.plusDays(1), today.plusDays(days));
+    }
+
+    // Bookings that can still be cancelled, as Booking.canBeCancelled() decides
+    public static int[] cancellable() {
+        return between(LocalDate.now().plusDays(Booking.CANCELLATION_NOTICE_DAYS + 1), null);
+    }
+
+    // Drops everything so the next query rescans the bookings file
+    public static synchronized void invalidate() {
+        built = false;
+        byDate.clear();
+        byGuide.clear();
+        entries.clear();
+    }
+
+    private static NavigableSet<Long> range(NavigableSet<Long> keys, LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            if (from.isAfter(to)) return new ConcurrentSkipListSet<>();
+            return keys.subSet(firstKey(from), true, lastKey(to), true);
+        }
+        if (from != null) return keys.tailSet(firstKey(from), true);
+        if (to != null) return keys.headSet(lastKey(to), true);
+        return keys;
+    }
+
+    private static int[] ids(NavigableSet<Long> keys) {
+        int[] ids = new int[16];
+        int count = 0;
+        for (long key : keys) {
+            if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = (int) key;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static long keyOf(int bookingId, LocalDate trekDate) {
+        return (trekDate.toEpochDay() << 32) | (bookingId & 0xffffffffL);
+    }
+
+    private static long firstKey(LocalDate date) {
+        return date.toEpochDay() << 32;
+    }
+
+    private static long lastKey(LocalDate date) {
+        return (date.toEpochDay() << 32) | 0xffffffffL;
+    }
+
+    private static boolean isOpen(String status) {
+        return "Pending".equals(status) || "Confirmed".equals(status);
+    }
+
+    private static void ensureBuilt() {
+        if (!built) build();
+    }
+
+    private static synchronized void build() {
+        if (built) return;
+        Map<Integer, BookingRecord> open = BookingAnalytics.run(Collector.of(HashMap<Integer, BookingRecord>::new,
+                (map, record) -> {
+                    if (isOpen(record.getStatus())) map.put(record.getBookingId(), record);
+                },
+                (a, b) -> {
+                    a.putAll(b);
+                    return a;
+                },
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH));
+        for (BookingRecord record : open.values()) {
+            add(record.getBookingId(), record.getTrekDate(), record.getGuideUsername());
+        }
+        built = true;
+    }
+
+    private static synchronized void onBookingSaved(Booking booking) {
+        if (!built) return;
+        remove(booking.getBookingId());
+        if (isOpen(booking.getStatus())) {
+            add(booking.getBookingId(), booking.getTrekDate(), booking.getGuideUsername());
+        }
+    }
+
+    private static synchronized void onBookingDeleted(int bookingId) {
+        if (built) remove(bookingId);
+    }
+
+    private static void add(int bookingId, LocalDate trekDate, String guide) {
+        long key = keyOf(bookingId, trekDate);
+        entries.put(bookingId, new Entry(key, guide));
+        byDate.add(key);
+        if (!guide.isEmpty()) {
+            byGuide.computeIfAbsent(guide, name -> new ConcurrentSkipListSet<>()).add(key);
+        }
+    }
+
+    private static void remove(int bookingId) {
+        Entry entry = entries.remove(bookingId);
+        if (entry == null) return;
+        byDate.remove(entry.key);
+        NavigableSet<Long> keys = byGuide.get(entry.guide);
+        if (keys != null) keys.remove(entry.key);
+    }
+}
@@ -0,0 +1,223 @@
+package com.tourism.services;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.WaitlistEntry;
+import com.tourism.utils.FileHandler;
+import com.tourism.utils.WaitlistLog;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+
+/**
+ * Waitlists for fully booked attractions, one queue per attraction and trek
+ * date, served by tourist tier and then request time.
+ *
+ * When a confirmed booking is cancelled, the place it frees is offered to the
+ * queue for that date first and then to the attraction's other upcoming dates,
+ * earliest first; the tourist at the head gets a confirmed booking without
+ * having to ask again. One cancellation promotes one tourist. Queues are
+ * concurrent skip-list sets, so joining and taking the head never block. The
+ * queues live in WaitlistLog, which this class reads on from where it left
+ * off before each query or promotion, so kiosks sharing the data directory
+ * see each other's entries.
+ */
+public class Waitlist {
+    private static final Comparator<WaitlistEntry> SERVING_ORDER = Comparator.comparing(WaitlistEntry::getTier)
+            .thenComparingLong(WaitlistEntry::getRequestedAt)
+            .thenComparing(WaitlistEntry::getId);
+
+    // attraction name -> trek date -> queue
+    private static final Map<String, ConcurrentSkipListMap<LocalDate, ConcurrentSkipListSet<WaitlistEntry>>> queues =
+            new ConcurrentHashMap<>();
+    private static final Map<String, WaitlistEntry> live = new ConcurrentHashMap<>();
+    private static final Set<String> finished = ConcurrentHashMap.newKeySet(); // left or promoted
+    private static long journalOffset;
+
+    private static final WaitlistLog.Visitor CATCH_UP = new WaitlistLog.Visitor() {
+        @Override
+        public void joined(WaitlistEntry entry) {
+            if (!finished.contains(entry.getId()) && !live.containsKey(entry.getId())) add(entry);
+        }
+
+        @Override
+        public void left(String entryId) {
+            finish(entryId);
+        }
+
+        @Override
+        public void promoted(String entryId, int bookingId) {
+            finish(entryId);
+        }
+    };
+
+    private static boolean watching;
+
+    /*
+     * Promotes from the waitlist whenever a confirmed booking is cancelled in
+     * this process. The process that owns the data calls this once at startup
+     * and passes where promotions run: after the cancelling save has returned,
+     * one at a time, on the owner's I/O thread or under its lock.
+     */
+    public static synchronized void watchCancellations(Executor promoter) {
+        if (watching) return;
+        watching = true;
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                // Capacity is held by confirmed bookings, so only these free a place
+                if (previous != null && "Confirmed".equals(previous.getStatus())
+                        && "Cancelled".equals(booking.getStatus())) {
+                    String attractionName = booking.getAttraction().getName();
+                    LocalDate date = previous.getTrekDate();
+                    promoter.execute(() -> promote(attractionName, date));
+                }
+            }
+        });
+    }
+
+    /*
+     * Queues the tourist for the attraction on that date. Returns the new
+     * entry, or null if it couldn't be saved; throws IllegalArgumentException,
+     * with a message fit for the user, if the request isn't valid.
+     */
+    public static WaitlistEntry join(String touristUsername, WaitlistEntry.Tier tier, Attraction attraction,
+                                     LocalDate trekDate) {
+        if (attraction == null || trekDate == null) {
+            throw new IllegalArgumentException("Please select attraction and date!");
+        }
+        if (trekDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot join the waitlist for past dates!");
+        }
+        catchUp();
+        for (WaitlistEntry entry : queue(attraction.getName(), trekDate)) {
+            if (entry.getTouristUsername().equals(touristUsername)) {
+                throw new IllegalArgumentException("You are already on the waitlist for this date! (#"
+                        + position(entry) + ")");
+            }
+        }
+
+        WaitlistEntry entry = new WaitlistEntry(UUID.randomUUID().toString(), touristUsername,
+                attraction.getName(), trekDate, tier, System.currentTimeMillis());
+        if (!WaitlistLog.appendJoined(entry)) return null;
+        add(entry);
+        return entry;
+    }
+
+    public static boolean leave(String entryId) {
+        catchUp();
+        if (!live.containsKey(entryId) || !WaitlistLog.appendLeft(entryId)) return false;
+        finish(entryId);
+        return true;
+    }
+
+    // 1 for the head of its queue, 0 once promoted or removed
+    public static int position(WaitlistEntry entry) {
+        if (!live.containsKey(entry.getId())) return 0;
+        return queue(entry.getAttractionName(), entry.getTrekDate()).headSet(entry).size() + 1;
+    }
+
+    public static int waiting(String attractionName, LocalDate trekDate) {
+        catchUp();
+        return queue(attractionName, trekDate).size();
+    }
+
+    // The tourist's upcoming entries, by trek date
+    public static List<WaitlistEntry> entriesFor(String touristUsername) {
+        catchUp();
+        LocalDate today = LocalDate.now();
+        List<WaitlistEntry> entries = new ArrayList<>();
+        for (WaitlistEntry entry : live.values()) {
+            if (entry.getTouristUsername().equals(touristUsername) && !entry.getTrekDate().isBefore(today)) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparing(WaitlistEntry::getTrekDate).thenComparing(SERVING_ORDER));
+        return entries;
+    }
+
+    /*
+     * Books the place one cancellation freed for the first waiting tourist who
+     * can still take it: the freed date's queue first, then the other upcoming
+     * dates in order. Entries that can no longer be booked are dropped and the
+     * next one tried; a failed save puts the entry back and leaves the place
+     * free. Books against a freshly loaded attraction, so the owner's shared
+     * catalog objects are left alone and pick the booking up from its events.
+     */
+    static void promote(String attractionName, LocalDate freedDate) {
+        catchUp();
+        ConcurrentSkipListMap<LocalDate, ConcurrentSkipListSet<WaitlistEntry>> byDate = queues.get(attractionName);
+        if (byDate == null) return;
+        Attraction attraction = FileHandler.loadAttractions().stream()
+                .filter(a -> a.getName().equals(attractionName))
+                .findFirst().orElse(null);
+        if (attraction == null) return;
+
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        dates.add(freedDate);
+        dates.addAll(byDate.tailMap(LocalDate.now()).keySet());
+        for (LocalDate date : dates) {
+            ConcurrentSkipListSet<WaitlistEntry> queue = byDate.get(date);
+            while (queue != null) {
+                WaitlistEntry next = queue.pollFirst();
+                if (next == null) break;
+                finish(next.getId());
+                try {
+                    Booking booking = BookingService.createBooking(next.getTouristUsername(), attraction, null, date);
+                    if (BookingService.save(booking)) {
+                        WaitlistLog.appendPromoted(next.getId(), booking.getBookingId());
+                    } else {
+                        restore(next);
+                    }
+                    return;
+                } catch (IllegalArgumentException | FileHandler.WriteConflictException e) {
+                    WaitlistLog.appendLeft(next.getId());
+                    System.err.println("Waitlist: dropped " + next + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Applies what this and other processes have appended since the last call
+    private static synchronized void catchUp() {
+        try {
+            journalOffset = WaitlistLog.read(journalOffset, CATCH_UP);
+        } catch (IOException e) {
+            System.err.println("Error reading waitlist: " + e.getMessage());
+        }
+    }
+
+    private static ConcurrentSkipListSet<WaitlistEntry> queue(String attractionName, LocalDate trekDate) {
+        return queues.computeIfAbsent(attractionName, name -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(trekDate, date -> new ConcurrentSkipListSet<>(SERVING_ORDER));
+    }
+
+    private static void add(WaitlistEntry entry) {
+        live.put(entry.getId(), entry);
+        queue(entry.getAttractionName(), entry.getTrekDate()).add(entry);
+    }
+
+    private static void finish(String entryId) {
+        finished.add(entryId);
+        WaitlistEntry entry = live.remove(entryId);
+        if (entry != null) {
+            queue(entry.getAttractionName(), entry.getTrekDate()).remove(entry);
+        }
+    }
+
+    private static void restore(WaitlistEntry entry) {
+        finished.remove(entry.getId());
+        add(entry);
+    }
+}
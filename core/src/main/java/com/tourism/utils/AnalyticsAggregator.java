@@ -0,0 +1,241 @@
+package com.tourism.utils;
+
+import com.tourism.models.Booking;
+import com.tourism.models.Guide;
+import com.tourism.models.Tourist;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Running totals behind the admin analytics tab.
+ *
+ * Built from disk once, then kept current from FileHandler's record events:
+ * each saved or deleted booking retracts its previous contribution and adds
+ * the new one, so an update costs the same no matter how many bookings exist.
+ * The same contributions feed a RevenueCube for drill-down queries. Listeners
+ * receive a fresh snapshot after every change.
+ */
+public class AnalyticsAggregator {
+
+    private static final String UNKNOWN_NATIONALITY = "Unknown";
+
+    // What one booking currently adds to the totals, kept so it can be taken back out
+    private static class Contribution {
+        final String attraction;
+        final String touristUsername;
+        final String month;
+        final String guide;
+        final double revenue;
+        final double commission;
+        int[] cell; // revenue cube coordinates; moves if the tourist's nationality changes
+
+        Contribution(Booking booking) {
+            this.attraction = booking.getAttraction().getName();
+            this.touristUsername = booking.getTouristUsername();
+            this.month = YearMonth.from(booking.getTrekDate()).toString();
+            this.guide = booking.getGuideUsername();
+            boolean earning = "Confirmed".equals(booking.getStatus()) || "Completed".equals(booking.getStatus());
+            this.revenue = earning ? booking.getTotalPrice() : 0.0;
+            this.commission = earning && !booking.getGuideUsername().isEmpty()
+                    ? booking.getTotalPrice() * Guide.COMMISSION_RATE : 0.0;
+        }
+    }
+
+    /** Immutable copy of the aggregates at one point in time. */
+    public static class Snapshot {
+        public final Map<String, Long> nationalityCounts;
+        public final Map<String, Long> attractionCounts;
+        public final double grossRevenue;
+        public final double guideCommissions;
+        public final int bookingCount;
+        public final int touristCount;
+
+        private Snapshot() {
+            this.nationalityCounts = Map.copyOf(nationalities);
+            this.attractionCounts = Map.copyOf(attractionBookings);
+            this.grossRevenue = gross;
+            this.guideCommissions = commissions;
+            this.bookingCount = contributions.size();
+            this.touristCount = touristNationalities.size();
+        }
+
+        public double getNetRevenue() {
+            return grossRevenue - guideCommissions;
+        }
+    }
+
+    private static Map<Integer, Contribution> contributions;
+    private static Map<String, String> touristNationalities;
+    private static final Map<String, Long> nationalities = new HashMap<>();
+    private static final Map<String, Long> attractionBookings = new HashMap<>();
+    private static double gross;
+    private static double commissions;
+    private static RevenueCube cube;
+
+    private static final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void bookingSaved(Booking booking, Booking previous) {
+                onBookingSaved(booking);
+            }
+
+            @Override
+            public void bookingDeleted(int bookingId) {
+                onBookingDeleted(bookingId);
+            }
+
+            @Override
+            public void touristSaved(Tourist tourist, boolean created) {
+                onTouristSaved(tourist);
+            }
+        });
+    }
+
+    public static void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<Snapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    // Builds the aggregates from disk on first use; does I/O, so call it off the FX thread
+    public static synchronized Snapshot snapshot() {
+        if (contributions == null) {
+            rebuild();
+        }
+        return new Snapshot();
+    }
+
+    /*
+     * Booking counts and revenue grouped by one dimension within a slice, e.g.
+     * revenue by month for one attraction. Counts every booking, as the totals
+     * do, while revenue only comes from confirmed and completed ones. Builds
+     * from disk on first use, like snapshot().
+     */
+    public static synchronized Map<String, RevenueCube.Totals> rollUp(RevenueCube.Dimension by,
+                                                                      Map<RevenueCube.Dimension, String> slice) {
+        if (contributions == null) {
+            rebuild();
+        }
+        return cube.rollUp(by, slice);
+    }
+
+    // Drops everything so the next snapshot rescans the files
+    public static synchronized void invalidate() {
+        contributions = null;
+        touristNationalities = null;
+    }
+
+    private static void rebuild() {
+        contributions = new HashMap<>();
+        touristNationalities = new HashMap<>();
+        cube = new RevenueCube();
+        nationalities.clear();
+        attractionBookings.clear();
+        gross = 0.0;
+        commissions = 0.0;
+
+        for (Tourist tourist : FileHandler.loadTourists()) {
+            putTourist(tourist);
+        }
+        for (Booking booking : FileHandler.loadBookings()) {
+            putBooking(booking);
+        }
+    }
+
+    private static void onBookingSaved(Booking booking) {
+        Snapshot snapshot;
+        synchronized (AnalyticsAggregator.class) {
+            if (contributions == null) return; // not built yet; the first snapshot reads the saved file
+            putBooking(booking);
+            snapshot = new Snapshot();
+        }
+        publish(snapshot);
+    }
+
+    private static void onBookingDeleted(int bookingId) {
+        Snapshot snapshot;
+        synchronized (AnalyticsAggregator.class) {
+            if (contributions == null) return;
+            Contribution removed = contributions.remove(bookingId);
+            if (removed == null) return;
+            retract(removed);
+            snapshot = new Snapshot();
+        }
+        publish(snapshot);
+    }
+
+    private static void onTouristSaved(Tourist tourist) {
+        Snapshot snapshot;
+        synchronized (AnalyticsAggregator.class) {
+            if (touristNationalities == null) return;
+            putTourist(tourist);
+            snapshot = new Snapshot();
+        }
+        publish(snapshot);
+    }
+
+    private static void putBooking(Booking booking) {
+        Contribution added = new Contribution(booking);
+        Contribution previous = contributions.put(booking.getBookingId(), added);
+        if (previous != null) {
+            retract(previous);
+        }
+        added.cell = cube.cell(added.attraction, added.month,
+                touristNationalities.getOrDefault(added.touristUsername, UNKNOWN_NATIONALITY), added.guide);
+        cube.add(added.cell, added.revenue);
+        adjust(attractionBookings, added.attraction, 1);
+        gross += added.revenue;
+        commissions += added.commission;
+    }
+
+    private static void retract(Contribution contribution) {
+        cube.remove(contribution.cell, contribution.revenue);
+        adjust(attractionBookings, contribution.attraction, -1);
+        gross -= contribution.revenue;
+        commissions -= contribution.commission;
+    }
+
+    private static void putTourist(Tourist tourist) {
+        String previous = touristNationalities.put(tourist.getUsername(), tourist.getNationality());
+        if (previous != null) {
+            adjust(nationalities, previous, -1);
+        }
+        adjust(nationalities, tourist.getNationality(), 1);
+
+        // A changed nationality moves the tourist's bookings to other cube cells. Rare, so a scan will do
+        if (previous != null && !previous.equals(tourist.getNationality()) && contributions != null) {
+            for (Contribution contribution : contributions.values()) {
+                if (contribution.touristUsername.equals(tourist.getUsername())) {
+                    cube.remove(contribution.cell, contribution.revenue);
+                    contribution.cell = cube.cell(contribution.attraction, contribution.month,
+                            tourist.getNationality(), contribution.guide);
+                    cube.add(contribution.cell, contribution.revenue);
+                }
+            }
+        }
+    }
+
+    // Zero counts are removed so the charts drop the category
+    private static void adjust(Map<String, Long> counts, String key, long delta) {
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static void publish(Snapshot snapshot) {
+        for (Consumer<Snapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                System.err.println("Error in analytics listener: " + e.getMessage());
+            }
+        }
+    }
+}
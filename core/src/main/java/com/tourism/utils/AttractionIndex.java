@@ -0,0 +1,229 @@
+package com.tourism.utils;
+
+import com.tourism.models.Attraction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Type-ahead and faceted search over the attraction catalog.
+ *
+ * Every word of an attraction's name and location goes into a prefix trie
+ * whose nodes list the attractions having a word with that prefix. Each
+ * facet value (difficulty, altitude, price band, active) is a bitmap over
+ * the same attraction positions, so a query is a handful of trie walks and
+ * bitmap intersections. The index is immutable; build a new one when the
+ * catalog changes.
+ */
+public class AttractionIndex {
+
+    public enum PriceBand {
+        UNDER_500("Under $500", 0, 500),
+        FROM_500_TO_999("$500 - $999", 500, 1000),
+        FROM_1000_TO_1999("$1000 - $1999", 1000, 2000),
+        FROM_2000("$2000+", 2000, Double.MAX_VALUE);
+
+        private final String label;
+        private final double min;
+        private final double max;
+
+        PriceBand(String label, double min, double max) {
+            this.label = label;
+            this.min = min;
+            this.max = max;
+        }
+
+        public static PriceBand of(double price) {
+            for (PriceBand band : values()) {
+                if (price >= band.min && price < band.max) return band;
+            }
+            return UNDER_500;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /** Matching attractions plus how many matches each facet value would give. */
+    public static class Result {
+        public final List<Attraction> matches;
+        public final Map<String, Integer> difficultyCounts;
+        public final Map<String, Integer> altitudeCounts;
+        public final Map<PriceBand, Integer> priceCounts;
+
+        Result(List<Attraction> matches, Map<String, Integer> difficultyCounts,
+               Map<String, Integer> altitudeCounts, Map<PriceBand, Integer> priceCounts) {
+            this.matches = matches;
+            this.difficultyCounts = difficultyCounts;
+            this.altitudeCounts = altitudeCounts;
+            this.priceCounts = priceCounts;
+        }
+    }
+
+    private static class TrieNode {
+        // Fan-out is small, so children are parallel arrays scanned linearly
+        char[] keys = new char[0];
+        TrieNode[] children = new TrieNode[0];
+        int[] ids = new int[2];
+        int size;
+
+        TrieNode child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) return children[i];
+            }
+            return null;
+        }
+
+        TrieNode addChild(char key) {
+            TrieNode existing = child(key);
+            if (existing != null) return existing;
+            TrieNode node = new TrieNode();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            children[children.length - 1] = node;
+            return node;
+        }
+
+        // Ids arrive in ascending order, so skipping repeats keeps the list sorted and unique
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    private final List<Attraction> attractions;
+    private final TrieNode root = new TrieNode();
+    private final BitSet all;
+    private final BitSet active;
+    private final Map<String, BitSet> byDifficulty = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, BitSet> byAltitude = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<PriceBand, BitSet> byPrice = new LinkedHashMap<>();
+
+    public AttractionIndex(List<Attraction> catalog) {
+        this.attractions = new ArrayList<>(catalog);
+        int n = attractions.size();
+        this.all = new BitSet(n);
+        this.all.set(0, n);
+        this.active = new BitSet(n);
+        for (PriceBand band : PriceBand.values()) {
+            byPrice.put(band, new BitSet(n));
+        }
+
+        for (int id = 0; id < n; id++) {
+            Attraction attraction = attractions.get(id);
+            indexWords(attraction.getName(), id);
+            indexWords(attraction.getLocation(), id);
+
+            if (attraction.isActive()) active.set(id);
+            facet(byDifficulty, attraction.getDifficulty(), n).set(id);
+            facet(byAltitude, attraction.getAltitudeLevel(), n).set(id);
+            byPrice.get(PriceBand.of(attraction.getBasePrice())).set(id);
+        }
+    }
+
+    private static BitSet facet(Map<String, BitSet> facets, String value, int n) {
+        return facets.computeIfAbsent(value == null ? "" : value, key -> new BitSet(n));
+    }
+
+    private void indexWords(String text, int id) {
+        for (String word : words(text)) {
+            TrieNode node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.addChild(word.charAt(i));
+                node.add(id);
+            }
+        }
+    }
+
+    // Runs of letters and digits; leading punctuation (",everest", "(annapurna") leaves no empty word behind
+    private static String[] words(String text) {
+        if (text == null) return new String[0];
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Attractions whose name or location has a word starting with every word
+     * of the text, filtered by the given facet values. Null or blank
+     * arguments mean "any". Facet counts ignore that facet's own filter, so
+     * they show what picking another value would return.
+     */
+    public Result search(String text, String difficulty, String altitude, PriceBand priceBand, boolean activeOnly) {
+        BitSet base = matchText(text);
+        if (activeOnly) base.and(active);
+
+        BitSet difficultyFilter = filter(byDifficulty, difficulty);
+        BitSet altitudeFilter = filter(byAltitude, altitude);
+        BitSet priceFilter = priceBand == null ? null : byPrice.get(priceBand);
+
+        BitSet matches = intersect(base, difficultyFilter, altitudeFilter, priceFilter);
+        List<Attraction> results = new ArrayList<>(matches.cardinality());
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            results.add(attractions.get(id));
+        }
+
+        return new Result(results,
+                counts(byDifficulty, intersect(base, null, altitudeFilter, priceFilter)),
+                counts(byAltitude, intersect(base, difficultyFilter, null, priceFilter)),
+                counts(byPrice, intersect(base, difficultyFilter, altitudeFilter, null)));
+    }
+
+    public int size() {
+        return attractions.size();
+    }
+
+    private BitSet matchText(String text) {
+        BitSet result = (BitSet) all.clone();
+        for (String word : words(text)) {
+            TrieNode node = root;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                node = node.child(word.charAt(i));
+            }
+            if (node == null) {
+                return new BitSet();
+            }
+            BitSet prefixMatches = new BitSet(attractions.size());
+            for (int i = 0; i < node.size; i++) {
+                prefixMatches.set(node.ids[i]);
+            }
+            result.and(prefixMatches);
+        }
+        return result;
+    }
+
+    // An unknown facet value matches nothing rather than everything
+    private static BitSet filter(Map<String, BitSet> facets, String value) {
+        if (value == null || value.isBlank()) return null;
+        BitSet bits = facets.get(value);
+        return bits != null ? bits : new BitSet();
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) result.and(filter);
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> counts(Map<K, BitSet> facets, BitSet within) {
+        Map<K, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<K, BitSet> facet : facets.entrySet()) {
+            BitSet bits = (BitSet) facet.getValue().clone();
+            bits.and(within);
+            counts.put(facet.getKey(), bits.cardinality());
+        }
+        return counts;
+    }
+}
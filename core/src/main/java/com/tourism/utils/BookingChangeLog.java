@@ -0,0 +1,102 @@
+package com.tourism.utils;
+
+import com.tourism.models.BookingChange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only journal of booking changes, one line per saved or deleted booking.
+ *
+ * FileHandler appends while it still holds the bookings file lock, so journal
+ * order is write order, across processes sharing the data directory too. A
+ * change's offset is the byte position of its line: stable, shared by every
+ * reader, and usable as a resume point. Only newline-terminated lines are
+ * read, so a reader never sees an append in progress.
+ */
+public class BookingChangeLog {
+    private static final String JOURNAL_FILE = "data/bookings.changes";
+    private static final String SEPARATOR = "%%%";
+    private static final int READ_CHUNK = 64 * 1024;
+
+    // Called by FileHandler with the bookings lock held; record is the stored booking line, or the id
+    // for a delete. A failed append is logged and doesn't undo the save it describes
+    static void append(BookingChange.Type type, String record) {
+        String line = type + SEPARATOR + System.currentTimeMillis() + SEPARATOR + record + "\n";
+        try (FileOutputStream out = new FileOutputStream(JOURNAL_FILE, true)) {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Error journaling booking change: " + e.getMessage());
+        }
+    }
+
+    // The offset the next change will be written at
+    public static long endOffset() {
+        return new File(JOURNAL_FILE).length();
+    }
+
+    // Reads up to maxChanges complete changes starting at fromOffset, which must be 0 or an offset
+    // previously returned by getNextOffset()
+    public static List<BookingChange> read(long fromOffset, int maxChanges) throws IOException {
+        List<BookingChange> changes = new ArrayList<>();
+        File journal = new File(JOURNAL_FILE);
+        if (!journal.exists() || fromOffset >= journal.length()) {
+            return changes;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(journal, "r")) {
+            long position = fromOffset;
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] chunk = new byte[READ_CHUNK];
+            long chunkStart = position;
+            file.seek(position);
+
+            int read;
+            while (changes.size() < maxChanges && (read = file.read(chunk)) > 0) {
+                for (int i = 0; i < read && changes.size() < maxChanges; i++) {
+                    if (chunk[i] != '\n') {
+                        line.write(chunk[i]);
+                        continue;
+                    }
+                    long next = chunkStart + i + 1;
+                    BookingChange change = parse(position, next, line.toString(StandardCharsets.UTF_8));
+                    if (change != null) {
+                        changes.add(change);
+                    }
+                    position = next;
+                    line.reset();
+                }
+                chunkStart += read;
+            }
+        }
+        return changes;
+    }
+
+    private static BookingChange parse(long offset, long nextOffset, String line) {
+        String[] parts = line.split(SEPARATOR, -1);
+        try {
+            BookingChange.Type type = BookingChange.Type.valueOf(parts[0]);
+            long timestamp = Long.parseLong(parts[1]);
+            if (type == BookingChange.Type.DELETED) {
+                return new BookingChange(offset, nextOffset, type, timestamp, Integer.parseInt(parts[2]), 0,
+                        null, null, null, null, null, 0, null);
+            }
+            // parts[2..] is the booking line as FileHandler stored it, version last
+            return new BookingChange(offset, nextOffset, type, timestamp,
+                    Integer.parseInt(parts[2]), Long.parseLong(parts[10]),
+                    parts[3], parts[4], parts[5], LocalDate.parse(parts[6]), parts[7],
+                    Double.parseDouble(parts[8]), String.join(SEPARATOR, Arrays.copyOfRange(parts, 2, parts.length)));
+        } catch (RuntimeException e) {
+            System.err.println("Skipping unreadable booking change at " + offset + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.tourism.utils;
+
+import com.tourism.models.Booking;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted key index over the bookings file for keyset paging.
+ *
+ * For each sort order it keeps parallel primitive arrays of sort keys and
+ * record offsets, so a page is a binary search on the cursor key plus one
+ * seek per row. Only ids, dates and offsets are held in memory, never the
+ * bookings themselves. Built with one scan on first use, then kept current
+ * from the bookings FileHandler writes, as CredentialStore is. A rewrite by
+ * another process, seen by the file's length and modification time, makes
+ * the next query scan again.
+ */
+public class BookingKeyIndex {
+
+    public enum SortKey { BOOKING_ID, TREK_DATE }
+
+    private static class Sorted {
+        final long[] keys;
+        final long[] offsets;
+
+        Sorted(long[] keys, long[] offsets) {
+            this.keys = keys;
+            this.offsets = offsets;
+        }
+    }
+
+    private static Sorted byId;
+    private static Sorted byTrekDate;
+    private static long[] stamp; // of the file the index reflects
+
+    /**
+     * Composite key for a booking. Trek-date keys carry the booking id in the
+     * low bits so equal dates still have a strict, stable order.
+     */
+    public static long keyOf(Booking booking, SortKey sortKey) {
+        return keyOf(booking.getBookingId(), booking.getTrekDate().toEpochDay(), sortKey);
+    }
+
+    private static long keyOf(int bookingId, long epochDay, SortKey sortKey) {
+        if (sortKey == SortKey.TREK_DATE) {
+            return (epochDay << 32) | (bookingId & 0xffffffffL);
+        }
+        return bookingId;
+    }
+
+    /**
+     * Offsets of up to limit bookings strictly after the cursor in the given
+     * direction. A null cursor starts from the first (or last) booking.
+     */
+    public static synchronized long[] page(SortKey sortKey, Long cursor, boolean ascending, int limit) {
+        Sorted sorted = get(sortKey);
+        int n = sorted.keys.length;
+
+        if (ascending) {
+            int start = cursor == null ? 0 : upperBound(sorted.keys, cursor);
+            int end = Math.min(n, start + limit);
+            return Arrays.copyOfRange(sorted.offsets, start, Math.max(start, end));
+        }
+
+        int end = cursor == null ? n : lowerBound(sorted.keys, cursor);
+        int start = Math.max(0, end - limit);
+        long[] page = new long[end - start];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = sorted.offsets[end - 1 - i];
+        }
+        return page;
+    }
+
+    // Offsets of the bookings with the given ids, in the order given; ids not on file are skipped
+    public static synchronized long[] offsetsOf(int[] bookingIds) {
+        Sorted sorted = get(SortKey.BOOKING_ID);
+        long[] offsets = new long[bookingIds.length];
+        int count = 0;
+        for (int bookingId : bookingIds) {
+            int at = lowerBound(sorted.keys, bookingId);
+            if (at < sorted.keys.length && sorted.keys[at] == bookingId) {
+                offsets[count++] = sorted.offsets[at];
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    public static synchronized int size() {
+        return get(SortKey.BOOKING_ID).keys.length;
+    }
+
+    public static synchronized void invalidate() {
+        byId = null;
+        byTrekDate = null;
+    }
+
+    // Called by FileHandler with the bookings lock held, after writing these bookings in this order
+    static synchronized void fileRewritten(List<Booking> bookings, long[] offsets) {
+        if (byId == null) return; // nothing built yet; the first query scans the file
+        long[] ids = new long[bookings.size()];
+        long[] dates = new long[bookings.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = keyOf(bookings.get(i), SortKey.BOOKING_ID);
+            dates[i] = keyOf(bookings.get(i), SortKey.TREK_DATE);
+        }
+        byId = sort(ids, offsets.clone());
+        byTrekDate = sort(dates, offsets.clone());
+        stamp = FileHandler.bookingsFileStamp();
+    }
+
+    private static Sorted get(SortKey sortKey) {
+        if (byId == null || !Arrays.equals(stamp, FileHandler.bookingsFileStamp())) {
+            rebuild();
+        }
+        return sortKey == SortKey.TREK_DATE ? byTrekDate : byId;
+    }
+
+    private static void rebuild() {
+        // Stamped before the scan, so a rewrite during it is caught by the next query
+        stamp = FileHandler.bookingsFileStamp();
+        long[][] ids = {new long[1024], new long[1024]};
+        long[][] dates = {new long[1024], new long[1024]};
+        int[] count = {0};
+
+        FileHandler.forEachBookingKey((offset, bookingId, trekDate) -> {
+            int i = count[0];
+            if (i == ids[0].length) {
+                int grown = i * 2;
+                ids[0] = Arrays.copyOf(ids[0], grown);
+                ids[1] = Arrays.copyOf(ids[1], grown);
+                dates[0] = Arrays.copyOf(dates[0], grown);
+                dates[1] = Arrays.copyOf(dates[1], grown);
+            }
+            ids[0][i] = keyOf(bookingId, 0, SortKey.BOOKING_ID);
+            ids[1][i] = offset;
+            dates[0][i] = keyOf(bookingId, trekDate.toEpochDay(), SortKey.TREK_DATE);
+            dates[1][i] = offset;
+            count[0]++;
+        });
+
+        byId = sort(Arrays.copyOf(ids[0], count[0]), Arrays.copyOf(ids[1], count[0]));
+        byTrekDate = sort(Arrays.copyOf(dates[0], count[0]), Arrays.copyOf(dates[1], count[0]));
+    }
+
+    // Sorts keys ascending in place, carrying offsets along
+    private static Sorted sort(long[] keys, long[] offsets) {
+        quickSort(keys, offsets, 0, keys.length - 1);
+        return new Sorted(keys, offsets);
+    }
+
+    private static void quickSort(long[] keys, long[] offsets, int low, int high) {
+        while (high - low > 16) {
+            long pivot = medianOfThree(keys[low], keys[(low + high) >>> 1], keys[high]);
+            int i = low, j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) swap(keys, offsets, i++, j--);
+            }
+            // Recurse into the smaller half to bound stack depth
+            if (j - low < high - i) {
+                quickSort(keys, offsets, low, j);
+                low = i;
+            } else {
+                quickSort(keys, offsets, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(keys, offsets, j, j - 1);
+            }
+        }
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(long[] keys, long[] offsets, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long offset = offsets[i];
+        offsets[i] = offsets[j];
+        offsets[j] = offset;
+    }
+
+    // First index whose key is greater than the value
+    private static int upperBound(long[] keys, long value) {
+        int low = 0, high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    // First index whose key is greater than or equal to the value
+    private static int lowerBound(long[] keys, long value) {
+        int low = 0, high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+}
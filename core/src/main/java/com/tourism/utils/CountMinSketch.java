@@ -0,0 +1,124 @@
+package com.tourism.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Count-Min frequency sketch with a top-K candidate set for heavy hitters.
+ *
+ * Counts never come out low. With width w and depth d, an estimate exceeds the
+ * true count by more than (e / w) × total with probability at most e^-d, in a
+ * fixed w × d counters however many distinct keys there are. For the top K it
+ * tracks a few times k candidate keys with the highest estimates seen, so a
+ * key that briefly falls behind, or that was only in the other partition's
+ * candidates, can still make it after a merge. Sketches of the same shape
+ * merge by adding counters.
+ * Not thread-safe.
+ */
+public class CountMinSketch {
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    private final int width;
+    private final int depth;
+    private final long[][] counts;
+
+    private final int topK;
+    private final int candidateLimit;
+    private final Map<String, Long> candidates = new HashMap<>();
+    private long total;
+
+    public CountMinSketch(int width, int depth, int topK) {
+        if (width <= 0 || depth <= 0 || topK < 0) {
+            throw new IllegalArgumentException("Width and depth must be positive, k not negative");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new long[depth][width];
+        this.topK = topK;
+        this.candidateLimit = topK * CANDIDATES_PER_RESULT;
+    }
+
+    public void add(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = Math.floorMod(h1 + row * h2, width);
+            estimate = Math.min(estimate, ++counts[row][column]);
+        }
+        total++;
+        offer(key, estimate);
+    }
+
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // How far above the true count an estimate may be, at confidence 1 - e^-depth
+    public double errorBound() {
+        return Math.E / width * total;
+    }
+
+    public double confidence() {
+        return 1 - Math.exp(-depth);
+    }
+
+    // The top-K keys by estimated count, highest first
+    public List<Map.Entry<String, Long>> top() {
+        List<Map.Entry<String, Long>> top = new ArrayList<>(candidates.entrySet());
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return top.subList(0, Math.min(topK, top.size()));
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shape");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] += other.counts[row][column];
+            }
+        }
+        total += other.total;
+        // Either side's candidates may now be in the top K; re-estimate them all against the merged counts
+        List<String> keys = new ArrayList<>(candidates.keySet());
+        keys.addAll(other.candidates.keySet());
+        candidates.clear();
+        for (String key : keys) {
+            offer(key, estimate(key));
+        }
+    }
+
+    // 4k is small, so a scan for the smallest candidate is cheaper than keeping a heap in step with updates
+    private void offer(String key, long estimate) {
+        if (candidateLimit == 0) return;
+        if (candidates.containsKey(key) || candidates.size() < candidateLimit) {
+            candidates.put(key, estimate);
+            return;
+        }
+        Map.Entry<String, Long> smallest = null;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (smallest == null || entry.getValue() < smallest.getValue()) {
+                smallest = entry;
+            }
+        }
+        if (estimate > smallest.getValue()) {
+            candidates.remove(smallest.getKey());
+            candidates.put(key, estimate);
+        }
+    }
+}
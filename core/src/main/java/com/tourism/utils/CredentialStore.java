@@ -0,0 +1,155 @@
+package com.tourism.utils;
+
+import com.tourism.models.Guide;
+import com.tourism.models.Person;
+import com.tourism.models.Tourist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unified username index for tourists and guides.
+ *
+ * Maps each username to its role, stored password hash and the byte offset of
+ * its record, so a login costs one hash lookup and one seek instead of parsing
+ * both user files. Built on first use; after that FileHandler hands over each
+ * user file it rewrites, so saves never force a rescan. Only offsets left
+ * stale by another process rewriting a file trigger a full rebuild.
+ */
+public class CredentialStore {
+
+    public static class Credential {
+        private final String role;
+        private final String passwordHash;
+        private final long offset;
+
+        Credential(String role, String passwordHash, long offset) {
+            this.role = role;
+            this.passwordHash = passwordHash;
+            this.offset = offset;
+        }
+
+        public String getRole() { return role; }
+        public String getPasswordHash() { return passwordHash; }
+        public long getOffset() { return offset; }
+    }
+
+    private static volatile Map<String, Credential> index;
+
+    public static Credential lookup(String username) {
+        return getIndex().get(username);
+    }
+
+    public static boolean contains(String username) {
+        return getIndex().containsKey(username);
+    }
+
+    public static Collection<String> usernames() {
+        return new ArrayList<>(getIndex().keySet());
+    }
+
+    public static int size() {
+        return getIndex().size();
+    }
+
+    /**
+     * Returns the tourist or guide matching the credentials, or null.
+     * Accounts still holding a plaintext or under-strength password are
+     * re-saved so they are upgraded to the current hash. That save is best
+     * effort: if it fails or conflicts the login still succeeds, and the
+     * upgrade is retried on the next one.
+     */
+    public static Person authenticate(String username, String password) {
+        Credential credential = lookup(username);
+        if (credential == null || !PasswordHasher.verify(password, credential.getPasswordHash())) {
+            return null;
+        }
+
+        Person user;
+        if ("Tourist".equals(credential.getRole())) {
+            user = FileHandler.loadTouristAt(credential.getOffset());
+        } else {
+            user = FileHandler.loadGuideAt(credential.getOffset());
+        }
+
+        // Offsets are stale if the file changed underneath us; rebuild once and retry
+        if (user == null || !user.getUsername().equals(username)) {
+            rebuild();
+            credential = lookup(username);
+            if (credential == null) return null;
+            user = "Tourist".equals(credential.getRole())
+                    ? FileHandler.loadTouristAt(credential.getOffset())
+                    : FileHandler.loadGuideAt(credential.getOffset());
+            if (user == null || !user.getUsername().equals(username)) return null;
+        }
+
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(PasswordHasher.hash(password));
+            try {
+                if (user instanceof Tourist) {
+                    FileHandler.saveTourist((Tourist) user);
+                } else {
+                    FileHandler.saveGuide((Guide) user);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Could not upgrade the password hash for " + username + ": " + e.getMessage());
+            }
+        }
+        return user;
+    }
+
+    public static synchronized void rebuild() {
+        Map<String, Credential> fresh = new ConcurrentHashMap<>();
+
+        // Tourists take precedence over guides, matching the original login order
+        FileHandler.forEachTouristRecord((offset, tourist) ->
+                fresh.putIfAbsent(tourist.getUsername(),
+                        new Credential("Tourist", tourist.getPassword(), offset)));
+        FileHandler.forEachGuideRecord((offset, guide) ->
+                fresh.putIfAbsent(guide.getUsername(),
+                        new Credential("Guide", guide.getPassword(), offset)));
+
+        index = fresh;
+    }
+
+    /*
+     * Brings the index up to date after FileHandler rewrote one user file,
+     * from the records it wrote and their new offsets. Accounts no longer in
+     * the file are dropped; a tourist still shadows a guide of the same name.
+     */
+    static synchronized void fileRewritten(String role, List<? extends Person> records, long[] offsets) {
+        Map<String, Credential> current = index;
+        if (current == null) return; // nothing built yet; the first lookup reads the files
+        Set<String> present = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            Person person = records.get(i);
+            String username = person.getUsername();
+            present.add(username);
+            Credential existing = current.get(username);
+            if (existing != null && !role.equals(existing.getRole()) && "Tourist".equals(existing.getRole())) {
+                continue;
+            }
+            current.put(username, new Credential(role, person.getPassword(), offsets[i]));
+        }
+        current.entrySet().removeIf(entry ->
+                role.equals(entry.getValue().getRole()) && !present.contains(entry.getKey()));
+    }
+
+    private static Map<String, Credential> getIndex() {
+        Map<String, Credential> current = index;
+        if (current == null) {
+            synchronized (CredentialStore.class) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+}
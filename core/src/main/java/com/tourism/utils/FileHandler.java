@@ -0,0 +1,1151 @@
+package com.tourism.utils;
+
+import com.tourism.models.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class FileHandler {
+    private static final String DATA_DIR = "data/";
+    private static final String TOURISTS_FILE = DATA_DIR + "tourists.txt";
+    private static final String GUIDES_FILE = DATA_DIR + "guides.txt";
+    private static final String ATTRACTIONS_FILE = DATA_DIR + "attractions.txt";
+    private static final String BOOKINGS_FILE = DATA_DIR + "bookings.txt";
+    private static final String SEPARATOR = "%%%";
+
+    // Data set names passed to change listeners
+    public static final String TOURISTS = "tourists";
+    public static final String GUIDES = "guides";
+    public static final String ATTRACTIONS = "attractions";
+    public static final String BOOKINGS = "bookings";
+
+    private static final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+    private static final List<RecordListener> recordListeners = new CopyOnWriteArrayList<>();
+    private static final Map<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    /** Told which single record changed, for consumers that keep running totals. */
+    public interface RecordListener {
+        // previous is the stored record this save replaced, or null for a new booking
+        default void bookingSaved(Booking booking, Booking previous) {}
+        default void bookingDeleted(int bookingId) {}
+        default void touristSaved(Tourist tourist, boolean created) {}
+        default void guideSaved(Guide guide) {}
+        default void guideDeleted(String username) {}
+    }
+
+    // Listeners are told which data set was rewritten after every successful save
+    public static void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    public static void removeChangeListener(Consumer<String> listener) {
+        changeListeners.remove(listener);
+    }
+
+    private static void notifyChange(String dataSet) {
+        for (Consumer<String> listener : changeListeners) {
+            try {
+                listener.accept(dataSet);
+            } catch (Exception e) {
+                System.err.println("Error in change listener for " + dataSet + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static void addRecordListener(RecordListener listener) {
+        recordListeners.add(listener);
+    }
+
+    public static void removeRecordListener(RecordListener listener) {
+        recordListeners.remove(listener);
+    }
+
+    private static void notifyRecord(Consumer<RecordListener> event) {
+        for (RecordListener listener : recordListeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                System.err.println("Error in record listener: " + e.getMessage());
+            }
+        }
+    }
+
+    // Initialize data directory and default data
+    public static void initializeDataFiles() {
+        createDataDirectory();
+        if (!new File(ATTRACTIONS_FILE).exists()) {
+            initializeDefaultAttractions();
+        }
+        if (!new File(GUIDES_FILE).exists()) {
+            initializeDefaultGuides();
+        }
+    }
+
+    private static void createDataDirectory() {
+        File dataDir = new File(DATA_DIR);
+        if (!dataDir.exists()) {
+            dataDir.mkdirs();
+        }
+    }
+
+    // ================= Tourist Operations =================
+    public static boolean saveTourist(Tourist tourist) {
+        Tourist[] previous = new Tourist[1];
+        boolean saved = withLock(TOURISTS_FILE, () -> {
+            List<Tourist> tourists = loadTourists();
+            previous[0] = commit(tourists, tourist, TOURIST_FORMAT);
+            if (!write(TOURISTS_FILE, tourists, TOURIST_FORMAT, tourist)) {
+                return false;
+            }
+            CredentialStore.fileRewritten("Tourist", tourists, lineOffsets(tourists));
+            return true;
+        });
+        if (saved) {
+            notifyChange(TOURISTS);
+            if (previous[0] == null) UsernameFilter.add(tourist.getUsername());
+            notifyRecord(listener -> listener.touristSaved(tourist, previous[0] == null));
+        }
+        return saved;
+    }
+
+    public static List<Tourist> loadTourists() {
+        List<Tourist> tourists = new ArrayList<>();
+        if (!new File(TOURISTS_FILE).exists()) {
+            return tourists;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(TOURISTS_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Tourist tourist = parseTourist(line);
+                if (tourist != null) {
+                    tourists.add(tourist);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading tourists: " + e.getMessage());
+        }
+        return tourists;
+    }
+
+    private static Tourist parseTourist(String line) {
+        String[] parts = line.split(SEPARATOR);
+        // The 7th field, the record version, is absent from older records
+        if (parts.length < 6) return null;
+        Tourist tourist = new Tourist(
+                parts[0], // username
+                parts[1], // password
+                parts[2], // fullName
+                parts[3], // email
+                parts[4], // phone
+                parts[5]  // nationality
+        );
+        return stamp(tourist, parts, 6, line);
+    }
+
+    private static final RecordFormat<Tourist> TOURIST_FORMAT = new RecordFormat<>() {
+        @Override
+        public String key(Tourist tourist) {
+            return tourist.getUsername();
+        }
+
+        @Override
+        public String[] fields(Tourist tourist) {
+            return new String[] {
+                    tourist.getUsername(),
+                    tourist.getPassword(),
+                    tourist.getFullName(),
+                    tourist.getEmail(),
+                    tourist.getPhone(),
+                    tourist.getNationality()
+            };
+        }
+
+        @Override
+        public String[] fieldNames() {
+            return new String[] {"username", "password", "full name", "email", "phone", "nationality"};
+        }
+
+        @Override
+        public Tourist parse(String line) {
+            return parseTourist(line);
+        }
+
+        @Override
+        public void copyFields(Tourist from, Tourist to) {
+            to.setPassword(from.getPassword());
+            to.setFullName(from.getFullName());
+            to.setEmail(from.getEmail());
+            to.setPhone(from.getPhone());
+            to.setNationality(from.getNationality());
+        }
+
+        @Override
+        public String describe(Tourist tourist) {
+            return "Tourist " + tourist.getUsername();
+        }
+    };
+
+    // ================= Guide Operations =================
+    public static boolean saveGuide(Guide guide) {
+        Guide[] previous = new Guide[1];
+        boolean saved = withLock(GUIDES_FILE, () -> {
+            List<Guide> guides = loadGuides();
+            previous[0] = commit(guides, guide, GUIDE_FORMAT);
+            return writeGuides(guides, guide);
+        });
+        if (saved) {
+            notifyChange(GUIDES);
+            if (previous[0] == null) UsernameFilter.add(guide.getUsername());
+            notifyRecord(listener -> listener.guideSaved(guide));
+        }
+        return saved;
+    }
+
+    public static boolean deleteGuide(String username) {
+        boolean saved = withLock(GUIDES_FILE, () -> {
+            List<Guide> guides = loadGuides();
+            if (!guides.removeIf(g -> g.getUsername().equals(username))) {
+                return false;
+            }
+            return writeGuides(guides, null);
+        });
+        if (saved) {
+            notifyChange(GUIDES);
+            notifyRecord(listener -> listener.guideDeleted(username));
+        }
+        return saved;
+    }
+
+    public static List<Guide> loadGuides() {
+        List<Guide> guides = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(GUIDES_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Guide guide = parseGuide(line);
+                if (guide != null) {
+                    guides.add(guide);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading guides: " + e.getMessage());
+        }
+        return guides;
+    }
+
+    private static Guide parseGuide(String line) {
+        String[] parts = line.split(SEPARATOR);
+        // Older records have 7 fields; profile image path, specializations and version are optional 8th to 10th
+        if (parts.length < 7) return null;
+        try {
+            List<String> languages = Arrays.asList(parts[5].split(","));
+            int experienceYears = Integer.parseInt(parts[6]);
+
+            Guide guide = new Guide(
+                    parts[0], // username
+                    parts[1], // password
+                    parts[2], // fullName
+                    parts[3], // email
+                    parts[4], // phone
+                    languages,
+                    experienceYears
+            );
+            if (parts.length > 7) {
+                guide.setProfileImagePath(parts[7]);
+            }
+            if (parts.length > 8 && !parts[8].isEmpty()) {
+                guide.setSpecializations(Arrays.asList(parts[8].split(",")));
+            }
+            return stamp(guide, parts, 9, line);
+        } catch (NumberFormatException e) {
+            System.err.println("Skipping malformed guide record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static boolean saveAllGuides(List<Guide> guides) {
+        boolean saved = withLock(GUIDES_FILE, () -> writeGuides(guides, null));
+        if (saved) notifyChange(GUIDES);
+        return saved;
+    }
+
+    // The credential index is updated under the same lock, so it sees rewrites in file order
+    private static boolean writeGuides(List<Guide> guides, Guide committed) {
+        if (!write(GUIDES_FILE, guides, GUIDE_FORMAT, committed)) {
+            return false;
+        }
+        CredentialStore.fileRewritten("Guide", guides, lineOffsets(guides));
+        return true;
+    }
+
+    private static final RecordFormat<Guide> GUIDE_FORMAT = new RecordFormat<>() {
+        @Override
+        public String key(Guide guide) {
+            return guide.getUsername();
+        }
+
+        @Override
+        public String[] fields(Guide guide) {
+            return new String[] {
+                    guide.getUsername(),
+                    guide.getPassword(),
+                    guide.getFullName(),
+                    guide.getEmail(),
+                    guide.getPhone(),
+                    String.join(",", guide.getLanguages()),
+                    String.valueOf(guide.getExperienceYears()),
+                    String.valueOf(guide.getProfileImagePath()),
+                    String.join(",", guide.getSpecializations())
+            };
+        }
+
+        @Override
+        public String[] fieldNames() {
+            return new String[] {"username", "password", "full name", "email", "phone", "languages",
+                    "experience", "profile image", "specializations"};
+        }
+
+        @Override
+        public Guide parse(String line) {
+            return parseGuide(line);
+        }
+
+        @Override
+        public void copyFields(Guide from, Guide to) {
+            to.setPassword(from.getPassword());
+            to.setFullName(from.getFullName());
+            to.setEmail(from.getEmail());
+            to.setPhone(from.getPhone());
+            to.setLanguages(from.getLanguages());
+            to.setExperienceYears(from.getExperienceYears());
+            to.setProfileImagePath(from.getProfileImagePath());
+            to.setSpecializations(from.getSpecializations());
+        }
+
+        @Override
+        public String describe(Guide guide) {
+            return "Guide " + guide.getUsername();
+        }
+    };
+
+    // ================= Attraction Operations =================
+    public static boolean saveAttraction(Attraction attraction) {
+        boolean saved = withLock(ATTRACTIONS_FILE, () -> {
+            List<Attraction> attractions = loadAttractions();
+            commit(attractions, attraction, ATTRACTION_FORMAT);
+            return write(ATTRACTIONS_FILE, attractions, ATTRACTION_FORMAT, attraction);
+        });
+        if (saved) notifyChange(ATTRACTIONS);
+        return saved;
+    }
+
+    public static List<Attraction> loadAttractions() {
+        List<Attraction> attractions = new ArrayList<>();
+        if (!new File(ATTRACTIONS_FILE).exists()) {
+            return attractions;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(ATTRACTIONS_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Attraction attraction = parseAttraction(line);
+                if (attraction != null) {
+                    attractions.add(attraction);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading attractions: " + e.getMessage());
+        }
+        return attractions;
+    }
+
+    private static Attraction parseAttraction(String line) {
+        String[] parts = line.split(SEPARATOR);
+        // The 6th field, the record version, is absent from older records
+        if (parts.length < 5) return null;
+        Attraction attraction = new Attraction(
+                parts[0], // name
+                parts[1], // location
+                parts[2], // difficulty
+                parts[3], // priceCategory
+                Double.parseDouble(parts[4]) // price
+        );
+        return stamp(attraction, parts, 5, line);
+    }
+
+    private static boolean saveAllAttractions(List<Attraction> attractions) {
+        boolean saved = withLock(ATTRACTIONS_FILE, () -> write(ATTRACTIONS_FILE, attractions, ATTRACTION_FORMAT, null));
+        if (saved) notifyChange(ATTRACTIONS);
+        return saved;
+    }
+
+    private static final RecordFormat<Attraction> ATTRACTION_FORMAT = new RecordFormat<>() {
+        @Override
+        public String key(Attraction attraction) {
+            return attraction.getName();
+        }
+
+        @Override
+        public String[] fields(Attraction attraction) {
+            return new String[] {
+                    attraction.getName(),
+                    attraction.getLocation(),
+                    attraction.getAltitudeLevel(),
+                    attraction.getDifficulty(),
+                    String.valueOf(attraction.getBasePrice())
+            };
+        }
+
+        @Override
+        public String[] fieldNames() {
+            return new String[] {"name", "location", "altitude", "difficulty", "base price"};
+        }
+
+        @Override
+        public Attraction parse(String line) {
+            return parseAttraction(line);
+        }
+
+        @Override
+        public void copyFields(Attraction from, Attraction to) {
+            to.setLocation(from.getLocation());
+            to.setAltitudeLevel(from.getAltitudeLevel());
+            to.setDifficulty(from.getDifficulty());
+            to.setBasePrice(from.getBasePrice());
+        }
+
+        @Override
+        public String describe(Attraction attraction) {
+            return "Attraction " + attraction.getName();
+        }
+    };
+
+    // ================= Booking Operations =================
+    public static boolean saveBooking(Booking booking) {
+        Booking[] previous = new Booking[1];
+        boolean saved = withLock(BOOKINGS_FILE, () -> {
+            List<Attraction> attractions = loadAttractions();
+            List<Guide> guides = loadGuides();
+            RecordFormat<Booking> format = bookingFormat(attractions, guides);
+            List<Booking> bookings = loadBookings(attractions, guides);
+            previous[0] = commit(bookings, booking, format);
+            if (!writeBookings(bookings, format, booking)) {
+                return false;
+            }
+            BookingChangeLog.append(previous[0] == null ? BookingChange.Type.CREATED : BookingChange.Type.UPDATED,
+                    booking.getStoredRecord());
+            return true;
+        });
+        if (saved) {
+            notifyChange(BOOKINGS);
+            notifyRecord(listener -> listener.bookingSaved(booking, previous[0]));
+        }
+        return saved;
+    }
+
+    /*
+     * Saves several bookings in one read-check-write of the file: either every
+     * booking is committed or, on a conflict or write failure, none is. Each
+     * one is journaled and reported to listeners as saveBooking() would.
+     */
+    public static boolean saveBookings(List<Booking> batch) {
+        return saveBookings(batch, (booking, stored) -> true);
+    }
+
+    // As above, but admit is asked under the lock, before each booking is committed, whether it still
+    // fits the stored bookings (the batch's earlier ones included); if any doesn't, the batch conflicts
+    public static boolean saveBookings(List<Booking> batch, BiPredicate<Booking, List<Booking>> admit) {
+        if (batch.isEmpty()) return true;
+        Booking[] previous = new Booking[batch.size()];
+        boolean saved = withLock(BOOKINGS_FILE, () -> {
+            List<Attraction> attractions = loadAttractions();
+            List<Guide> guides = loadGuides();
+            RecordFormat<Booking> format = bookingFormat(attractions, guides);
+            List<Booking> bookings = loadBookings(attractions, guides);
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < bookings.size(); i++) {
+                positions.put(format.key(bookings.get(i)), i);
+            }
+
+            int committed = 0;
+            try {
+                for (; committed < batch.size(); committed++) {
+                    Booking booking = batch.get(committed);
+                    if (!admit.test(booking, bookings)) {
+                        throw new WriteConflictException(format.describe(booking)
+                                + " no longer fits the stored bookings. Refresh and try again.");
+                    }
+                    Integer position = positions.get(format.key(booking));
+                    previous[committed] = commit(bookings, position == null ? -1 : position, booking, format);
+                    if (position == null) positions.put(format.key(booking), bookings.size() - 1);
+                }
+            } finally {
+                if (committed < batch.size()) rollBackVersions(batch, committed);
+            }
+            if (!writeBookings(bookings, format, null)) {
+                rollBackVersions(batch, batch.size());
+                return false;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                BookingChangeLog.append(previous[i] == null ? BookingChange.Type.CREATED : BookingChange.Type.UPDATED,
+                        batch.get(i).getStoredRecord());
+            }
+            return true;
+        });
+        if (saved) {
+            notifyChange(BOOKINGS);
+            for (int i = 0; i < batch.size(); i++) {
+                Booking booking = batch.get(i);
+                Booking replaced = previous[i];
+                notifyRecord(listener -> listener.bookingSaved(booking, replaced));
+            }
+        }
+        return saved;
+    }
+
+    private static void rollBackVersions(List<Booking> batch, int committed) {
+        for (int i = 0; i < committed; i++) {
+            batch.get(i).setVersion(batch.get(i).getVersion() - 1);
+        }
+    }
+
+    /*
+     * Applies update to the stored bookings with the given ids in one
+     * read-write of the file. It runs under the lock on the latest stored
+     * version, so it can't conflict, and should be quick; it returns whether
+     * it changed the booking. Only changed bookings are written, journaled
+     * and reported to listeners; if none changed nothing is written.
+     */
+    public static boolean updateBookings(Set<Integer> bookingIds, Predicate<Booking> update) {
+        return updateBookings(bookingIds, (booking, stored) -> update.test(booking));
+    }
+
+    // As above, for updates that depend on the other stored bookings too, e.g. a guide's load that day
+    public static boolean updateBookings(Set<Integer> bookingIds, BiPredicate<Booking, List<Booking>> update) {
+        if (bookingIds.isEmpty()) return true;
+        List<Booking> changed = new ArrayList<>();
+        List<Booking> previous = new ArrayList<>();
+        boolean saved = withLock(BOOKINGS_FILE, () -> {
+            List<Attraction> attractions = loadAttractions();
+            List<Guide> guides = loadGuides();
+            RecordFormat<Booking> format = bookingFormat(attractions, guides);
+            List<Booking> bookings = loadBookings(attractions, guides);
+            for (Booking booking : bookings) {
+                if (!bookingIds.contains(booking.getBookingId())) continue;
+                Booking before = format.parse(booking.getStoredRecord());
+                if (update.test(booking, bookings)) {
+                    booking.setVersion(booking.getVersion() + 1);
+                    changed.add(booking);
+                    previous.add(before);
+                }
+            }
+            if (changed.isEmpty()) return true;
+            if (!writeBookings(bookings, format, null)) {
+                changed.clear();
+                return false;
+            }
+            for (Booking booking : changed) {
+                BookingChangeLog.append(BookingChange.Type.UPDATED, booking.getStoredRecord());
+            }
+            return true;
+        });
+        if (saved && !changed.isEmpty()) {
+            notifyChange(BOOKINGS);
+            for (int i = 0; i < changed.size(); i++) {
+                Booking booking = changed.get(i);
+                Booking replaced = previous.get(i);
+                notifyRecord(listener -> listener.bookingSaved(booking, replaced));
+            }
+        }
+        return saved;
+    }
+
+    // The key index is updated under the same lock, so it sees rewrites in file order
+    private static boolean writeBookings(List<Booking> bookings, RecordFormat<Booking> format, Booking committed) {
+        if (!write(BOOKINGS_FILE, bookings, format, committed)) {
+            return false;
+        }
+        BookingKeyIndex.fileRewritten(bookings, lineOffsets(bookings));
+        return true;
+    }
+
+    // Length and modification time of the bookings file, to tell when another process rewrote it
+    static long[] bookingsFileStamp() {
+        File file = new File(BOOKINGS_FILE);
+        return new long[] {file.length(), file.lastModified()};
+    }
+
+    public static List<Booking> loadBookings() {
+        if (!new File(BOOKINGS_FILE).exists()) {
+            return new ArrayList<>();
+        }
+        return loadBookings(loadAttractions(), loadGuides());
+    }
+
+    // Resolves bookings against catalog lists the caller already holds
+    public static List<Booking> loadBookings(List<Attraction> attractions, List<Guide> guides) {
+        List<Booking> bookings = new ArrayList<>();
+        if (!new File(BOOKINGS_FILE).exists()) {
+            return bookings;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(BOOKINGS_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Booking booking = parseBooking(line, attractions, guides);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading bookings: " + e.getMessage());
+        }
+        return bookings;
+    }
+
+    // Rebuilds a booking from a stored line, such as a journal entry's, against the caller's catalog;
+    // null if the line can't be read or names an unknown attraction
+    public static Booking parseBookingRecord(String line, List<Attraction> attractions, List<Guide> guides) {
+        try {
+            return parseBooking(line, attractions, guides);
+        } catch (RuntimeException e) {
+            System.err.println("Skipping malformed booking record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Booking parseBooking(String line, List<Attraction> attractions, List<Guide> guides) {
+        String[] parts = line.split(SEPARATOR);
+        // The 9th field, the record version, is absent from older records
+        if (parts.length < 8) return null;
+
+        int bookingId = Integer.parseInt(parts[0]);
+        String touristUsername = parts[1];
+        String guideUsername = parts[2];
+        String attractionName = parts[3];
+        LocalDate trekDate = LocalDate.parse(parts[4]);
+        String status = parts[5];
+        double totalPrice = Double.parseDouble(parts[6]);
+        boolean festivalDiscountApplied = Boolean.parseBoolean(parts[7]);
+
+        Attraction attraction = attractions.stream()
+                .filter(a -> a.getName().equals(attractionName))
+                .findFirst()
+                .orElse(null);
+
+        if (attraction == null) return null;
+
+        Booking booking = new Booking(touristUsername, attraction, trekDate);
+        booking.setBookingId(bookingId);
+        booking.setStatus(status);
+        booking.setFestivalDiscountApplied(festivalDiscountApplied);
+
+        if (guideUsername != null && !guideUsername.isEmpty()) {
+            Guide guide = guides.stream()
+                    .filter(g -> g.getUsername().equals(guideUsername))
+                    .findFirst()
+                    .orElse(null);
+            booking.setGuide(guide);
+        }
+        booking.setTotalPrice(totalPrice);
+
+        return stamp(booking, parts, 8, line);
+    }
+
+    public static boolean deleteBooking(int bookingId) {
+        boolean saved = withLock(BOOKINGS_FILE, () -> {
+            List<Attraction> attractions = loadAttractions();
+            List<Guide> guides = loadGuides();
+            List<Booking> bookings = loadBookings(attractions, guides);
+            if (!bookings.removeIf(b -> b.getBookingId() == bookingId)) {
+                return false;
+            }
+            if (!writeBookings(bookings, bookingFormat(attractions, guides), null)) {
+                return false;
+            }
+            BookingChangeLog.append(BookingChange.Type.DELETED, String.valueOf(bookingId));
+            return true;
+        });
+        if (saved) {
+            notifyChange(BOOKINGS);
+            notifyRecord(listener -> listener.bookingDeleted(bookingId));
+        }
+        return saved;
+    }
+
+    // Booking lines name their guide and attraction, so parsing needs the catalog to resolve them
+    private static RecordFormat<Booking> bookingFormat(List<Attraction> attractions, List<Guide> guides) {
+        return new RecordFormat<>() {
+            @Override
+            public String key(Booking booking) {
+                return String.valueOf(booking.getBookingId());
+            }
+
+            @Override
+            public String[] fields(Booking booking) {
+                return new String[] {
+                        String.valueOf(booking.getBookingId()),
+                        booking.getTouristUsername(),
+                        booking.getGuideUsername(),
+                        booking.getAttraction().getName(),
+                        booking.getTrekDate().toString(),
+                        booking.getStatus(),
+                        String.valueOf(booking.getTotalPrice()),
+                        String.valueOf(booking.isFestivalDiscountApplied())
+                };
+            }
+
+            @Override
+            public String[] fieldNames() {
+                return new String[] {"id", "tourist", "guide", "attraction", "trek date", "status",
+                        "total price", "festival discount"};
+            }
+
+            @Override
+            public Booking parse(String line) {
+                return parseBooking(line, attractions, guides);
+            }
+
+            @Override
+            public void copyFields(Booking from, Booking to) {
+                // Keep the caller's guide and attraction objects unless the merge picked different ones
+                if (!from.getGuideUsername().equals(to.getGuideUsername())) {
+                    to.setGuide(from.getGuide());
+                }
+                if (!from.getAttraction().getName().equals(to.getAttraction().getName())) {
+                    to.setAttraction(from.getAttraction());
+                }
+                to.setTouristUsername(from.getTouristUsername());
+                to.setTrekDate(from.getTrekDate());
+                to.setStatus(from.getStatus());
+                to.setFestivalDiscountApplied(from.isFestivalDiscountApplied());
+                to.setTotalPrice(from.getTotalPrice());
+            }
+
+            @Override
+            public String describe(Booking booking) {
+                return "Booking #" + booking.getBookingId();
+            }
+        };
+    }
+
+    // Opens the bookings file for a scan split between workers. Saves replace the file rather than
+    // rewrite it, so the channel keeps reading the version it opened; null when there are no bookings
+    public static FileChannel openBookingsSnapshot() throws IOException {
+        if (!new File(BOOKINGS_FILE).exists()) return null;
+        return FileChannel.open(Paths.get(BOOKINGS_FILE), StandardOpenOption.READ);
+    }
+
+    // Visits the bookings whose lines start within [from, to) of the snapshot as flat records
+    public static void forEachBookingRecord(FileChannel bookings, long from, long to, Consumer<BookingRecord> visitor)
+            throws IOException {
+        forEachLineIn(bookings, from, to, (offset, line) -> {
+            String[] parts = line.split(SEPARATOR, -1);
+            if (parts.length < 8) return;
+            try {
+                visitor.accept(new BookingRecord(Integer.parseInt(parts[0]), parts[1], parts[2], parts[3],
+                        LocalDate.parse(parts[4]), parts[5], Double.parseDouble(parts[6]),
+                        Boolean.parseBoolean(parts[7])));
+            } catch (Exception e) {
+                System.err.println("Skipping malformed booking record at offset " + offset);
+            }
+        });
+    }
+
+    // Visits each booking's id and trek date with its byte offset, without building Booking objects
+    public static void forEachBookingKey(BookingKeyVisitor visitor) {
+        forEachLine(BOOKINGS_FILE, (offset, line) -> {
+            // Only fields 0 (id) and 4 (trek date) are needed; avoid splitting the whole record
+            int[] starts = new int[6];
+            int field = 1;
+            int at = 0;
+            while (field < starts.length && (at = line.indexOf(SEPARATOR, at)) >= 0) {
+                at += SEPARATOR.length();
+                starts[field++] = at;
+            }
+            if (field < starts.length) return;
+            try {
+                int bookingId = Integer.parseInt(line.substring(0, starts[1] - SEPARATOR.length()));
+                LocalDate trekDate = LocalDate.parse(line.substring(starts[4], starts[5] - SEPARATOR.length()));
+                visitor.visit(offset, bookingId, trekDate);
+            } catch (Exception e) {
+                System.err.println("Skipping malformed booking record at offset " + offset);
+            }
+        });
+    }
+
+    public static int maxBookingId() {
+        int[] max = {0};
+        forEachBookingKey((offset, bookingId, trekDate) -> max[0] = Math.max(max[0], bookingId));
+        return max[0];
+    }
+
+    public interface BookingKeyVisitor {
+        void visit(long offset, int bookingId, LocalDate trekDate);
+    }
+
+    // Reads the bookings stored at the given offsets, in order, with a single open file
+    public static List<Booking> loadBookingsAt(long[] offsets, List<Attraction> attractions, List<Guide> guides) {
+        List<Booking> bookings = new ArrayList<>();
+        if (offsets.length == 0 || !new File(BOOKINGS_FILE).exists()) {
+            return bookings;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(BOOKINGS_FILE, "r")) {
+            for (long offset : offsets) {
+                String line = readLineAt(file, offset);
+                if (line == null) continue;
+                // One bad or misaligned row must not cut off the rest of the page
+                try {
+                    Booking booking = parseBooking(line, attractions, guides);
+                    if (booking != null) {
+                        bookings.add(booking);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Skipping malformed booking record at offset " + offset);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading bookings by offset: " + e.getMessage());
+        }
+        return bookings;
+    }
+
+    // ================= Versioned Writes =================
+    /** A save lost a race: another writer changed the same fields, or removed or created the record. */
+    public static class WriteConflictException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public WriteConflictException(String message) {
+            super(message);
+        }
+    }
+
+    // How one record type is keyed, written and merged
+    private interface RecordFormat<T extends Versioned> {
+        String key(T record);
+        String[] fields(T record); // every stored field but the trailing version
+        String[] fieldNames();
+        T parse(String line);
+        void copyFields(T from, T to);
+        String describe(T record);
+    }
+
+    private static <T extends Versioned> T stamp(T record, String[] parts, int versionIndex, String line) {
+        long version = 0;
+        if (parts.length > versionIndex) {
+            try {
+                version = Long.parseLong(parts[versionIndex]);
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring malformed record version: " + parts[versionIndex]);
+            }
+        }
+        record.setVersion(version);
+        record.setStoredRecord(line);
+        return record;
+    }
+
+    /*
+     * Compare-and-swap of one record into the list just read from disk. If the
+     * stored version is still the one the record was read at, it simply wins.
+     * Otherwise the changes are merged field by field against the line the
+     * record was read from: fields only we changed keep our value, fields only
+     * they changed take theirs, and a field both changed differently is a
+     * conflict. The record's version is advanced; returns what it replaced.
+     */
+    private static <T extends Versioned> T commit(List<T> stored, T record, RecordFormat<T> format) {
+        String key = format.key(record);
+        int index = -1;
+        for (int i = 0; i < stored.size(); i++) {
+            if (format.key(stored.get(i)).equals(key)) {
+                index = i;
+                break;
+            }
+        }
+        return commit(stored, index, record, format);
+    }
+
+    // As above, with the stored record's position already known (-1 for a new record)
+    private static <T extends Versioned> T commit(List<T> stored, int index, T record, RecordFormat<T> format) {
+        T current = index >= 0 ? stored.get(index) : null;
+
+        if (current == null) {
+            if (record.getStoredRecord() != null) {
+                throw new WriteConflictException(format.describe(record) + " was deleted by someone else.");
+            }
+        } else if (record.getStoredRecord() == null) {
+            throw new WriteConflictException(format.describe(record) + " already exists.");
+        } else if (current.getVersion() != record.getVersion()) {
+            merge(current, record, format);
+        }
+
+        record.setVersion(current != null ? current.getVersion() + 1 : 1);
+        if (index >= 0) {
+            stored.set(index, record);
+        } else {
+            stored.add(record);
+        }
+        return current;
+    }
+
+    private static <T extends Versioned> void merge(T current, T record, RecordFormat<T> format) {
+        T base = format.parse(record.getStoredRecord());
+        if (base == null) {
+            throw new WriteConflictException(format.describe(record) + " was changed by someone else.");
+        }
+        String[] baseFields = format.fields(base);
+        String[] ours = format.fields(record);
+        String[] theirs = format.fields(current);
+        String[] names = format.fieldNames();
+
+        String[] merged = new String[ours.length];
+        List<String> clashes = new ArrayList<>();
+        for (int i = 0; i < ours.length; i++) {
+            if (Objects.equals(ours[i], baseFields[i])) {
+                merged[i] = theirs[i];
+            } else if (Objects.equals(theirs[i], baseFields[i]) || Objects.equals(theirs[i], ours[i])) {
+                merged[i] = ours[i];
+            } else {
+                clashes.add(names[i]);
+            }
+        }
+        if (!clashes.isEmpty()) {
+            throw new WriteConflictException(format.describe(record) + " was changed by someone else ("
+                    + String.join(", ", clashes) + "). Refresh and try again.");
+        }
+        T result = format.parse(String.join(SEPARATOR, merged));
+        if (result == null) {
+            throw new WriteConflictException(format.describe(record) + " could not be merged.");
+        }
+        format.copyFields(result, record);
+    }
+
+    // Writes every record with its version, then swaps the file in. On success the stored lines
+    // become the records' new merge bases; on failure the committed record's version is rolled back
+    private static <T extends Versioned> boolean write(String fileName, List<T> records, RecordFormat<T> format,
+                                                       T committed) {
+        List<String> lines = new ArrayList<>(records.size());
+        for (T record : records) {
+            // Hashed here rather than in fields(), so a merge compares the passwords as they were read
+            if (record instanceof Person) hashPassword((Person) record);
+            lines.add(String.join(SEPARATOR, format.fields(record)) + SEPARATOR + record.getVersion());
+        }
+        try {
+            replaceFile(fileName, lines);
+        } catch (IOException e) {
+            System.err.println("Error saving " + fileName + ": " + e.getMessage());
+            if (committed != null) committed.setVersion(committed.getVersion() - 1);
+            return false;
+        }
+        for (int i = 0; i < records.size(); i++) {
+            records.get(i).setStoredRecord(lines.get(i));
+        }
+        return true;
+    }
+
+    // Byte offset of each record's line in the file write() just produced
+    private static long[] lineOffsets(List<? extends Versioned> records) {
+        Charset charset = Charset.defaultCharset();
+        int newline = System.lineSeparator().getBytes(charset).length;
+        long[] offsets = new long[records.size()];
+        long offset = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += records.get(i).getStoredRecord().getBytes(charset).length + newline;
+        }
+        return offsets;
+    }
+
+    // Readers never see a half-written file: write a sibling temp file and rename it over the original
+    private static void replaceFile(String fileName, List<String> lines) throws IOException {
+        createDataDirectory();
+        Path target = Paths.get(fileName);
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, Charset.defaultCharset())) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /*
+     * Runs one read-check-write of a data file. Held only for that short step,
+     * never while a user edits. The OS lock on a sidecar file covers other
+     * processes (kiosks sharing the data directory); the monitor covers this one.
+     */
+    private static boolean withLock(String fileName, Supplier<Boolean> update) {
+        synchronized (FILE_LOCKS.computeIfAbsent(fileName, name -> new Object())) {
+            createDataDirectory();
+            try (FileChannel channel = FileChannel.open(Paths.get(fileName + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return update.get();
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                System.err.println("Error locking " + fileName + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    // ================= Indexed Access =================
+    // Passwords are only ever written as salted hashes; legacy plaintext is upgraded on save
+    private static void hashPassword(Person person) {
+        if (!PasswordHasher.isHashed(person.getPassword())) {
+            person.setPassword(PasswordHasher.hash(person.getPassword()));
+        }
+    }
+
+    // Visits every tourist record together with its byte offset in the tourists file
+    public static void forEachTouristRecord(BiConsumer<Long, Tourist> visitor) {
+        forEachLine(TOURISTS_FILE, (offset, line) -> {
+            Tourist tourist = parseTourist(line);
+            if (tourist != null) visitor.accept(offset, tourist);
+        });
+    }
+
+    public static void forEachGuideRecord(BiConsumer<Long, Guide> visitor) {
+        forEachLine(GUIDES_FILE, (offset, line) -> {
+            Guide guide = parseGuide(line);
+            if (guide != null) visitor.accept(offset, guide);
+        });
+    }
+
+    public static Tourist loadTouristAt(long offset) {
+        String line = readLineAt(TOURISTS_FILE, offset);
+        return line != null ? parseTourist(line) : null;
+    }
+
+    public static Guide loadGuideAt(long offset) {
+        String line = readLineAt(GUIDES_FILE, offset);
+        return line != null ? parseGuide(line) : null;
+    }
+
+    private static void forEachLine(String fileName, BiConsumer<Long, String> visitor) {
+        if (!new File(fileName).exists()) return;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            forEachLineIn(channel, 0, Long.MAX_VALUE, visitor);
+        } catch (Exception e) {
+            System.err.println("Error indexing " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    // Visits the lines that start within [from, to). Splitting a file into adjacent ranges visits every
+    // line exactly once, since a range that starts mid-line leaves that line to the range before it.
+    // Positional reads only, so several ranges can share one channel
+    private static void forEachLineIn(FileChannel channel, long from, long to, BiConsumer<Long, String> visitor)
+            throws IOException {
+        Charset charset = Charset.defaultCharset();
+        ByteBuffer block = ByteBuffer.allocate(64 * 1024);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long blockStart = Math.max(0, from - 1);
+        boolean aligned = from == 0;
+        long lineStart = from;
+        int read;
+        while (lineStart < to && (read = channel.read(block.clear(), blockStart)) > 0) {
+            byte[] bytes = block.array();
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] != '\n') continue;
+                if (aligned) {
+                    buffer.write(bytes, start, i - start);
+                    visitor.accept(lineStart, stripCarriageReturn(buffer.toString(charset)));
+                    buffer.reset();
+                }
+                aligned = true;
+                start = i + 1;
+                lineStart = blockStart + start;
+                if (lineStart >= to) break;
+            }
+            if (aligned && lineStart < to) {
+                buffer.write(bytes, start, read - start);
+            }
+            blockStart += read;
+        }
+        if (aligned && lineStart < to && buffer.size() > 0) {
+            visitor.accept(lineStart, stripCarriageReturn(buffer.toString(charset)));
+        }
+    }
+
+    private static String readLineAt(String fileName, long offset) {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+            return readLineAt(file, offset);
+        } catch (Exception e) {
+            System.err.println("Error reading " + fileName + " at offset " + offset + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String readLineAt(RandomAccessFile file, long offset) throws IOException {
+        if (offset < 0 || offset >= file.length()) return null;
+        file.seek(offset);
+
+        // Records are short; read a block at a time rather than byte by byte
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] block = new byte[256];
+        int read;
+        while ((read = file.read(block)) != -1) {
+            int end = 0;
+            while (end < read && block[end] != '\n') end++;
+            buffer.write(block, 0, end);
+            if (end < read) break;
+        }
+        return stripCarriageReturn(buffer.toString(Charset.defaultCharset()));
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    // ================= Default Data Initialization =================
+    private static void initializeDefaultAttractions() {
+        List<Attraction> defaultAttractions = Arrays.asList(
+                new Attraction("Everest Base Camp", "Khumbu", "High", "Hard", 1200.0),
+                new Attraction("Annapurna Circuit", "Annapurna", "High", "Medium", 800.0),
+                new Attraction("Pokhara Sightseeing", "Pokhara", "Low", "Easy", 150.0)
+        );
+        saveAllAttractions(defaultAttractions);
+    }
+
+    private static void initializeDefaultGuides() {
+        List<Guide> defaultGuides = Arrays.asList(
+                new Guide("guide1", "password", "Ram Sharma", "ram@guide.com", "1234567890",
+                        Arrays.asList("English", "Nepali"), 5),
+                new Guide("guide2", "password", "Sita Gurung", "sita@guide.com", "9876543210",
+                        Arrays.asList("English", "Hindi"), 3)
+        );
+        saveAllGuides(defaultGuides);
+    }
+}
\ No newline at end of file
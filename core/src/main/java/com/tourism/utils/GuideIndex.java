@@ -0,0 +1,190 @@
+package com.tourism.utils;
+
+import com.tourism.models.Guide;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from guide language and specialization to guide bitmaps.
+ *
+ * Each guide gets a small integer id; every language and specialization
+ * maps to the BitSet of guide ids that list it. A multi-criteria query is an
+ * intersection of those bitmaps. Built from disk on first use and then kept
+ * current from FileHandler's guide save and delete events.
+ */
+public class GuideIndex {
+    private static Map<String, Integer> idsByUsername;
+    private static List<String> usernames;           // id -> username, null for freed ids
+    private static Deque<Integer> freeIds;
+    private static Map<String, BitSet> byLanguage;
+    private static Map<String, BitSet> bySpecialization;
+    private static Map<String, String> displayNames;  // lower-case term -> first spelling seen
+
+    static {
+        FileHandler.addRecordListener(new FileHandler.RecordListener() {
+            @Override
+            public void guideSaved(Guide guide) {
+                update(guide);
+            }
+
+            @Override
+            public void guideDeleted(String username) {
+                remove(username);
+            }
+        });
+    }
+
+    /**
+     * Usernames of guides that speak every given language and have every
+     * given specialization, in id order. Null or empty collections mean "any".
+     */
+    public static synchronized List<String> match(Collection<String> languages, Collection<String> specializations) {
+        ensureBuilt();
+        BitSet result = new BitSet(usernames.size());
+        for (int id = 0; id < usernames.size(); id++) {
+            if (usernames.get(id) != null) result.set(id);
+        }
+        intersect(result, byLanguage, languages);
+        intersect(result, bySpecialization, specializations);
+
+        List<String> matches = new ArrayList<>(result.cardinality());
+        for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+            matches.add(usernames.get(id));
+        }
+        return matches;
+    }
+
+    // Single-criterion convenience for the picker combos; null means "any"
+    public static List<String> match(String language, String specialization) {
+        return match(language == null ? null : List.of(language),
+                specialization == null ? null : List.of(specialization));
+    }
+
+    // Resolves matches to the guide objects the caller already holds, so selections keep working
+    public static List<Guide> filter(Map<String, Guide> guidesByUsername, String language, String specialization) {
+        List<Guide> guides = new ArrayList<>();
+        for (String username : match(language, specialization)) {
+            Guide guide = guidesByUsername.get(username);
+            if (guide != null) guides.add(guide);
+        }
+        return guides;
+    }
+
+    /** Every known language with the number of guides speaking it, sorted by name. */
+    public static synchronized Map<String, Integer> languageCounts() {
+        ensureBuilt();
+        return counts(byLanguage);
+    }
+
+    public static synchronized Map<String, Integer> specializationCounts() {
+        ensureBuilt();
+        return counts(bySpecialization);
+    }
+
+    // Reads the guides file if the index has not been built; call off the FX thread
+    public static synchronized void ensureBuilt() {
+        if (idsByUsername == null) {
+            rebuild();
+        }
+    }
+
+    public static synchronized void invalidate() {
+        idsByUsername = null;
+    }
+
+    private static void rebuild() {
+        idsByUsername = new HashMap<>();
+        usernames = new ArrayList<>();
+        freeIds = new ArrayDeque<>();
+        byLanguage = new HashMap<>();
+        bySpecialization = new HashMap<>();
+        displayNames = new HashMap<>();
+        for (Guide guide : FileHandler.loadGuides()) {
+            put(guide);
+        }
+    }
+
+    private static synchronized void update(Guide guide) {
+        if (idsByUsername == null) return; // not built yet; the first query reads the saved file
+        put(guide);
+    }
+
+    private static synchronized void remove(String username) {
+        if (idsByUsername == null) return;
+        Integer id = idsByUsername.remove(username);
+        if (id == null) return;
+        clearBits(id);
+        usernames.set(id, null);
+        freeIds.push(id);
+    }
+
+    private static void put(Guide guide) {
+        Integer id = idsByUsername.get(guide.getUsername());
+        if (id != null) {
+            clearBits(id); // the guide's terms may have changed
+        } else {
+            id = freeIds.isEmpty() ? usernames.size() : freeIds.pop();
+            if (id == usernames.size()) {
+                usernames.add(guide.getUsername());
+            } else {
+                usernames.set(id, guide.getUsername());
+            }
+            idsByUsername.put(guide.getUsername(), id);
+        }
+
+        for (String language : guide.getLanguages()) {
+            term(byLanguage, language).set(id);
+        }
+        for (String specialization : guide.getSpecializations()) {
+            term(bySpecialization, specialization).set(id);
+        }
+    }
+
+    private static void clearBits(int id) {
+        byLanguage.values().removeIf(bits -> {
+            bits.clear(id);
+            return bits.isEmpty();
+        });
+        bySpecialization.values().removeIf(bits -> {
+            bits.clear(id);
+            return bits.isEmpty();
+        });
+    }
+
+    private static BitSet term(Map<String, BitSet> postings, String value) {
+        String key = normalize(value);
+        displayNames.putIfAbsent(key, value.trim());
+        return postings.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static void intersect(BitSet result, Map<String, BitSet> postings, Collection<String> terms) {
+        if (terms == null) return;
+        for (String term : terms) {
+            BitSet bits = postings.get(normalize(term));
+            if (bits == null) {
+                result.clear();
+                return;
+            }
+            result.and(bits);
+        }
+    }
+
+    private static Map<String, Integer> counts(Map<String, BitSet> postings) {
+        Map<String, Integer> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        postings.forEach((key, bits) -> counts.put(displayNames.get(key), bits.cardinality()));
+        return counts;
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
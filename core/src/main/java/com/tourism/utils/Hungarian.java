@@ -0,0 +1,75 @@
+package com.tourism.utils;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment of rows to columns (the Hungarian algorithm with
+ * potentials), O(n² m) for n rows and m ≥ n columns.
+ */
+public class Hungarian {
+
+    // The column assigned to each row, minimising the summed cost; every row gets a distinct column
+    public static int[] solve(long[][] cost) {
+        int n = cost.length;
+        if (n == 0) return new int[0];
+        int m = cost[0].length;
+        if (m < n) {
+            throw new IllegalArgumentException("Need at least as many columns as rows");
+        }
+
+        // 1-based: row 0 and column 0 are the virtual start of each augmenting path
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] rowOf = new int[m + 1]; // row matched to each column, 0 if none
+        int[] way = new int[m + 1];
+        long[] minSlack = new long[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int row = 1; row <= n; row++) {
+            rowOf[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, Long.MAX_VALUE);
+            Arrays.fill(used, false);
+            do {
+                used[column] = true;
+                int current = rowOf[column];
+                long delta = Long.MAX_VALUE;
+                int next = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    long slack = cost[current - 1][j - 1] - u[current] - v[j];
+                    if (slack < minSlack[j]) {
+                        minSlack[j] = slack;
+                        way[j] = column;
+                    }
+                    if (minSlack[j] < delta) {
+                        delta = minSlack[j];
+                        next = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOf[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = next;
+            } while (rowOf[column] != 0);
+
+            // Flip the augmenting path back to the start
+            do {
+                int previous = way[column];
+                rowOf[column] = rowOf[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] columnOf = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (rowOf[j] != 0) columnOf[rowOf[j] - 1] = j - 1;
+        }
+        return columnOf;
+    }
+}
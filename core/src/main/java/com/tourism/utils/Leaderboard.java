@@ -0,0 +1,164 @@
+package com.tourism.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Keys ranked by score, highest first, ties broken by key.
+ *
+ * An indexable skip list: each forward link also records how many entries it
+ * skips, so a key's rank is summed on the way down in O(log n) expected, the
+ * same as a score change (remove and re-insert). The top k are the first k
+ * entries of the bottom level. Not thread-safe.
+ */
+public class Leaderboard {
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_UP = 0.25;
+
+    private static class Node {
+        final String key;
+        final double score;
+        final Node[] next;
+        final int[] span; // entries skipped by next[i], counting the one it lands on
+
+        Node(String key, double score, int levels) {
+            this.key = key;
+            this.score = score;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private int level = 1;
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean contains(String key) {
+        return nodes.containsKey(key);
+    }
+
+    // 0 for keys not on the board
+    public double score(String key) {
+        Node node = nodes.get(key);
+        return node == null ? 0.0 : node.score;
+    }
+
+    public void put(String key, double score) {
+        Node node = nodes.get(key);
+        if (node != null && node.score == score) return;
+        remove(key);
+        nodes.put(key, insert(key, score));
+    }
+
+    // Adds delta to the key's score, putting it on the board at delta if absent
+    public void add(String key, double delta) {
+        put(key, score(key) + delta);
+    }
+
+    public void remove(String key) {
+        Node node = nodes.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    // 1-based position, or 0 for keys not on the board
+    public int rank(String key) {
+        Node node = nodes.get(key);
+        if (node == null) return 0;
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == node || precedes(x.next[i], node.score, node.key))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) return rank;
+        }
+        return rank;
+    }
+
+    // The first k keys with their scores, highest first
+    public List<Map.Entry<String, Double>> top(int k) {
+        List<Map.Entry<String, Double>> top = new ArrayList<>(Math.min(k, size()));
+        for (Node x = head.next[0]; x != null && top.size() < k; x = x.next[0]) {
+            top.add(Map.entry(x.key, x.score));
+        }
+        return top;
+    }
+
+    private static boolean precedes(Node node, double score, String key) {
+        return node.score > score || (node.score == score && node.key.compareTo(key) < 0);
+    }
+
+    private Node insert(String key, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], score, key)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int levels = randomLevel();
+        if (levels > level) {
+            for (int i = level; i < levels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = nodes.size();
+            }
+            level = levels;
+        }
+
+        Node node = new Node(key, score, levels);
+        for (int i = 0; i < levels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            // rank[0] - rank[i] entries lie between update[i] and the new node
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = levels; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return node;
+    }
+
+    private void unlink(Node node) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], node.score, node.key)) {
+                x = x.next[i];
+            }
+            if (x.next[i] == node) {
+                x.span[i] += node.span[i] - 1;
+                x.next[i] = node.next[i];
+            } else {
+                x.span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    private int randomLevel() {
+        int levels = 1;
+        while (levels < MAX_LEVEL && random.nextDouble() < LEVEL_UP) {
+            levels++;
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,143 @@
+package com.tourism.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2 password hashing.
+ *
+ * Stored format: pbkdf2$iterations$salt$hash (salt and hash are Base64).
+ * Every hash carries its own iteration count, so the work factor can be raised
+ * later without breaking existing accounts.
+ */
+public class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2";
+    private static final String DELIMITER = "$";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final int MIN_ITERATIONS = 10_000;
+    private static final int DEFAULT_ITERATIONS = 120_000;
+    // calibrate() lands a little differently on every start, so only clearly weaker hashes are redone
+    private static final double REHASH_BELOW = 0.8;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static volatile int iterations = DEFAULT_ITERATIONS;
+
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int cost = iterations;
+        byte[] hash = derive(password, salt, cost);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return String.join(DELIMITER, PREFIX, String.valueOf(cost),
+                encoder.encodeToString(salt), encoder.encodeToString(hash));
+    }
+
+    /**
+     * Verifies a password against a stored value. Values that are not in the
+     * hashed format are treated as legacy plaintext passwords.
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) return false;
+
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(), stored.getBytes());
+        }
+
+        try {
+            String[] parts = stored.split("\\" + DELIMITER);
+            int cost = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(derive(password, salt, cost), expected);
+        } catch (Exception e) {
+            System.err.println("Error verifying password hash: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + DELIMITER)
+                && stored.split("\\" + DELIMITER).length == 4;
+    }
+
+    // True for legacy plaintext values and hashes well under the current work factor
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) return true;
+        try {
+            return Integer.parseInt(stored.split("\\" + DELIMITER)[1]) < iterations * REHASH_BELOW;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static int getIterations() {
+        return iterations;
+    }
+
+    public static void setIterations(int newIterations) {
+        iterations = Math.max(MIN_ITERATIONS, newIterations);
+    }
+
+    /**
+     * Measures the cost of one verification on this machine and picks the
+     * iteration count that brings a verify close to the target latency.
+     */
+    public static int calibrate(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int probe = MIN_ITERATIONS * 2;
+
+        // Warm up the JIT before measuring
+        derive("warmup", salt, probe);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            derive("calibration", salt, probe);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double nanosPerIteration = (double) best / probe;
+        int chosen = (int) Math.min(Integer.MAX_VALUE, (targetMillis * 1_000_000L) / nanosPerIteration);
+        setIterations(chosen);
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int cost) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (Exception e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // Benchmark: prints verify latency for a range of work factors and the calibrated choice
+    public static void main(String[] args) {
+        long target = args.length > 0 ? Long.parseLong(args[0]) : 150;
+
+        System.out.println("iterations    verify (ms)");
+        for (int cost : new int[]{10_000, 50_000, 100_000, 200_000, 400_000}) {
+            setIterations(cost);
+            String stored = hash("Benchmark@123");
+            long[] samples = new long[5];
+            for (int i = 0; i < samples.length; i++) {
+                long start = System.nanoTime();
+                verify("Benchmark@123", stored);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            System.out.printf("%10d    %10.1f%n", cost, samples[samples.length / 2] / 1_000_000.0);
+        }
+
+        System.out.printf("Calibrated: %d iterations (~%d ms per verify)%n", calibrate(target), target);
+    }
+}
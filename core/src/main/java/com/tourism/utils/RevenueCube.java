@@ -0,0 +1,258 @@
+package com.tourism.utils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Booking counts and revenue by attraction × trek month × nationality × guide.
+ *
+ * Each dimension value gets a small integer id from its dictionary, and the
+ * measures live in flat primitive arrays indexed by the four ids. Alongside
+ * the full cube, every pair of dimensions keeps its own two-dimensional
+ * totals, so the common queries (group by one dimension, sliced by at most
+ * one other) read a few dozen cells instead of looping over the cube. Adding
+ * or retracting a booking touches one cell plus one cell per pair. A
+ * dimension's capacity doubles when its dictionary outgrows it.
+ *
+ * Not thread-safe; AnalyticsAggregator owns the instance and guards it.
+ */
+public class RevenueCube {
+    public enum Dimension {
+        ATTRACTION("Attraction"), MONTH("Trek Month"), NATIONALITY("Nationality"), GUIDE("Guide");
+
+        private final String label;
+
+        Dimension(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final int DIMENSIONS = Dimension.values().length;
+
+    /** Measures of one roll-up group. */
+    public static class Totals {
+        public final long bookings;
+        public final double revenue;
+
+        Totals(long bookings, double revenue) {
+            this.bookings = bookings;
+            this.revenue = revenue;
+        }
+    }
+
+    // Value <-> id for one dimension; ids are never reused, so a cell's coordinates stay valid
+    private static class Dictionary {
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+    }
+
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS];
+    private final int[] capacity = {8, 16, 8, 8};
+    private long[] bookings;
+    private double[] revenue;
+    // Totals over each pair of dimensions (first < second), indexed first * capacity[second] + second
+    private final long[][][] pairBookings = new long[DIMENSIONS][DIMENSIONS][];
+    private final double[][][] pairRevenue = new double[DIMENSIONS][DIMENSIONS][];
+
+    public RevenueCube() {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            dictionaries[d] = new Dictionary();
+        }
+        bookings = new long[cellCount(capacity)];
+        revenue = new double[bookings.length];
+        for (int first = 0; first < DIMENSIONS; first++) {
+            for (int second = first + 1; second < DIMENSIONS; second++) {
+                pairBookings[first][second] = new long[capacity[first] * capacity[second]];
+                pairRevenue[first][second] = new double[capacity[first] * capacity[second]];
+            }
+        }
+    }
+
+    // Coordinates of a cell, assigning ids to values seen for the first time
+    public int[] cell(String attraction, String month, String nationality, String guide) {
+        String[] values = {attraction, month, nationality, guide};
+        int[] cell = new int[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            cell[d] = dictionaries[d].idOf(values[d]);
+            if (cell[d] >= capacity[d]) {
+                grow(d);
+            }
+        }
+        return cell;
+    }
+
+    public void add(int[] cell, double amount) {
+        update(cell, 1, amount);
+    }
+
+    public void remove(int[] cell, double amount) {
+        update(cell, -1, -amount);
+    }
+
+    private void update(int[] cell, long count, double amount) {
+        int index = index(cell, capacity);
+        bookings[index] += count;
+        revenue[index] += amount;
+        for (int first = 0; first < DIMENSIONS; first++) {
+            for (int second = first + 1; second < DIMENSIONS; second++) {
+                int pair = cell[first] * capacity[second] + cell[second];
+                pairBookings[first][second][pair] += count;
+                pairRevenue[first][second][pair] += amount;
+            }
+        }
+    }
+
+    /*
+     * Totals grouped by one dimension, over the cells matching the slice (a
+     * value for each fixed dimension; the rest are summed over). Groups with
+     * no bookings are left out; keys are sorted, so months come in order.
+     */
+    public Map<String, Totals> rollUp(Dimension by, Map<Dimension, String> slice) {
+        int group = by.ordinal();
+        long[] groupBookings = new long[dictionaries[group].values.size()];
+        double[] groupRevenue = new double[groupBookings.length];
+
+        Map<Dimension, String> others = new EnumMap<>(Dimension.class);
+        others.putAll(slice);
+        String groupValue = others.remove(by);
+        if (others.size() <= 1) {
+            // Answerable from the pair of the grouping dimension and the sliced (or any) other one
+            int other = others.isEmpty() ? (group == 0 ? 1 : 0) : others.keySet().iterator().next().ordinal();
+            int otherFrom = 0;
+            int otherTo = dictionaries[other].values.size();
+            if (!others.isEmpty()) {
+                Integer id = dictionaries[other].ids.get(others.values().iterator().next());
+                if (id == null) return new TreeMap<>();
+                otherFrom = id;
+                otherTo = id + 1;
+            }
+            long[] counts = pairBookings[Math.min(group, other)][Math.max(group, other)];
+            double[] amounts = pairRevenue[Math.min(group, other)][Math.max(group, other)];
+            for (int g = 0; g < groupBookings.length; g++) {
+                for (int o = otherFrom; o < otherTo; o++) {
+                    int pair = group < other ? g * capacity[other] + o : o * capacity[group] + g;
+                    groupBookings[g] += counts[pair];
+                    groupRevenue[g] += amounts[pair];
+                }
+            }
+            return totals(group, groupBookings, groupRevenue, groupValue);
+        }
+
+        int[] from = new int[DIMENSIONS];
+        int[] to = new int[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            String fixed = slice.get(Dimension.values()[d]);
+            if (fixed == null) {
+                from[d] = 0;
+                to[d] = dictionaries[d].values.size();
+            } else {
+                Integer id = dictionaries[d].ids.get(fixed);
+                if (id == null) return new TreeMap<>();
+                from[d] = id;
+                to[d] = id + 1;
+            }
+        }
+
+        int[] cell = new int[DIMENSIONS];
+        for (cell[0] = from[0]; cell[0] < to[0]; cell[0]++) {
+            for (cell[1] = from[1]; cell[1] < to[1]; cell[1]++) {
+                for (cell[2] = from[2]; cell[2] < to[2]; cell[2]++) {
+                    // The innermost dimension is contiguous in the arrays
+                    cell[3] = 0;
+                    int base = index(cell, capacity);
+                    for (cell[3] = from[3]; cell[3] < to[3]; cell[3]++) {
+                        groupBookings[cell[group]] += bookings[base + cell[3]];
+                        groupRevenue[cell[group]] += revenue[base + cell[3]];
+                    }
+                }
+            }
+        }
+
+        return totals(group, groupBookings, groupRevenue, null);
+    }
+
+    // Non-empty groups by value; only groupValue's when the grouping dimension is itself sliced
+    private Map<String, Totals> totals(int group, long[] groupBookings, double[] groupRevenue, String groupValue) {
+        Map<String, Totals> result = new TreeMap<>();
+        for (int id = 0; id < groupBookings.length; id++) {
+            String value = dictionaries[group].values.get(id);
+            if (groupBookings[id] != 0 && (groupValue == null || groupValue.equals(value))) {
+                result.put(value, new Totals(groupBookings[id], groupRevenue[id]));
+            }
+        }
+        return result;
+    }
+
+    private void grow(int dimension) {
+        int[] grown = capacity.clone();
+        grown[dimension] *= 2;
+        long[] newBookings = new long[cellCount(grown)];
+        double[] newRevenue = new double[newBookings.length];
+
+        int[] cell = new int[DIMENSIONS];
+        for (int index = 0; index < bookings.length; index++) {
+            if (bookings[index] == 0 && revenue[index] == 0.0) continue;
+            int rest = index;
+            for (int d = DIMENSIONS - 1; d >= 0; d--) {
+                cell[d] = rest % capacity[d];
+                rest /= capacity[d];
+            }
+            int target = index(cell, grown);
+            newBookings[target] = bookings[index];
+            newRevenue[target] = revenue[index];
+        }
+
+        for (int first = 0; first < DIMENSIONS; first++) {
+            for (int second = first + 1; second < DIMENSIONS; second++) {
+                if (first != dimension && second != dimension) continue;
+                long[] pairCounts = new long[grown[first] * grown[second]];
+                double[] pairAmounts = new double[pairCounts.length];
+                for (int index = 0; index < pairBookings[first][second].length; index++) {
+                    int target = index / capacity[second] * grown[second] + index % capacity[second];
+                    pairCounts[target] = pairBookings[first][second][index];
+                    pairAmounts[target] = pairRevenue[first][second][index];
+                }
+                pairBookings[first][second] = pairCounts;
+                pairRevenue[first][second] = pairAmounts;
+            }
+        }
+        System.arraycopy(grown, 0, capacity, 0, DIMENSIONS);
+        bookings = newBookings;
+        revenue = newRevenue;
+    }
+
+    private static int index(int[] cell, int[] capacity) {
+        int index = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            index = index * capacity[d] + cell[d];
+        }
+        return index;
+    }
+
+    private static int cellCount(int[] capacity) {
+        int count = 1;
+        for (int size : capacity) {
+            count *= size;
+        }
+        return count;
+    }
+}
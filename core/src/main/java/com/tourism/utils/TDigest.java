@@ -0,0 +1,185 @@
+package com.tourism.utils;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for quantiles of a stream of values, e.g. booking prices.
+ *
+ * Values are summarised as weighted centroids, kept small near the tails and
+ * larger around the median by the k1 scale function, so extreme quantiles stay
+ * accurate in about 2 × compression centroids whatever the number of values.
+ * New values are buffered and folded in a batch at a time. Digests merge by
+ * folding one's centroids into the other. Not thread-safe.
+ */
+public class TDigest {
+    private final double compression;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.compression = compression;
+        int bufferSize = (int) (5 * compression);
+        this.bufferMeans = new double[bufferSize];
+        this.bufferWeights = new double[bufferSize];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double mean, double weight) {
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    // Estimated value at quantile q in [0, 1]; NaN when empty
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        int n = means.length;
+        if (n == 0) return Double.NaN;
+        if (n == 1) return means[0];
+        if (q == 1) return max; // exactly, rather than interpolated up to it
+
+        // Each centroid's weight is centred on its mean; interpolate between neighbouring centres
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < n - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + gap > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / gap;
+            }
+            cumulative += gap;
+        }
+        double rest = Math.min(index - cumulative, weights[n - 1] / 2);
+        return means[n - 1] + (max - means[n - 1]) * rest / (weights[n - 1] / 2);
+    }
+
+    /*
+     * Bound on the rank error of quantile(q), as a fraction of all values. No
+     * centroid spans more than one unit of k1, and dq/dk = 2 * pi * sqrt(q(1 - q))
+     * / compression, so that is the widest centroid near q. Interpolating
+     * between centroid centres can be off by up to one whole centroid, not half,
+     * since the values inside it need not be spread evenly.
+     */
+    public double rankError(double q) {
+        return 2 * Math.PI * Math.sqrt(q * (1 - q)) / compression;
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.means.length; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Folds the buffer into the centroids: merge the sorted buffer with the (sorted) centroids, then
+    // combine neighbours while the combined centroid still spans at most one unit of the scale function
+    private void compress() {
+        if (buffered == 0) return;
+        sortBuffer();
+
+        int n = means.length + buffered;
+        double[] newMeans = new double[n];
+        double[] newWeights = new double[n];
+        int count = 0;
+        double mean = 0;
+        double weight = 0;
+        double before = 0;
+        double limit = totalWeight * quantileOf(scale(0) + 1);
+        int c = 0;
+        int b = 0;
+        while (c < means.length || b < buffered) {
+            double nextMean;
+            double nextWeight;
+            if (b == buffered || (c < means.length && means[c] <= bufferMeans[b])) {
+                nextMean = means[c];
+                nextWeight = weights[c++];
+            } else {
+                nextMean = bufferMeans[b];
+                nextWeight = bufferWeights[b++];
+            }
+            if (weight == 0) {
+                mean = nextMean;
+                weight = nextWeight;
+            } else if (before + weight + nextWeight <= limit) {
+                weight += nextWeight;
+                mean += (nextMean - mean) * nextWeight / weight;
+            } else {
+                newMeans[count] = mean;
+                newWeights[count] = weight;
+                count++;
+                before += weight;
+                limit = totalWeight * quantileOf(scale(before / totalWeight) + 1);
+                mean = nextMean;
+                weight = nextWeight;
+            }
+        }
+        newMeans[count] = mean;
+        newWeights[count] = weight;
+        count++;
+        means = Arrays.copyOf(newMeans, count);
+        weights = Arrays.copyOf(newWeights, count);
+        buffered = 0;
+    }
+
+    // Plain values all weigh 1 and sort as primitives; only merged-in centroids need their weights kept paired
+    private void sortBuffer() {
+        boolean unitWeights = true;
+        for (int i = 0; i < buffered && unitWeights; i++) {
+            unitWeights = bufferWeights[i] == 1;
+        }
+        if (unitWeights) {
+            Arrays.sort(bufferMeans, 0, buffered);
+            return;
+        }
+        double[][] points = new double[buffered][];
+        for (int i = 0; i < buffered; i++) {
+            points[i] = new double[] {bufferMeans[i], bufferWeights[i]};
+        }
+        Arrays.sort(points, (x, y) -> Double.compare(x[0], y[0]));
+        for (int i = 0; i < buffered; i++) {
+            bufferMeans[i] = points[i][0];
+            bufferWeights[i] = points[i][1];
+        }
+    }
+
+    // k1 scale function and its inverse
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    private double quantileOf(double k) {
+        double angle = k * 2 * Math.PI / compression;
+        return angle >= Math.PI / 2 ? 1 : (Math.sin(angle) + 1) / 2;
+    }
+}
@@ -0,0 +1,130 @@
+package com.tourism.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: items scheduled for a tick are handed back when
+ * the wheel is advanced past it.
+ *
+ * Each level has 64 slots; a slot on level 0 covers one tick, a slot on level
+ * n covers 64^n ticks. An item is filed on the lowest level whose range
+ * reaches its deadline and moved down a level each time its slot comes round,
+ * so scheduling and cancelling are O(1) and advancing one tick only touches
+ * the items due then (plus, once every 64 ticks, one slot's worth to cascade).
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // 64^4 ticks ahead; later deadlines wait on the top level
+
+    /** A scheduled item; cancel() keeps it from being handed back. */
+    public static final class Timer<T> {
+        private final long deadline;
+        private final T item;
+        private boolean cancelled;
+
+        private Timer(long deadline, T item) {
+            this.deadline = deadline;
+            this.item = item;
+        }
+
+        public long getDeadline() { return deadline; }
+        public T getItem() { return item; }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    // Slot index of level l is at l * SLOTS + index; a slot's list is made on first use
+    private final List<List<Timer<T>>> slots = new ArrayList<>(Collections.nCopies(LEVELS * SLOTS, null));
+    private final List<Timer<T>> due = new ArrayList<>(); // deadline already reached when scheduled
+    private long now;
+    private int size;
+
+    public TimingWheel(long now) {
+        this.now = now;
+    }
+
+    // The last tick advanced to
+    public long now() {
+        return now;
+    }
+
+    // Scheduled items not yet handed back, including cancelled ones not yet reached
+    public int size() {
+        return size;
+    }
+
+    // A deadline at or before now() is handed back by the next advance
+    public Timer<T> schedule(long deadline, T item) {
+        Timer<T> timer = new Timer<>(deadline, item);
+        file(timer);
+        size++;
+        return timer;
+    }
+
+    // Moves to tick and returns the live items whose deadlines were reached, earlier ticks first
+    public List<T> advanceTo(long tick) {
+        List<T> fired = new ArrayList<>();
+        drain(due, fired);
+        while (now < tick) {
+            now++;
+            // Every 64 ticks the next slot up is spread over the level below it, and so on upwards
+            for (int level = 1; level < LEVELS && (now & ((1L << (BITS * level)) - 1)) == 0; level++) {
+                cascade(level, (int) ((now >>> (BITS * level)) & MASK));
+            }
+            List<Timer<T>> slot = slots.get((int) (now & MASK));
+            if (slot != null) drain(slot, fired);
+            drain(due, fired); // anything a cascade found due this tick
+        }
+        return fired;
+    }
+
+    private void file(Timer<T> timer) {
+        long delta = timer.deadline - now;
+        if (delta <= 0) {
+            due.add(timer);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's range, park in the slot reached last; it cascades again until due
+        long at = level == LEVELS - 1 && delta >= 1L << (BITS * LEVELS)
+                ? now + (1L << (BITS * LEVELS)) - 1 : timer.deadline;
+        int index = (int) ((at >>> (BITS * level)) & MASK);
+        List<Timer<T>> slot = slots.get(level * SLOTS + index);
+        if (slot == null) {
+            slot = new ArrayList<>();
+            slots.set(level * SLOTS + index, slot);
+        }
+        slot.add(timer);
+    }
+
+    private void cascade(int level, int index) {
+        List<Timer<T>> slot = slots.get(level * SLOTS + index);
+        if (slot == null || slot.isEmpty()) return;
+        slots.set(level * SLOTS + index, null);
+        for (Timer<T> timer : slot) {
+            if (timer.cancelled) {
+                size--;
+            } else {
+                file(timer);
+            }
+        }
+    }
+
+    private void drain(List<Timer<T>> timers, List<T> fired) {
+        for (Timer<T> timer : timers) {
+            size--;
+            if (!timer.cancelled) fired.add(timer.item);
+        }
+        timers.clear();
+    }
+}
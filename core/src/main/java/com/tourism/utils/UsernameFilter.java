@@ -0,0 +1,85 @@
+package com.tourism.utils;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Bloom filter over all registered usernames.
+ *
+ * A negative answer is definite, so most availability checks never touch the
+ * credential index. Only a possible hit falls through to the exact lookup.
+ * Rebuilt at startup and updated whenever a tourist or guide account is
+ * created.
+ */
+public class UsernameFilter {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private static BitSet bits;
+    private static int bitCount;
+    private static int hashCount;
+    private static int capacity;
+    private static int size;
+
+    public static synchronized void rebuild() {
+        Collection<String> usernames = CredentialStore.usernames();
+        allocate(Math.max(MIN_CAPACITY, usernames.size() * 2));
+        for (String username : usernames) {
+            addInternal(username);
+        }
+    }
+
+    // Called once per new account, after the credential index has it
+    public static synchronized void add(String username) {
+        if (bits == null || size >= capacity) {
+            // Past the sizing target the false positive rate climbs; resize from the exact index,
+            // which already includes this account
+            rebuild();
+            return;
+        }
+        addInternal(username);
+    }
+
+    public static synchronized boolean mightContain(String username) {
+        if (bits == null) {
+            rebuild();
+        }
+        long hash = Hashing.hash64(username); // the two halves feed double hashing
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int combined = h1 + i * h2;
+            if (!bits.get(Math.floorMod(combined, bitCount))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exact membership: the filter answers "no" on its own, the credential
+     * index confirms a "maybe".
+     */
+    public static boolean isTaken(String username) {
+        return mightContain(username) && CredentialStore.contains(username);
+    }
+
+    private static void allocate(int expected) {
+        capacity = expected;
+        bitCount = (int) Math.ceil(-expected * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        bits = new BitSet(bitCount);
+        size = 0;
+    }
+
+    private static void addInternal(String username) {
+        long hash = Hashing.hash64(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int combined = h1 + i * h2;
+            bits.set(Math.floorMod(combined, bitCount));
+        }
+        size++;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tourism.utils;
+
+import com.tourism.models.WaitlistEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Append-only journal holding the waitlist: an entry is live from its JOINED
+ * line until a LEFT or PROMOTED line names it.
+ *
+ * Each line is one small append, so processes sharing the data directory can
+ * write concurrently and catch up on each other's changes by reading on from
+ * the offset they last reached. As with the booking journal, only
+ * newline-terminated lines are read.
+ */
+public class WaitlistLog {
+    private static final String JOURNAL_FILE = "data/waitlist.log";
+    private static final String SEPARATOR = "%%%";
+    private static final int READ_CHUNK = 64 * 1024;
+
+    /** Receives the journal's lines in order. */
+    public interface Visitor {
+        void joined(WaitlistEntry entry);
+        void left(String entryId);
+        void promoted(String entryId, int bookingId);
+    }
+
+    public static boolean appendJoined(WaitlistEntry entry) {
+        return append(String.join(SEPARATOR, "JOINED", entry.getId(), String.valueOf(entry.getRequestedAt()),
+                entry.getTier().name(), entry.getTouristUsername(), entry.getAttractionName(),
+                entry.getTrekDate().toString()));
+    }
+
+    public static boolean appendLeft(String entryId) {
+        return append("LEFT" + SEPARATOR + entryId);
+    }
+
+    public static boolean appendPromoted(String entryId, int bookingId) {
+        return append("PROMOTED" + SEPARATOR + entryId + SEPARATOR + bookingId);
+    }
+
+    private static synchronized boolean append(String line) {
+        new File(JOURNAL_FILE).getParentFile().mkdirs();
+        try (FileOutputStream out = new FileOutputStream(JOURNAL_FILE, true)) {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing waitlist: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Visits every complete line from fromOffset on; returns the offset to continue from next time
+    public static long read(long fromOffset, Visitor visitor) throws IOException {
+        File journal = new File(JOURNAL_FILE);
+        if (!journal.exists() || fromOffset >= journal.length()) {
+            return fromOffset;
+        }
+
+        long position = fromOffset;
+        try (RandomAccessFile file = new RandomAccessFile(journal, "r")) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] chunk = new byte[READ_CHUNK];
+            long chunkStart = position;
+            file.seek(position);
+
+            int read;
+            while ((read = file.read(chunk)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] != '\n') {
+                        line.write(chunk[i]);
+                        continue;
+                    }
+                    visit(position, line.toString(StandardCharsets.UTF_8), visitor);
+                    position = chunkStart + i + 1;
+                    line.reset();
+                }
+                chunkStart += read;
+            }
+        }
+        return position;
+    }
+
+    private static void visit(long offset, String line, Visitor visitor) {
+        String[] parts = line.split(SEPARATOR, -1);
+        try {
+            switch (parts[0]) {
+                case "JOINED":
+                    visitor.joined(new WaitlistEntry(parts[1], parts[4], parts[5], LocalDate.parse(parts[6]),
+                            WaitlistEntry.Tier.valueOf(parts[3]), Long.parseLong(parts[2])));
+                    break;
+                case "LEFT":
+                    visitor.left(parts[1]);
+                    break;
+                case "PROMOTED":
+                    visitor.promoted(parts[1], Integer.parseInt(parts[2]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown entry type " + parts[0]);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Skipping unreadable waitlist line at " + offset + ": " + e.getMessage());
+        }
+    }
+}
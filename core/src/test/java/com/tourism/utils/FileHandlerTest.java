@@ -0,0 +1,146 @@
+package com.tourism.utils;
+
+import com.tourism.models.Attraction;
+import com.tourism.models.Booking;
+import com.tourism.models.Tourist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks FileHandler's versioned saves as two kiosks see them: each loads its
+ * own copy of a record and saves it back. Runs against a fresh data/ directory
+ * under target/ (surefire's working directory), wiped before each test.
+ */
+class FileHandlerTest {
+    private static final Path DATA = Paths.get("data");
+
+    @BeforeEach
+    void freshDataDirectory() throws IOException {
+        // Never wipe a real data/ directory, e.g. when run from an IDE in the module root
+        assertEquals("test-data", Paths.get("").toAbsolutePath().getFileName().toString(),
+                "run with surefire's working directory");
+        if (Files.exists(DATA)) {
+            try (Stream<Path> paths = Files.walk(DATA)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        FileHandler.initializeDataFiles();
+    }
+
+    @Test
+    void staleSaveOfOtherFieldsMerges() {
+        assertTrue(FileHandler.saveTourist(new Tourist("ana", "Secret@123", "Ana Rai", "ana@example.com",
+                "9800000000", "Nepal")));
+        Tourist first = tourist("ana");
+        Tourist second = tourist("ana");
+
+        first.setEmail("ana@rai.example");
+        assertTrue(FileHandler.saveTourist(first));
+        second.setPhone("9811111111"); // second still holds the version from before first's save
+        assertTrue(FileHandler.saveTourist(second));
+
+        Tourist stored = tourist("ana");
+        assertEquals("ana@rai.example", stored.getEmail());
+        assertEquals("9811111111", stored.getPhone());
+        assertEquals("Ana Rai", stored.getFullName());
+        assertEquals(3, stored.getVersion());
+        // The merged copy took the other side's change too, so it can be saved again without a conflict
+        assertEquals("ana@rai.example", second.getEmail());
+        assertEquals(3, second.getVersion());
+    }
+
+    @Test
+    void staleSaveOfSameFieldConflicts() {
+        assertTrue(FileHandler.saveTourist(new Tourist("bo", "Secret@123", "Bo Lama", "bo@example.com",
+                "9800000001", "Nepal")));
+        Tourist first = tourist("bo");
+        Tourist second = tourist("bo");
+
+        first.setEmail("bo@lama.example");
+        first.setPhone("9822222222");
+        assertTrue(FileHandler.saveTourist(first));
+        second.setEmail("bo@other.example");
+        second.setPhone("9822222222"); // the same change on both sides is not a conflict
+        FileHandler.WriteConflictException conflict = assertThrows(FileHandler.WriteConflictException.class,
+                () -> FileHandler.saveTourist(second));
+        assertTrue(conflict.getMessage().contains("(email)"), conflict.getMessage());
+
+        Tourist stored = tourist("bo");
+        assertEquals("bo@lama.example", stored.getEmail());
+        assertEquals(2, stored.getVersion());
+    }
+
+    @Test
+    void savingDeletedRecordConflicts() {
+        Booking booking = newBooking(101);
+        assertTrue(FileHandler.saveBooking(booking));
+        Booking copy = storedBooking(101);
+        assertTrue(FileHandler.deleteBooking(101));
+
+        copy.setStatus("Cancelled");
+        FileHandler.WriteConflictException conflict = assertThrows(FileHandler.WriteConflictException.class,
+                () -> FileHandler.saveBooking(copy));
+        assertTrue(conflict.getMessage().contains("deleted"), conflict.getMessage());
+        assertTrue(FileHandler.loadBookings().isEmpty());
+    }
+
+    @Test
+    void creatingExistingKeyConflicts() {
+        assertTrue(FileHandler.saveBooking(newBooking(202)));
+        Booking duplicate = newBooking(202);
+        duplicate.setStatus("Pending");
+
+        FileHandler.WriteConflictException conflict = assertThrows(FileHandler.WriteConflictException.class,
+                () -> FileHandler.saveBooking(duplicate));
+        assertTrue(conflict.getMessage().contains("already exists"), conflict.getMessage());
+        List<Booking> stored = FileHandler.loadBookings();
+        assertEquals(1, stored.size());
+        assertEquals("Confirmed", stored.get(0).getStatus());
+
+        // A batch with a taken key writes none of its bookings
+        assertThrows(FileHandler.WriteConflictException.class,
+                () -> FileHandler.saveBookings(List.of(newBooking(203), newBooking(202))));
+        assertEquals(1, FileHandler.loadBookings().size());
+    }
+
+    private static Tourist tourist(String username) {
+        return FileHandler.loadTourists().stream()
+                .filter(tourist -> tourist.getUsername().equals(username))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Booking storedBooking(int bookingId) {
+        Booking booking = FileHandler.loadBookings().stream()
+                .filter(stored -> stored.getBookingId() == bookingId)
+                .findFirst()
+                .orElse(null);
+        assertNotNull(booking, "booking " + bookingId + " not stored");
+        return booking;
+    }
+
+    private static Booking newBooking(int bookingId) {
+        Attraction attraction = FileHandler.loadAttractions().get(0);
+        Booking booking = new Booking("ana", attraction, LocalDate.now().plusDays(30));
+        booking.setBookingId(bookingId);
+        booking.setStatus("Confirmed");
+        booking.setTotalPrice(attraction.getBasePrice());
+        return booking;
+    }
+}
@@ -0,0 +1,81 @@
+package com.tourism.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cross-checks Hungarian's assignments against trying every assignment on
+ * small random matrices, square and with spare columns, with negative scores
+ * and forbidden pairs priced far above the rest as the planner builds them.
+ */
+class HungarianTest {
+    private static final long FORBIDDEN = 1_000_000;
+
+    @Test
+    void squareMatricesMatchBruteForce() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = 1 + random.nextInt(6);
+            check(randomCost(random, n, n));
+        }
+    }
+
+    @Test
+    void rectangularMatricesMatchBruteForce() {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = 1 + random.nextInt(5);
+            check(randomCost(random, n, n + random.nextInt(4)));
+        }
+    }
+
+    @Test
+    void emptyAndTooFewColumns() {
+        assertEquals(0, Hungarian.solve(new long[0][0]).length);
+        assertThrows(IllegalArgumentException.class, () -> Hungarian.solve(new long[2][1]));
+    }
+
+    // Costs like the planner's: negated scores, a share of forbidden pairs, and many ties
+    private static long[][] randomCost(Random random, int rows, int columns) {
+        long[][] cost = new long[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                cost[i][j] = random.nextInt(5) == 0 ? FORBIDDEN : -random.nextInt(20);
+            }
+        }
+        return cost;
+    }
+
+    private static void check(long[][] cost) {
+        int[] assigned = Hungarian.solve(cost);
+        assertEquals(cost.length, assigned.length);
+        boolean[] taken = new boolean[cost[0].length];
+        long total = 0;
+        for (int i = 0; i < assigned.length; i++) {
+            assertTrue(assigned[i] >= 0 && assigned[i] < taken.length);
+            assertFalse(taken[assigned[i]], "column " + assigned[i] + " assigned twice");
+            taken[assigned[i]] = true;
+            total += cost[i][assigned[i]];
+        }
+        assertEquals(bruteForce(cost, 0, new boolean[cost[0].length]), total);
+    }
+
+    // Cheapest cost of assigning rows from row on to distinct columns not yet taken
+    private static long bruteForce(long[][] cost, int row, boolean[] taken) {
+        if (row == cost.length) return 0;
+        long best = Long.MAX_VALUE;
+        for (int j = 0; j < taken.length; j++) {
+            if (taken[j]) continue;
+            taken[j] = true;
+            best = Math.min(best, cost[row][j] + bruteForce(cost, row + 1, taken));
+            taken[j] = false;
+        }
+        return best;
+    }
+}
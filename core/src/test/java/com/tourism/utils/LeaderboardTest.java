@@ -0,0 +1,98 @@
+package com.tourism.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Cross-checks Leaderboard's ranks and top k against sorting a plain map of
+ * the same scores, after random puts, adds and removes. Scores are drawn from
+ * a small range so many keys tie and are ordered by key.
+ */
+class LeaderboardTest {
+    private static final Comparator<Map.Entry<String, Double>> ORDER =
+            Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    @Test
+    void ranksMatchBruteForceAfterRandomUpdates() {
+        Random random = new Random(7);
+        Leaderboard board = new Leaderboard();
+        Map<String, Double> scores = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            String key = "guide" + random.nextInt(300);
+            switch (random.nextInt(4)) {
+                case 0:
+                    board.remove(key);
+                    scores.remove(key);
+                    break;
+                case 1:
+                    double delta = random.nextInt(5) - 2;
+                    board.add(key, delta);
+                    scores.merge(key, delta, Double::sum);
+                    break;
+                default:
+                    double score = random.nextInt(40);
+                    board.put(key, score);
+                    scores.put(key, score);
+            }
+            if (step % 1000 == 0) {
+                check(board, scores);
+            }
+        }
+        check(board, scores);
+    }
+
+    @Test
+    void emptiesAndRefills() {
+        Leaderboard board = new Leaderboard();
+        Map<String, Double> scores = new HashMap<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 500; i++) {
+                board.put("k" + i, i % 17);
+                scores.put("k" + i, (double) (i % 17));
+            }
+            check(board, scores);
+            for (int i = 0; i < 500; i++) {
+                board.remove("k" + i);
+                scores.remove("k" + i);
+            }
+            check(board, scores);
+        }
+    }
+
+    @Test
+    void unknownKeys() {
+        Leaderboard board = new Leaderboard();
+        board.put("a", 1);
+        assertEquals(0, board.rank("b"));
+        assertEquals(0.0, board.score("b"));
+        assertFalse(board.contains("b"));
+        board.remove("b");
+        assertEquals(1, board.size());
+    }
+
+    private static void check(Leaderboard board, Map<String, Double> scores) {
+        List<Map.Entry<String, Double>> expected = new ArrayList<>(scores.entrySet());
+        expected.sort(ORDER);
+
+        assertEquals(expected.size(), board.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String key = expected.get(i).getKey();
+            assertEquals(i + 1, board.rank(key), key);
+            assertEquals(expected.get(i).getValue(), board.score(key), key);
+        }
+        for (int k : new int[] {0, 1, 5, expected.size(), expected.size() + 3}) {
+            List<Map.Entry<String, Double>> top = board.top(k);
+            assertEquals(expected.subList(0, Math.min(k, expected.size())), top, "top " + k);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.tourism.utils;
+
+import com.tourism.utils.RevenueCube.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cross-checks RevenueCube's roll-ups against summing a plain list of the
+ * same bookings, after random adds and retractions. The dimensions have more
+ * values than the starting capacities, so the cube grows along the way.
+ */
+class RevenueCubeTest {
+    private static final int[] VALUE_COUNTS = {20, 36, 12, 18}; // per dimension, past each starting capacity
+
+    private static class Row {
+        final String[] values;
+        final double amount;
+
+        Row(String[] values, double amount) {
+            this.values = values;
+            this.amount = amount;
+        }
+    }
+
+    @Test
+    void rollUpsMatchBruteForceAfterRandomUpdates() {
+        Random random = new Random(42);
+        RevenueCube cube = new RevenueCube();
+        List<Row> rows = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            if (!rows.isEmpty() && random.nextInt(4) == 0) {
+                Row row = rows.remove(random.nextInt(rows.size()));
+                cube.remove(cell(cube, row), row.amount);
+            } else {
+                String[] values = new String[VALUE_COUNTS.length];
+                for (int d = 0; d < values.length; d++) {
+                    values[d] = value(d, random.nextInt(VALUE_COUNTS[d]));
+                }
+                Row row = new Row(values, Math.round(random.nextDouble() * 200_000) / 100.0);
+                rows.add(row);
+                cube.add(cell(cube, row), row.amount);
+            }
+            if (step % 500 == 0) {
+                checkAllSlices(cube, rows, random);
+            }
+        }
+        checkAllSlices(cube, rows, random);
+    }
+
+    @Test
+    void unknownSliceValueGivesNoGroups() {
+        RevenueCube cube = new RevenueCube();
+        cube.add(cube.cell("Everest", "2025-10", "Nepal", "guide1"), 100);
+
+        assertEquals(Map.of(), cube.rollUp(Dimension.ATTRACTION, Map.of(Dimension.GUIDE, "nobody")));
+        assertEquals(Map.of(), cube.rollUp(Dimension.ATTRACTION,
+                Map.of(Dimension.GUIDE, "guide1", Dimension.NATIONALITY, "nowhere")));
+    }
+
+    @Test
+    void fullyRetractedGroupsAreLeftOut() {
+        RevenueCube cube = new RevenueCube();
+        int[] cell = cube.cell("Everest", "2025-10", "Nepal", "guide1");
+        cube.add(cell, 100);
+        cube.add(cube.cell("Annapurna", "2025-11", "India", ""), 50);
+        cube.remove(cell, 100);
+
+        Map<String, RevenueCube.Totals> byAttraction = cube.rollUp(Dimension.ATTRACTION, Map.of());
+        assertEquals(List.of("Annapurna"), new ArrayList<>(byAttraction.keySet()));
+        assertEquals(1, byAttraction.get("Annapurna").bookings);
+        assertEquals(50, byAttraction.get("Annapurna").revenue, 1e-9);
+    }
+
+    // Every grouping dimension, unsliced, sliced by one value of each dimension, and by random pairs and triples
+    private static void checkAllSlices(RevenueCube cube, List<Row> rows, Random random) {
+        for (Dimension by : Dimension.values()) {
+            check(cube, rows, by, Map.of());
+            for (Dimension sliced : Dimension.values()) {
+                Map<Dimension, String> slice = new EnumMap<>(Dimension.class);
+                slice.put(sliced, value(sliced.ordinal(), random.nextInt(VALUE_COUNTS[sliced.ordinal()])));
+                check(cube, rows, by, slice);
+            }
+            for (int i = 0; i < 10; i++) {
+                Map<Dimension, String> slice = new EnumMap<>(Dimension.class);
+                int fixed = 2 + random.nextInt(2);
+                while (slice.size() < fixed) {
+                    Dimension sliced = Dimension.values()[random.nextInt(Dimension.values().length)];
+                    // Slice on values that are present, or the groups are mostly empty
+                    Row row = rows.isEmpty() ? null : rows.get(random.nextInt(rows.size()));
+                    slice.put(sliced, row != null ? row.values[sliced.ordinal()] : value(sliced.ordinal(), 0));
+                }
+                check(cube, rows, by, slice);
+            }
+        }
+    }
+
+    private static void check(RevenueCube cube, List<Row> rows, Dimension by, Map<Dimension, String> slice) {
+        Map<String, long[]> counts = new TreeMap<>();
+        Map<String, Double> amounts = new TreeMap<>();
+        for (Row row : rows) {
+            boolean matches = true;
+            for (Map.Entry<Dimension, String> fixed : slice.entrySet()) {
+                matches &= row.values[fixed.getKey().ordinal()].equals(fixed.getValue());
+            }
+            if (!matches) continue;
+            String group = row.values[by.ordinal()];
+            counts.computeIfAbsent(group, g -> new long[1])[0]++;
+            amounts.merge(group, row.amount, Double::sum);
+        }
+
+        Map<String, RevenueCube.Totals> rolledUp = cube.rollUp(by, slice);
+        String context = by + " by " + slice;
+        assertEquals(counts.keySet(), rolledUp.keySet(), context);
+        for (Map.Entry<String, RevenueCube.Totals> entry : rolledUp.entrySet()) {
+            assertEquals(counts.get(entry.getKey())[0], entry.getValue().bookings, context);
+            assertEquals(amounts.get(entry.getKey()), entry.getValue().revenue, 1e-6, context);
+        }
+    }
+
+    private static int[] cell(RevenueCube cube, Row row) {
+        return cube.cell(row.values[0], row.values[1], row.values[2], row.values[3]);
+    }
+
+    private static String value(int dimension, int index) {
+        return String.format("%s-%02d", Dimension.values()[dimension].name().toLowerCase(), index);
+    }
+}
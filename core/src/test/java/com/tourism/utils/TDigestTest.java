@@ -0,0 +1,130 @@
+package com.tourism.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks TDigest's quantiles against the sorted values: the estimate's true
+ * rank must be within rankError(q) of q, for digests built directly and by
+ * merging partial digests.
+ */
+class TDigestTest {
+    private static final double COMPRESSION = 100;
+    private static final int VALUES = 100_000;
+    private static final double[] QUANTILES = {0, 0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1};
+
+    @Test
+    void uniformValuesStayWithinRankError() {
+        Random random = new Random(1);
+        check(values(random::nextDouble), 1);
+    }
+
+    @Test
+    void skewedValuesStayWithinRankError() {
+        Random random = new Random(2);
+        check(values(() -> Math.exp(random.nextGaussian() * 1.5)), 1);
+    }
+
+    @Test
+    void repeatedPricesStayWithinRankError() {
+        Random random = new Random(3);
+        double[] prices = {150, 195, 520, 676, 1040, 1352, 1536};
+        check(values(() -> prices[(int) Math.min(prices.length - 1, Math.abs(random.nextGaussian()) * 2)]), 1);
+    }
+
+    @Test
+    void mergedDigestsStayWithinRankError() {
+        Random random = new Random(4);
+        check(values(() -> Math.exp(random.nextGaussian())), 8);
+    }
+
+    @Test
+    void sortedInputStaysWithinRankError() {
+        double[] values = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = i;
+        }
+        check(values, 1);
+    }
+
+    @Test
+    void emptyAndSingleValue() {
+        TDigest digest = new TDigest(COMPRESSION);
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        digest.add(42);
+        assertEquals(42, digest.quantile(0), 0);
+        assertEquals(42, digest.quantile(0.5), 0);
+        assertEquals(42, digest.quantile(1), 0);
+        assertEquals(1, digest.size());
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(5));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(COMPRESSION).quantile(1.5));
+    }
+
+    // Adds the values to parts digests in turn, merges them, and checks every quantile
+    private static void check(double[] values, int parts) {
+        TDigest[] digests = new TDigest[parts];
+        for (int p = 0; p < parts; p++) {
+            digests[p] = new TDigest(COMPRESSION);
+        }
+        for (int i = 0; i < values.length; i++) {
+            digests[i % parts].add(values[i]);
+        }
+        TDigest digest = digests[0];
+        for (int p = 1; p < parts; p++) {
+            digest.merge(digests[p]);
+        }
+        assertEquals(values.length, digest.size());
+
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[0], digest.quantile(0), 0);
+        assertEquals(sorted[sorted.length - 1], digest.quantile(1), 0);
+        for (double q : QUANTILES) {
+            double estimate = digest.quantile(q);
+            // Equal values share a range of ranks; the estimate is right if q falls anywhere in it
+            double lowRank = (double) lowerBound(sorted, estimate) / sorted.length;
+            double highRank = (double) upperBound(sorted, estimate) / sorted.length;
+            double error = q < lowRank ? lowRank - q : q > highRank ? q - highRank : 0;
+            double bound = digest.rankError(q) + 1.0 / sorted.length;
+            assertTrue(error <= bound, String.format("q=%s: estimate %s has rank %.5f-%.5f, error %.5f > %.5f",
+                    q, estimate, lowRank, highRank, error, bound));
+        }
+    }
+
+    private static double[] values(DoubleSupplier next) {
+        double[] values = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = next.getAsDouble();
+        }
+        return values;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+}
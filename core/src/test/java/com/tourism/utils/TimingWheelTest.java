@@ -0,0 +1,141 @@
+package com.tourism.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cross-checks TimingWheel against a plain map of deadlines, after random
+ * schedules, cancels and advances: each live item must come back exactly once,
+ * from the advance that reaches its deadline, and cancelled items never. The
+ * deadlines reach past the top level so parked timers are covered too.
+ */
+class TimingWheelTest {
+    private static final long TOP_RANGE = 1L << 24; // 64^4 ticks
+
+    @Test
+    void firesMatchBruteForceAfterRandomUpdates() {
+        Random random = new Random(5);
+        long start = 1_000 + random.nextInt(1_000);
+        TimingWheel<Integer> wheel = new TimingWheel<>(start);
+        Map<Integer, Long> live = new HashMap<>();
+        Map<Integer, TimingWheel.Timer<Integer>> timers = new HashMap<>();
+        Set<Integer> cancelled = new HashSet<>();
+        int nextId = 0;
+
+        for (int step = 0; step < 3000; step++) {
+            int scheduled = random.nextInt(20);
+            for (int i = 0; i < scheduled; i++) {
+                long deadline = wheel.now() + randomOffset(random);
+                int id = nextId++;
+                timers.put(id, wheel.schedule(deadline, id));
+                live.put(id, deadline);
+            }
+            if (!live.isEmpty() && random.nextInt(3) == 0) {
+                List<Integer> ids = new ArrayList<>(live.keySet());
+                int id = ids.get(random.nextInt(ids.size()));
+                timers.get(id).cancel();
+                live.remove(id);
+                cancelled.add(id);
+            }
+            long tick = wheel.now() + randomStep(random);
+            advanceAndCheck(wheel, tick, live, cancelled);
+            assertTrue(wheel.size() >= live.size(), "size " + wheel.size() + " < live " + live.size());
+        }
+
+        // Run out every remaining deadline, including those parked past the top level
+        long last = live.values().stream().mapToLong(Long::longValue).max().orElse(wheel.now());
+        advanceAndCheck(wheel, Math.max(last, wheel.now()) + TOP_RANGE, live, cancelled);
+        assertTrue(live.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(100, "now");
+        wheel.schedule(40, "past");
+        assertEquals(2, wheel.size());
+        assertEquals(List.of("now", "past"), wheel.advanceTo(100));
+        assertEquals(100, wheel.now());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule(5, "kept");
+        wheel.schedule(5, "cancelled").cancel();
+        wheel.schedule(TOP_RANGE * 3, "far").cancel();
+        assertEquals(List.of("kept"), wheel.advanceTo(TOP_RANGE * 4));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondTopLevelFireOnTime() {
+        TimingWheel<Long> wheel = new TimingWheel<>(7);
+        long[] deadlines = {TOP_RANGE - 1, TOP_RANGE, TOP_RANGE + 7, 2 * TOP_RANGE + 12_345, 5 * TOP_RANGE};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        for (long deadline : deadlines) {
+            assertEquals(List.of(), wheel.advanceTo(deadline - 1));
+            assertEquals(List.of(deadline), wheel.advanceTo(deadline));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    // Advances and checks the fired items are exactly the live ones now due, in deadline order
+    private static void advanceAndCheck(TimingWheel<Integer> wheel, long tick,
+                                        Map<Integer, Long> live, Set<Integer> cancelled) {
+        long from = wheel.now();
+        long to = Math.max(from, tick);
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, Long> entry : live.entrySet()) {
+            if (entry.getValue() <= to) expected.add(entry.getKey());
+        }
+
+        List<Integer> fired = wheel.advanceTo(tick);
+        assertEquals(to, wheel.now());
+        assertEquals(expected.size(), fired.size(), "advance " + from + " -> " + tick);
+        assertEquals(expected, new HashSet<>(fired), "advance " + from + " -> " + tick);
+
+        // Deadlines already passed when the advance started all fire at its start
+        long previous = Long.MIN_VALUE;
+        for (int id : fired) {
+            assertTrue(!cancelled.contains(id), "cancelled " + id + " fired");
+            long firedAt = Math.max(live.remove(id), from);
+            assertTrue(firedAt >= previous, "item " + id + " fired out of order");
+            previous = firedAt;
+        }
+    }
+
+    // Mostly near deadlines, some on each higher level, a few past the top or already due
+    private static long randomOffset(Random random) {
+        switch (random.nextInt(10)) {
+            case 0: return -random.nextInt(50);
+            case 1: return random.nextInt(64 * 64);
+            case 2: return random.nextInt(64 * 64 * 64);
+            case 3: return TOP_RANGE / 2 + random.nextInt((int) TOP_RANGE * 2);
+            default: return random.nextInt(64);
+        }
+    }
+
+    // Mostly short steps, with the odd long jump and the odd advance to a tick already passed
+    private static long randomStep(Random random) {
+        switch (random.nextInt(20)) {
+            case 0: return -random.nextInt(10);
+            case 1: return random.nextInt(500_000);
+            default: return random.nextInt(80);
+        }
+    }
+}